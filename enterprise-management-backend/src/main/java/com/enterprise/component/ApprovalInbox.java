@@ -0,0 +1,239 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.LeaveApplicationMapper;
+import com.enterprise.entity.LeaveApplication;
+import com.enterprise.util.SseHub;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 审批收件箱（内存）
+ * 启动时加载全部待审批申请，按申请人所属部门分桶、桶内按申请 ID（即提交顺序）排序；
+ * 提交、审批、撤销时增量维护，申请人调动部门后移到新部门的桶，
+ * 并通过 SSE 把新增、移除事件推送给订阅了对应部门的审批人。
+ * 审批人查看待办、首页统计待审批数都只读内存，不再分页扫描请假申请表。
+ */
+@Component
+public class ApprovalInbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApprovalInbox.class);
+
+    // 未分配部门的员工归入的部门 ID
+    private static final Long NO_DEPARTMENT = 0L;
+
+    // SSE 连接超时时间，超时后由浏览器自动重连
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // 订阅时随快照推送的最大条数
+    private static final int SNAPSHOT_LIMIT = 50;
+
+    @Autowired
+    private LeaveApplicationMapper leaveApplicationMapper;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    // 订阅条件为部门 ID（含下级部门），为空表示全部
+    private final SseHub<Long> sseHub = new SseHub<>(SSE_TIMEOUT_MS);
+
+    // 部门 -> 待审批申请
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    // 申请 ID -> 所在部门，保证同一申请只加入、移除一次
+    private final Map<Long, Long> departmentOf = new ConcurrentHashMap<>();
+
+    private final AtomicInteger total = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        for (LeaveApplication application : leaveApplicationMapper.findWithDepartment(null, "PENDING")) {
+            put(application);
+        }
+        // 其他节点提交或审批后，按 ID 重新读取状态
+        changeVersionTracker.addListener(ChangeVersionTracker.LEAVE_APPLICATION, this::refresh);
+        // 其他节点修改员工后，申请人的待审批申请按新部门重新分桶
+        changeVersionTracker.addListener(ChangeVersionTracker.EMPLOYEE, this::onEmployeesChanged);
+        logger.info("审批收件箱初始化完成, pending={}", total.get());
+    }
+
+    /**
+     * 新提交的申请加入收件箱（departmentId 需已填充）
+     */
+    public void add(LeaveApplication application) {
+        if (put(application)) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("item", application);
+            event.put("total", total.get());
+            Long departmentId = departmentKey(application.getDepartmentId());
+            sseHub.broadcast("added", event, filter -> inScope(filter, departmentId));
+        }
+    }
+
+    /**
+     * 已审批或撤销的申请移出收件箱
+     */
+    public void remove(Collection<Long> ids, String status) {
+        for (Long id : ids) {
+            Long departmentId = take(id);
+            if (departmentId == null) {
+                continue;
+            }
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("id", id);
+            event.put("status", status);
+            event.put("total", total.get());
+            sseHub.broadcast("removed", event, filter -> inScope(filter, departmentId));
+        }
+    }
+
+    /**
+     * 员工调动、删除后，按申请人当前所属部门重新分桶其待审批申请
+     */
+    public void onEmployeesChanged(Set<Long> employeeIds) {
+        Set<Long> ids = new HashSet<>();
+        for (Bucket bucket : buckets.values()) {
+            for (LeaveApplication application : bucket.items.values()) {
+                if (employeeIds.contains(application.getEmployeeId())) {
+                    ids.add(application.getId());
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            refresh(ids);
+        }
+    }
+
+    /**
+     * 按数据库中的最新状态刷新指定申请
+     */
+    public void refresh(Set<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (LeaveApplication application : leaveApplicationMapper.findWithDepartment(ids, null)) {
+            missing.remove(application.getId());
+            if ("PENDING".equals(application.getStatus())) {
+                Long departmentId = departmentOf.get(application.getId());
+                if (departmentId != null && !departmentId.equals(departmentKey(application.getDepartmentId()))) {
+                    // 申请人已调到其他部门：先从原部门移除，再加入新部门
+                    remove(List.of(application.getId()), application.getStatus());
+                }
+                add(application);
+            } else {
+                remove(List.of(application.getId()), application.getStatus());
+            }
+        }
+        remove(missing, null);
+    }
+
+    /**
+     * 待审批数，departmentId 为空时统计全部
+     */
+    public int count(Long departmentId, boolean includeSubtree) {
+        if (departmentId == null) {
+            return total.get();
+        }
+        int count = 0;
+        for (Long id : scopeIds(departmentId, includeSubtree)) {
+            Bucket bucket = buckets.get(id);
+            count += bucket != null ? bucket.size.get() : 0;
+        }
+        return count;
+    }
+
+    /**
+     * 待审批列表（按提交顺序，先提交的在前）
+     */
+    public Map<String, Object> list(Long departmentId, boolean includeSubtree, int offset, int limit) {
+        Collection<Long> scope = departmentId != null ? scopeIds(departmentId, includeSubtree) : buckets.keySet();
+        List<LeaveApplication> items = new ArrayList<>();
+        for (Long id : scope) {
+            Bucket bucket = buckets.get(id);
+            if (bucket != null) {
+                items.addAll(bucket.items.values());
+            }
+        }
+        items.sort(Comparator.comparing(LeaveApplication::getId));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", items.size());
+        result.put("list", items.subList(Math.min(offset, items.size()), Math.min(offset + limit, items.size())));
+        return result;
+    }
+
+    /**
+     * 订阅收件箱推送，departmentId 为空时订阅全部；连接建立后先推送当前待审批数和最早的若干条
+     */
+    public SseEmitter subscribe(Long departmentId) {
+        SseEmitter emitter = sseHub.subscribe(departmentId);
+        sseHub.send(emitter, "snapshot", list(departmentId, true, 0, SNAPSHOT_LIMIT));
+        return emitter;
+    }
+
+    /**
+     * 加入与移除都很少，加锁保证申请、分桶、计数三者一致；读取不加锁
+     */
+    private synchronized boolean put(LeaveApplication application) {
+        Long departmentId = departmentKey(application.getDepartmentId());
+        if (departmentOf.putIfAbsent(application.getId(), departmentId) != null) {
+            return false;
+        }
+        Bucket bucket = buckets.computeIfAbsent(departmentId, k -> new Bucket());
+        bucket.items.put(application.getId(), application);
+        bucket.size.incrementAndGet();
+        total.incrementAndGet();
+        return true;
+    }
+
+    private synchronized Long take(Long id) {
+        Long departmentId = departmentOf.remove(id);
+        if (departmentId != null) {
+            Bucket bucket = buckets.get(departmentId);
+            bucket.items.remove(id);
+            bucket.size.decrementAndGet();
+            total.decrementAndGet();
+        }
+        return departmentId;
+    }
+
+    private Collection<Long> scopeIds(Long departmentId, boolean includeSubtree) {
+        if (!includeSubtree || NO_DEPARTMENT.equals(departmentId)) {
+            return List.of(departmentId);
+        }
+        return departmentHierarchy.snapshot().subtreeIds(departmentId);
+    }
+
+    private boolean inScope(Long filter, Long departmentId) {
+        return filter == null || filter.equals(departmentId)
+                || departmentHierarchy.snapshot().contains(filter, departmentId);
+    }
+
+    private Long departmentKey(Long departmentId) {
+        return departmentId != null ? departmentId : NO_DEPARTMENT;
+    }
+
+    /**
+     * 单个部门的待审批申请
+     */
+    private static class Bucket {
+        private final ConcurrentSkipListMap<Long, LeaveApplication> items = new ConcurrentSkipListMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -0,0 +1,408 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Attendance;
+import com.enterprise.entity.Department;
+import com.enterprise.entity.Employee;
+import com.enterprise.util.SseHub;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 今日考勤看板（内存计数器）
+ * 各部门的已签到、迟到、已签退人数按员工今日考勤状态的变化增减；未到人数与未到名单由在职员工集合与签到位图做差得到。
+ * 多实例部署时，写入今日考勤的节点在事务内记录 ATTENDANCE 变更（实体 ID 为员工 ID），其他节点轮询到后
+ * 按员工重新读取今日记录调整计数与位图，因此任一节点的看板都包含全部节点的签到，延迟为一个轮询周期。
+ * 看板变化后按固定频率只推送有变化的部门，观看人数再多也不会产生数据库查询。
+ */
+@Component
+public class AttendanceBoard {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceBoard.class);
+
+    // 未分配部门的员工归入的部门 ID
+    private static final Long NO_DEPARTMENT = 0L;
+
+    // SSE 连接超时时间，超时后由浏览器自动重连
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // 员工今日考勤状态位
+    private static final int CHECKED_IN = 1;
+    private static final int LATE = 2;
+    private static final int CHECKED_OUT = 4;
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private CheckinBitmap checkinBitmap;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    private final SseHub<Long> sseHub = new SseHub<>(SSE_TIMEOUT_MS);
+
+    // 在职员工 -> 所属部门与姓名
+    private final Map<Long, Member> members = new ConcurrentHashMap<>();
+
+    // 部门 -> 在职人数
+    private final Map<Long, LongAdder> activeCounts = new ConcurrentHashMap<>();
+
+    // 今日计数与员工状态，换日时整体替换
+    private volatile Day day = new Day(LocalDate.now());
+
+    private volatile Map<Long, String> departmentNames = new HashMap<>();
+
+    // 看板版本号，每次变化加一；推送线程据此判断是否需要计算增量
+    private final AtomicLong version = new AtomicLong();
+    private long pushedVersion = -1;
+    private Map<Long, Map<String, Object>> pushedRows = new HashMap<>();
+
+    /**
+     * 启动时加载在职员工与今日考勤
+     */
+    @PostConstruct
+    public void init() {
+        reloadDepartments();
+        for (Employee employee : employeeMapper.findAll()) {
+            putMember(employee);
+        }
+        resetDay(LocalDate.now());
+        // 其他节点写入的今日考勤
+        changeVersionTracker.addListener(ChangeVersionTracker.ATTENDANCE, this::reloadEmployees);
+        logger.info("考勤看板初始化完成, employees={}", members.size());
+    }
+
+    /**
+     * 每天零点清空今日计数
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void resetAtMidnight() {
+        reloadDepartments();
+        rollover();
+    }
+
+    /**
+     * 考勤记录写入或更新提交后，按记录的当前状态调整计数；非今日的记录忽略，同一状态重复通知不会重复计数
+     */
+    public void onAttendanceChanged(Attendance attendance) {
+        rollover();
+        Day current = day;
+        if (current.date.equals(attendance.getDate())) {
+            updateState(current, attendance.getEmployeeId(), stateOf(attendance));
+        }
+    }
+
+    /**
+     * 员工入职、调岗或离职后刷新在职集合
+     */
+    public void refreshEmployee(Long employeeId) {
+        removeMember(employeeId);
+        Employee employee = employeeMapper.findById(employeeId);
+        if (employee != null && "ACTIVE".equals(employee.getStatus())) {
+            putMember(employee);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * 批量导入员工后加入在职集合
+     */
+    public void addEmployees(Collection<Employee> employees) {
+        for (Employee employee : employees) {
+            if ("ACTIVE".equals(employee.getStatus())) {
+                removeMember(employee.getId());
+                putMember(employee);
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * 部门新增、改名或删除后刷新部门名称
+     */
+    public void onDepartmentsChanged() {
+        reloadDepartments();
+        version.incrementAndGet();
+    }
+
+    /**
+     * 员工删除后移出在职集合
+     */
+    public void removeEmployee(Long employeeId) {
+        removeMember(employeeId);
+        version.incrementAndGet();
+    }
+
+    /**
+     * 今日看板快照
+     */
+    public Map<String, Object> snapshot() {
+        rollover();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("date", day.date.toString());
+        result.put("departments", new ArrayList<>(buildRows().values()));
+        return result;
+    }
+
+    /**
+     * 某部门未到员工名单（在职员工与签到位图做差）
+     */
+    public List<Map<String, Object>> notArrived(Long departmentId) {
+        rollover();
+        Long target = departmentId != null ? departmentId : NO_DEPARTMENT;
+        LocalDate today = day.date;
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Map.Entry<Long, Member> entry : members.entrySet()) {
+            if (entry.getValue().departmentId.equals(target) && !checkinBitmap.isCheckedIn(entry.getKey(), today)) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("employeeId", entry.getKey());
+                item.put("employeeName", entry.getValue().name);
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 订阅看板推送，departmentId 为空时订阅全部部门；连接建立后先推送一次完整快照
+     */
+    public SseEmitter subscribe(Long departmentId) {
+        SseEmitter emitter = sseHub.subscribe(departmentId);
+        Map<String, Object> snapshot = snapshot();
+        if (departmentId != null) {
+            List<Object> rows = new ArrayList<>();
+            for (Map<String, Object> row : buildRows().values()) {
+                if (departmentId.equals(row.get("departmentId"))) {
+                    rows.add(row);
+                }
+            }
+            snapshot.put("departments", rows);
+        }
+        sseHub.send(emitter, "snapshot", snapshot);
+        return emitter;
+    }
+
+    /**
+     * 每秒最多推送一次增量，只包含计数发生变化的部门
+     */
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void pushDeltas() {
+        rollover();
+        long currentVersion = version.get();
+        if (currentVersion == pushedVersion) {
+            return;
+        }
+
+        Map<Long, Map<String, Object>> rows = buildRows();
+        List<Map<String, Object>> changed = new ArrayList<>();
+        for (Map.Entry<Long, Map<String, Object>> entry : rows.entrySet()) {
+            if (!Objects.equals(entry.getValue(), pushedRows.get(entry.getKey()))) {
+                changed.add(entry.getValue());
+            }
+        }
+        pushedVersion = currentVersion;
+        pushedRows = rows;
+
+        if (changed.isEmpty() || sseHub.size() == 0) {
+            return;
+        }
+        for (Map<String, Object> row : changed) {
+            Long departmentId = (Long) row.get("departmentId");
+            sseHub.broadcast("delta", row, filter -> filter == null || filter.equals(departmentId));
+        }
+    }
+
+    private Map<Long, Map<String, Object>> buildRows() {
+        Map<Long, DayCounter> counters = day.counters;
+        TreeSet<Long> departmentIds = new TreeSet<>(activeCounts.keySet());
+        departmentIds.addAll(counters.keySet());
+
+        Map<Long, Map<String, Object>> rows = new LinkedHashMap<>();
+        for (Long departmentId : departmentIds) {
+            LongAdder active = activeCounts.get(departmentId);
+            DayCounter counter = counters.get(departmentId);
+            long activeCount = active != null ? active.sum() : 0;
+            long checkedIn = counter != null ? counter.checkedIn.sum() : 0;
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("departmentId", departmentId);
+            row.put("departmentName", departmentNames.get(departmentId));
+            row.put("active", activeCount);
+            row.put("checkedIn", checkedIn);
+            row.put("late", counter != null ? counter.late.sum() : 0L);
+            row.put("notArrived", Math.max(0, activeCount - checkedIn));
+            row.put("checkedOut", counter != null ? counter.checkedOut.sum() : 0L);
+            rows.put(departmentId, row);
+        }
+        return rows;
+    }
+
+    /**
+     * 其他节点写入了这些员工的今日考勤：重新读取记录，同步签到位图并调整计数
+     */
+    private void reloadEmployees(Set<Long> employeeIds) {
+        rollover();
+        Day current = day;
+        Map<Long, Attendance> records = new HashMap<>();
+        for (Attendance attendance : attendanceMapper.findByEmployeeIdsAndDateRange(employeeIds, current.date, current.date)) {
+            records.put(attendance.getEmployeeId(), attendance);
+        }
+        for (Long employeeId : employeeIds) {
+            Attendance attendance = records.get(employeeId);
+            if (attendance != null) {
+                checkinBitmap.markCheckedIn(employeeId, current.date);
+            }
+            updateState(current, employeeId, attendance != null ? stateOf(attendance) : 0);
+        }
+    }
+
+    /**
+     * 把员工的今日状态改为 state，并按变化的状态位增减所在部门的计数
+     */
+    private void updateState(Day current, Long employeeId, int state) {
+        current.states.compute(employeeId, (id, previous) -> {
+            int before = previous != null ? previous : 0;
+            if (before != state) {
+                Member member = members.get(id);
+                DayCounter counter = current.counters.computeIfAbsent(
+                        member != null ? member.departmentId : NO_DEPARTMENT, k -> new DayCounter());
+                counter.checkedIn.add(bit(state, CHECKED_IN) - bit(before, CHECKED_IN));
+                counter.late.add(bit(state, LATE) - bit(before, LATE));
+                counter.checkedOut.add(bit(state, CHECKED_OUT) - bit(before, CHECKED_OUT));
+                version.incrementAndGet();
+            }
+            return state != 0 ? state : null;
+        });
+    }
+
+    private static int stateOf(Attendance attendance) {
+        int state = 0;
+        if (attendance.getCheckinTime() != null) {
+            state |= CHECKED_IN;
+            if ("LATE".equals(attendance.getStatus())) {
+                state |= LATE;
+            }
+        }
+        if (attendance.getCheckoutTime() != null) {
+            state |= CHECKED_OUT;
+        }
+        return state;
+    }
+
+    private static int bit(int state, int flag) {
+        return (state & flag) != 0 ? 1 : 0;
+    }
+
+    /**
+     * 定时任务未及时执行时惰性切换到新的一天
+     */
+    private void rollover() {
+        if (LocalDate.now().isAfter(day.date)) {
+            synchronized (this) {
+                LocalDate today = LocalDate.now();
+                if (today.isAfter(day.date)) {
+                    resetDay(today);
+                }
+            }
+        }
+    }
+
+    /**
+     * 按指定日期的考勤记录重建今日计数
+     */
+    private synchronized void resetDay(LocalDate date) {
+        Day rebuilt = new Day(date);
+        for (Attendance attendance : attendanceMapper.findByDate(date)) {
+            updateState(rebuilt, attendance.getEmployeeId(), stateOf(attendance));
+        }
+        day = rebuilt;
+        version.incrementAndGet();
+    }
+
+    private void reloadDepartments() {
+        Map<Long, String> names = new HashMap<>();
+        for (Department department : departmentMapper.findAll()) {
+            names.put(department.getId(), department.getName());
+        }
+        names.put(NO_DEPARTMENT, "未分配部门");
+        departmentNames = names;
+    }
+
+    private void putMember(Employee employee) {
+        Long departmentId = employee.getDepartmentId() != null ? employee.getDepartmentId() : NO_DEPARTMENT;
+        members.put(employee.getId(), new Member(departmentId, employee.getName()));
+        activeCounts.computeIfAbsent(departmentId, k -> new LongAdder()).increment();
+    }
+
+    private void removeMember(Long employeeId) {
+        Member member = members.remove(employeeId);
+        if (member != null) {
+            activeCounts.get(member.departmentId).decrement();
+        }
+    }
+
+    /**
+     * 在职员工信息
+     */
+    private static class Member {
+        private final Long departmentId;
+        private final String name;
+
+        private Member(Long departmentId, String name) {
+            this.departmentId = departmentId;
+            this.name = name;
+        }
+    }
+
+    /**
+     * 某一天的部门计数与员工状态
+     */
+    private static class Day {
+        private final LocalDate date;
+        // 部门 -> 计数
+        private final Map<Long, DayCounter> counters = new ConcurrentHashMap<>();
+        // 员工 -> 状态位
+        private final Map<Long, Integer> states = new ConcurrentHashMap<>();
+
+        private Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    /**
+     * 部门今日计数
+     */
+    private static class DayCounter {
+        private final LongAdder checkedIn = new LongAdder();
+        private final LongAdder late = new LongAdder();
+        private final LongAdder checkedOut = new LongAdder();
+    }
+}
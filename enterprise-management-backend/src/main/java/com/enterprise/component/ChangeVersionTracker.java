@@ -0,0 +1,246 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.ChangeVersionMapper;
+import com.enterprise.entity.ChangeVersion;
+import com.enterprise.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 跨节点缓存一致性：变更版本跟踪
+ * 写操作通过 bump 在调用方事务内向 t_change_log 追加变更行，版本号即自增主键，分配时不持有到提交的锁，
+ * 也不占用第二个连接；每个节点定时查询版本号大于本地水位的行，只把变更的 ID 分发给对应的监听器失效缓存。
+ * 自增值在插入时分配、提交时才可见，大版本号可能先于小版本号出现，回滚的事务则留下永远不会出现的版本号。
+ * 因此轮询时把水位之上尚未出现的版本号记为空洞，每次从水位起重新读取，已分发的版本号跳过；
+ * 空洞等到出现或超过 gap-timeout-ms 后，水位才越过它。变更表只追加，超过 retention-hours 的行定时清理。
+ */
+@Component
+public class ChangeVersionTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeVersionTracker.class);
+
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String DEPARTMENT = "DEPARTMENT";
+    public static final String PAYROLL_RULE = "PAYROLL_RULE";
+    public static final String HOLIDAY = "HOLIDAY";
+    public static final String LEAVE_APPLICATION = "LEAVE_APPLICATION";
+    public static final String ATTENDANCE = "ATTENDANCE";
+
+    // 每次轮询读取的最大行数
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    // 清理过期变更时每条语句删除的最大行数
+    private static final int PRUNE_BATCH_SIZE = 5000;
+
+    @Autowired
+    private ChangeVersionMapper changeVersionMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${cache.coherence.enabled:true}")
+    private boolean enabled;
+
+    // 空洞的最长等待时间，应大于最长的业务事务
+    @Value("${cache.coherence.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    // 变更行的保留时间，应远大于节点停止轮询的最长时间
+    @Value("${cache.coherence.retention-hours:24}")
+    private long retentionHours;
+
+    private final Map<String, List<Consumer<Set<Long>>>> listeners = new ConcurrentHashMap<>();
+
+    // 本节点产生的版本号，轮询时跳过（本地缓存已在写入时失效）
+    private final ConcurrentSkipListSet<Long> localVersions = new ConcurrentSkipListSet<>();
+
+    // 水位：不大于它的版本号都已分发，或已确认不会再出现
+    private volatile long lastVersion;
+
+    // 水位之上已读到的最大版本号
+    private long maxSeen;
+
+    // 水位之上已分发的版本号
+    private final NavigableSet<Long> seen = new TreeSet<>();
+
+    // 水位之上尚未出现的版本号 -> 发现时间
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+
+    /**
+     * 启动时本地缓存都是新建的，已提交的变更不需要分发；
+     * 最近一段版本号中尚未出现的可能属于还没提交的事务，同样按空洞等待
+     */
+    @PostConstruct
+    public void init() {
+        Long max = changeVersionMapper.findMaxVersion();
+        synchronized (this) {
+            lastVersion = Math.max(0, (max != null ? max : 0) - POLL_BATCH_SIZE);
+            maxSeen = lastVersion;
+            track(changeVersionMapper.findSince(lastVersion, POLL_BATCH_SIZE), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 注册某类实体的变更监听器，参数为变更的实体 ID
+     */
+    public void addListener(String entity, Consumer<Set<Long>> listener) {
+        listeners.computeIfAbsent(entity, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    public void bump(String entity, Long id) {
+        bump(entity, List.of(id));
+    }
+
+    /**
+     * 记录实体变更：在调用方事务内追加变更行（没有事务时单独开启）
+     */
+    public void bump(String entity, Collection<Long> ids) {
+        if (!enabled || ids == null || ids.isEmpty()) {
+            return;
+        }
+        List<ChangeVersion> rows = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            rows.add(new ChangeVersion(entity, id, null));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            changeVersionMapper.insertAll(rows);
+            // 回滚时这些版本号不会出现，由其他节点按空洞超时跳过；只在提交后记为本节点的变更
+            AfterCommit.run(() -> {
+                for (ChangeVersion row : rows) {
+                    localVersions.add(row.getVersion());
+                }
+            });
+        });
+    }
+
+    /**
+     * 轮询其他节点的变更
+     */
+    @Scheduled(fixedDelayString = "${cache.coherence.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long since = lastVersion;
+            List<ChangeVersion> rows;
+            do {
+                rows = changeVersionMapper.findSince(since, POLL_BATCH_SIZE);
+                dispatch(track(rows, System.currentTimeMillis()));
+                if (!rows.isEmpty()) {
+                    since = rows.get(rows.size() - 1).getVersion();
+                }
+            } while (rows.size() == POLL_BATCH_SIZE);
+            // 所在事务提交前已被其他节点跳过（空洞超时）的本地版本号一并清理
+            localVersions.headSet(lastVersion, true).clear();
+        } catch (Exception e) {
+            logger.warn("轮询缓存变更版本失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 每小时清理超过保留时间的变更行（多个节点同时执行也无妨）
+     */
+    @Scheduled(cron = "${cache.coherence.prune-cron:0 20 * * * ?}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int removed = 0;
+        int rows;
+        do {
+            rows = changeVersionMapper.deleteBefore(before, PRUNE_BATCH_SIZE);
+            removed += rows;
+        } while (rows == PRUNE_BATCH_SIZE);
+        if (removed > 0) {
+            logger.info("清理过期缓存变更: removed={}", removed);
+        }
+    }
+
+    /**
+     * 当前水位（测试、监控用）
+     */
+    long lastVersion() {
+        return lastVersion;
+    }
+
+    /**
+     * 记录读到的行并推进水位，返回此前未分发过的行（调用方持有本对象锁）
+     */
+    private List<ChangeVersion> track(List<ChangeVersion> rows, long now) {
+        List<ChangeVersion> fresh = new ArrayList<>();
+        for (ChangeVersion row : rows) {
+            long version = row.getVersion();
+            if (version <= lastVersion || !seen.add(version)) {
+                continue;
+            }
+            fresh.add(row);
+            gaps.remove(version);
+            for (long missing = maxSeen + 1; missing < version; missing++) {
+                gaps.put(missing, now);
+            }
+            maxSeen = Math.max(maxSeen, version);
+        }
+
+        // 水位越过连续的已分发版本号，以及等待超时的空洞
+        while (lastVersion < maxSeen) {
+            long next = lastVersion + 1;
+            if (seen.remove(next)) {
+                lastVersion = next;
+                continue;
+            }
+            Long missingSince = gaps.get(next);
+            if (missingSince == null || now - missingSince < gapTimeoutMs) {
+                break;
+            }
+            gaps.remove(next);
+            lastVersion = next;
+        }
+        return fresh;
+    }
+
+    private void dispatch(List<ChangeVersion> rows) {
+        Map<String, Set<Long>> changed = new LinkedHashMap<>();
+        for (ChangeVersion row : rows) {
+            if (!localVersions.remove(row.getVersion())) {
+                changed.computeIfAbsent(row.getEntity(), k -> new LinkedHashSet<>()).add(row.getEntityId());
+            }
+        }
+        for (Map.Entry<String, Set<Long>> entry : changed.entrySet()) {
+            for (Consumer<Set<Long>> listener : listeners.getOrDefault(entry.getKey(), List.of())) {
+                try {
+                    listener.accept(entry.getValue());
+                } catch (Exception e) {
+                    logger.error("缓存失效处理失败, entity={}", entry.getKey(), e);
+                }
+            }
+        }
+        if (!changed.isEmpty()) {
+            logger.debug("收到其他节点的变更: {}", changed);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.AttendanceMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 当日签到位图（按节点维护）
+ * 以员工 ID 为下标记录今天是否已签到，重复打卡直接在内存中拦截，无需访问数据库。
+ * 启动时从 t_attendance 重建，零点清空；位图只做快速拦截，唯一性仍由 uk_employee_date 保证。
+ */
+@Component
+public class CheckinBitmap {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckinBitmap.class);
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    private LocalDate date = LocalDate.now();
+    private BitSet bits = new BitSet();
+
+    /**
+     * 启动时从当天考勤记录重建位图
+     */
+    @PostConstruct
+    public void init() {
+        LocalDate today = LocalDate.now();
+        List<Long> employeeIds = attendanceMapper.findEmployeeIdsByDate(today);
+
+        BitSet rebuilt = new BitSet();
+        for (Long employeeId : employeeIds) {
+            if (isTrackable(employeeId)) {
+                rebuilt.set(employeeId.intValue());
+            }
+        }
+
+        synchronized (this) {
+            date = today;
+            bits = rebuilt;
+        }
+        logger.info("签到位图重建完成, date={}, count={}", today, employeeIds.size());
+    }
+
+    /**
+     * 每天零点清空位图
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void resetAtMidnight() {
+        reset(LocalDate.now());
+    }
+
+    /**
+     * 判断员工在指定日期是否已签到；非当天的日期无法判断，返回 false 交由数据库处理
+     */
+    public synchronized boolean isCheckedIn(Long employeeId, LocalDate day) {
+        rollover();
+        return day.equals(date) && isTrackable(employeeId) && bits.get(employeeId.intValue());
+    }
+
+    /**
+     * 标记员工在指定日期已签到；非当天的日期忽略
+     */
+    public synchronized void markCheckedIn(Long employeeId, LocalDate day) {
+        rollover();
+        if (day.equals(date) && isTrackable(employeeId)) {
+            bits.set(employeeId.intValue());
+        }
+    }
+
+    /**
+     * 当天已签到人数
+     */
+    public synchronized int count() {
+        rollover();
+        return bits.cardinality();
+    }
+
+    private synchronized void reset(LocalDate day) {
+        date = day;
+        bits = new BitSet();
+    }
+
+    /**
+     * 定时任务未及时执行时惰性切换到新的一天；只看本机时钟，
+     * 不采信请求中的日期（设备时钟偏到明天的一条签到不能清空今天的位图）
+     */
+    private void rollover() {
+        LocalDate today = LocalDate.now();
+        if (today.isAfter(date)) {
+            reset(today);
+        }
+    }
+
+    private static boolean isTrackable(Long employeeId) {
+        return employeeId != null && employeeId >= 0 && employeeId <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,277 @@
+package com.enterprise.component;
+
+import com.enterprise.dto.CheckinEvent;
+import com.enterprise.service.AttendanceService;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleStateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 闸机签到帧处理（每个连接一个实例）
+ * 一次读事件内收到的帧攒成一批，按连接串行提交到业务线程池：
+ * 连续的签到帧合并为一次 batchCheckin，签退帧逐条调用 checkout，应答按请求顺序写回。
+ */
+class CheckinFrameHandler extends ChannelInboundHandlerAdapter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckinFrameHandler.class);
+
+    static final byte TYPE_CHECKIN = 1;
+    static final byte TYPE_CHECKOUT = 2;
+    static final byte TYPE_HEARTBEAT = 3;
+    static final byte TYPE_ACK = (byte) 0x81;
+
+    // 结果码
+    static final byte CODE_OK = 0;
+    static final byte CODE_DUPLICATE = 1;
+    static final byte CODE_NOT_FOUND = 2;
+    static final byte CODE_INVALID = 3;
+    static final byte CODE_REJECTED = 4;
+    static final byte CODE_ERROR = 5;
+
+    // 单批最多帧数
+    private static final int MAX_BATCH_FRAMES = 500;
+
+    // 积压帧数超过上限时暂停读取，回落到下限后恢复
+    private static final int PAUSE_PENDING_FRAMES = 5000;
+    private static final int RESUME_PENDING_FRAMES = 1000;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final AttendanceService attendanceService;
+    private final Executor workers;
+
+    private List<Frame> batch = new ArrayList<>();
+    private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+    private int pendingFrames;
+
+    CheckinFrameHandler(AttendanceService attendanceService, Executor workers) {
+        this.attendanceService = attendanceService;
+        this.workers = workers;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        ByteBuf buf = (ByteBuf) msg;
+        try {
+            Frame frame = decode(buf);
+            if (frame == null) {
+                logger.warn("闸机帧格式错误，关闭连接: {}", ctx.channel().remoteAddress());
+                ctx.close();
+                return;
+            }
+            batch.add(frame);
+            if (batch.size() >= MAX_BATCH_FRAMES) {
+                submit(ctx);
+            }
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) {
+        submit(ctx);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof IdleStateEvent) {
+            ctx.close();
+            return;
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("闸机连接异常: {}", cause.getMessage());
+        ctx.close();
+    }
+
+    private static Frame decode(ByteBuf buf) {
+        if (buf.readableBytes() < 5) {
+            return null;
+        }
+        Frame frame = new Frame();
+        frame.type = buf.readByte();
+        frame.seq = buf.readInt();
+        if (frame.type == TYPE_HEARTBEAT) {
+            return frame;
+        }
+        if ((frame.type != TYPE_CHECKIN && frame.type != TYPE_CHECKOUT) || buf.readableBytes() < 16) {
+            return null;
+        }
+        frame.employeeId = buf.readLong();
+        frame.epochSecond = buf.readLong();
+        return frame;
+    }
+
+    /**
+     * 提交当前批次：接在本连接上一批之后执行，保证应答顺序（在 IO 线程调用）
+     */
+    private void submit(ChannelHandlerContext ctx) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Frame> frames = batch;
+        batch = new ArrayList<>();
+        Channel channel = ctx.channel();
+
+        pendingFrames += frames.size();
+        if (pendingFrames > PAUSE_PENDING_FRAMES) {
+            channel.config().setAutoRead(false);
+        }
+        // 用 handle 收尾：处理抛出异常或线程池拒绝时，未处理的帧按 CODE_ERROR 应答，且链路不会停在异常状态
+        tail = tail.thenRunAsync(() -> process(channel, frames), workers)
+                .handle((v, e) -> {
+                    if (e != null) {
+                        logger.error("闸机帧处理失败, frames={}", frames.size(), e);
+                    }
+                    try {
+                        writeAcks(channel, frames);
+                        channel.eventLoop().execute(() -> {
+                            pendingFrames -= frames.size();
+                            if (pendingFrames < RESUME_PENDING_FRAMES && !channel.config().isAutoRead()) {
+                                channel.config().setAutoRead(true);
+                            }
+                        });
+                    } catch (Exception ex) {
+                        logger.warn("闸机应答写回失败: {}", ex.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * 在业务线程处理一批帧，结果记在各帧上
+     */
+    private void process(Channel channel, List<Frame> frames) {
+        if (!channel.isActive()) {
+            return;
+        }
+        int i = 0;
+        while (i < frames.size()) {
+            Frame frame = frames.get(i);
+            if (frame.type == TYPE_CHECKIN) {
+                int end = i;
+                while (end < frames.size() && frames.get(end).type == TYPE_CHECKIN) {
+                    end++;
+                }
+                checkin(frames.subList(i, end));
+                i = end;
+            } else {
+                if (frame.type == TYPE_CHECKOUT) {
+                    checkout(frame);
+                } else {
+                    frame.code = CODE_OK;
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * 按请求顺序写回应答
+     */
+    private void writeAcks(Channel channel, List<Frame> frames) {
+        if (!channel.isActive()) {
+            return;
+        }
+        for (Frame frame : frames) {
+            ByteBuf ack = channel.alloc().buffer(9);
+            ack.writeShort(7);
+            ack.writeByte(TYPE_ACK);
+            ack.writeInt(frame.seq);
+            ack.writeByte(frame.code);
+            ack.writeByte(frame.attendanceStatus);
+            channel.write(ack);
+        }
+        channel.flush();
+    }
+
+    private void checkin(List<Frame> frames) {
+        List<CheckinEvent> events = new ArrayList<>(frames.size());
+        for (Frame frame : frames) {
+            CheckinEvent event = new CheckinEvent();
+            event.setEmployeeId(frame.employeeId);
+            if (frame.epochSecond > 0) {
+                event.setCheckinTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(frame.epochSecond), ZONE));
+            }
+            events.add(event);
+        }
+        try {
+            List<Map<String, Object>> results = attendanceService.batchCheckin(events);
+            for (int i = 0; i < frames.size(); i++) {
+                Map<String, Object> result = results.get(i);
+                frames.get(i).code = resultCode((String) result.get("status"));
+                frames.get(i).attendanceStatus = statusCode((String) result.get("attendanceStatus"));
+            }
+        } catch (Exception e) {
+            logger.error("闸机批量签到失败, frames={}", frames.size(), e);
+            for (Frame frame : frames) {
+                frame.code = CODE_ERROR;
+            }
+        }
+    }
+
+    private void checkout(Frame frame) {
+        try {
+            attendanceService.checkout(frame.employeeId);
+            frame.code = CODE_OK;
+        } catch (DataAccessException e) {
+            logger.error("闸机签退失败, employeeId={}", frame.employeeId, e);
+            frame.code = CODE_ERROR;
+        } catch (Exception e) {
+            // 未签到、重复签退等业务拒绝
+            frame.code = CODE_REJECTED;
+        }
+    }
+
+    private static byte resultCode(String status) {
+        if ("SUCCESS".equals(status)) {
+            return CODE_OK;
+        } else if ("DUPLICATE".equals(status)) {
+            return CODE_DUPLICATE;
+        } else if ("NOT_FOUND".equals(status)) {
+            return CODE_NOT_FOUND;
+        }
+        return CODE_INVALID;
+    }
+
+    private static byte statusCode(String attendanceStatus) {
+        if ("NORMAL".equals(attendanceStatus)) {
+            return 1;
+        } else if ("LATE".equals(attendanceStatus)) {
+            return 2;
+        } else if ("EARLY_LEAVE".equals(attendanceStatus)) {
+            return 3;
+        }
+        return 0;
+    }
+
+    /**
+     * 一个请求帧及其处理结果
+     */
+    private static class Frame {
+        private byte type;
+        private int seq;
+        private long employeeId;
+        private long epochSecond;
+        private byte code = CODE_ERROR;
+        private byte attendanceStatus;
+    }
+}
@@ -0,0 +1,108 @@
+package com.enterprise.component;
+
+import com.enterprise.service.AttendanceService;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.timeout.IdleStateHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 闸机二进制签到 TCP 服务（attendance.tcp.enabled=true 时启用）
+ * 帧格式（大端）：2 字节长度 + 帧体，长度不含自身。
+ * 请求帧体：1 字节类型（1 签到、2 签退、3 心跳）+ 4 字节序号 + 8 字节员工ID + 8 字节打卡时间（epoch 秒，0 表示服务器时间），心跳只有类型与序号。
+ * 应答帧体：1 字节类型（0x81）+ 4 字节序号 + 1 字节结果码 + 1 字节考勤状态，按请求顺序返回，客户端可连续发送不必等待应答。
+ * 签到、签退最终交给 AttendanceService，与 HTTP 接口走同一套逻辑。
+ * 协议没有任何认证：不携带 JWT，也没有设备凭证，能连上端口的任何人都可以替任意员工签到、签退。
+ * 因此只监听 attendance.tcp.bind-address（默认 127.0.0.1），部署时应绑定到闸机所在的受信任网段的网卡，
+ * 并用防火墙限制来源地址，不能暴露到办公网或公网。
+ */
+@Component
+@ConditionalOnProperty(prefix = "attendance.tcp", name = "enabled", havingValue = "true")
+public class CheckinTcpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckinTcpServer.class);
+
+    // 最大帧长度（不含长度字段）
+    private static final int MAX_FRAME_LENGTH = 64;
+
+    // 连接空闲超过该秒数即关闭（设备应定期发送心跳）
+    private static final int IDLE_SECONDS = 120;
+
+    @Value("${attendance.tcp.bind-address:127.0.0.1}")
+    private String bindAddress;
+
+    @Value("${attendance.tcp.port:9100}")
+    private int port;
+
+    @Value("${attendance.tcp.worker-threads:4}")
+    private int workerThreads;
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup ioGroup;
+    private ExecutorService workers;
+    private Channel serverChannel;
+
+    @PostConstruct
+    public void start() throws InterruptedException {
+        bossGroup = new NioEventLoopGroup(1);
+        ioGroup = new NioEventLoopGroup();
+        // 签到逻辑会访问数据库，放到独立线程池，不阻塞 IO 线程
+        workers = Executors.newFixedThreadPool(workerThreads);
+
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, ioGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, 1024)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline()
+                                .addLast(new IdleStateHandler(IDLE_SECONDS, 0, 0, TimeUnit.SECONDS))
+                                .addLast(new LengthFieldBasedFrameDecoder(MAX_FRAME_LENGTH, 0, 2, 0, 2))
+                                .addLast(new CheckinFrameHandler(attendanceService, workers));
+                    }
+                });
+        serverChannel = bootstrap.bind(bindAddress, port).sync().channel();
+        logger.info("闸机签到 TCP 服务已启动（无认证，仅限受信任网络）, address={}", serverChannel.localAddress());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+        if (bossGroup != null) {
+            bossGroup.shutdownGracefully();
+        }
+        if (ioGroup != null) {
+            ioGroup.shutdownGracefully();
+        }
+        if (workers != null) {
+            workers.shutdown();
+        }
+        logger.info("闸机签到 TCP 服务已停止");
+    }
+}
@@ -0,0 +1,261 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Department;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 部门层级缓存
+ * 部门树按先序遍历展开成数组，每个部门的子树是其中连续的一段：
+ * 子树判断、子树部门列表、子树人数（前缀和）都是 O(1) 或 O(子树大小)，不再逐层查询。
+ * 快照不可变，部门变更时整体重建；员工变动只标记人数过期，下次读取时重新统计人数。
+ */
+@Component
+public class DepartmentHierarchy {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentHierarchy.class);
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean headcountsStale = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+        changeVersionTracker.addListener(ChangeVersionTracker.DEPARTMENT, ids -> rebuild());
+        changeVersionTracker.addListener(ChangeVersionTracker.EMPLOYEE, ids -> markHeadcountsStale());
+    }
+
+    /**
+     * 部门新增、改名、移动、删除后重建
+     */
+    public synchronized void rebuild() {
+        headcountsStale.set(false);
+        snapshot = new Snapshot(departmentMapper.findAll(), loadHeadcounts());
+        logger.info("部门层级已重建: departments={}", snapshot.order.length);
+    }
+
+    /**
+     * 员工入职、调岗、离职后标记人数过期
+     */
+    public void markHeadcountsStale() {
+        headcountsStale.set(true);
+    }
+
+    /**
+     * 当前快照（人数过期时先重新统计人数）
+     */
+    public Snapshot snapshot() {
+        if (headcountsStale.get()) {
+            synchronized (this) {
+                if (headcountsStale.compareAndSet(true, false)) {
+                    snapshot = snapshot.withHeadcounts(loadHeadcounts());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private Map<Long, Integer> loadHeadcounts() {
+        Map<Long, Integer> headcounts = new HashMap<>();
+        for (Map<String, Object> row : employeeMapper.countActiveByDepartment()) {
+            headcounts.put(((Number) row.get("departmentId")).longValue(), ((Number) row.get("headcount")).intValue());
+        }
+        return headcounts;
+    }
+
+    /**
+     * 部门树的不可变快照
+     */
+    public static final class Snapshot {
+
+        private final Map<Long, Department> departments;
+        private final Map<Long, List<Long>> children;
+        private final List<Long> roots;
+        // 先序遍历顺序；部门 id 的子树为 order[index(id), index(id) + size(id))
+        private final long[] order;
+        private final Map<Long, Integer> index;
+        private final int[] sizes;
+        private final int[] directHeadcounts;
+        // headcountPrefix[i] 为 order[0, i) 的人数之和
+        private final long[] headcountPrefix;
+
+        private Snapshot(List<Department> list, Map<Long, Integer> headcounts) {
+            Map<Long, Department> departments = new LinkedHashMap<>();
+            for (Department department : list) {
+                departments.put(department.getId(), department);
+            }
+            Map<Long, List<Long>> children = new HashMap<>();
+            List<Long> roots = new ArrayList<>();
+            for (Department department : departments.values()) {
+                Long parentId = department.getParentId();
+                if (parentId == null || !departments.containsKey(parentId)) {
+                    roots.add(department.getId());
+                } else {
+                    children.computeIfAbsent(parentId, k -> new ArrayList<>()).add(department.getId());
+                }
+            }
+            for (List<Long> ids : children.values()) {
+                Collections.sort(ids);
+            }
+            Collections.sort(roots);
+
+            // 非递归先序遍历，记录每个部门在数组中的位置与子树大小
+            long[] order = new long[departments.size()];
+            int[] sizes = new int[departments.size()];
+            Map<Long, Integer> index = new HashMap<>();
+            int n = 0;
+            Deque<long[]> stack = new ArrayDeque<>();
+            for (Long root : roots) {
+                stack.push(new long[]{root, 0});
+                while (!stack.isEmpty()) {
+                    long[] top = stack.peek();
+                    long id = top[0];
+                    if (top[1] == 0) {
+                        top[1] = 1;
+                        index.put(id, n);
+                        order[n++] = id;
+                        List<Long> kids = children.getOrDefault(id, Collections.emptyList());
+                        for (int i = kids.size() - 1; i >= 0; i--) {
+                            stack.push(new long[]{kids.get(i), 0});
+                        }
+                    } else {
+                        stack.pop();
+                        int pos = index.get(id);
+                        sizes[pos] = n - pos;
+                    }
+                }
+            }
+
+            this.departments = Collections.unmodifiableMap(departments);
+            this.children = children;
+            this.roots = Collections.unmodifiableList(roots);
+            // 环路上的部门不可达，不纳入快照
+            this.order = n == order.length ? order : Arrays.copyOf(order, n);
+            this.sizes = n == sizes.length ? sizes : Arrays.copyOf(sizes, n);
+            this.index = index;
+            this.directHeadcounts = new int[n];
+            this.headcountPrefix = new long[n + 1];
+            fillHeadcounts(headcounts);
+        }
+
+        private Snapshot(Snapshot structure, Map<Long, Integer> headcounts) {
+            this.departments = structure.departments;
+            this.children = structure.children;
+            this.roots = structure.roots;
+            this.order = structure.order;
+            this.index = structure.index;
+            this.sizes = structure.sizes;
+            this.directHeadcounts = new int[order.length];
+            this.headcountPrefix = new long[order.length + 1];
+            fillHeadcounts(headcounts);
+        }
+
+        private void fillHeadcounts(Map<Long, Integer> headcounts) {
+            for (int i = 0; i < order.length; i++) {
+                directHeadcounts[i] = headcounts.getOrDefault(order[i], 0);
+                headcountPrefix[i + 1] = headcountPrefix[i] + directHeadcounts[i];
+            }
+        }
+
+        private Snapshot withHeadcounts(Map<Long, Integer> headcounts) {
+            return new Snapshot(this, headcounts);
+        }
+
+        public boolean exists(Long departmentId) {
+            return departmentId != null && index.containsKey(departmentId);
+        }
+
+        /**
+         * descendantId 是否为 ancestorId 自身或其下级部门
+         */
+        public boolean contains(Long ancestorId, Long descendantId) {
+            Integer a = index.get(ancestorId);
+            Integer d = index.get(descendantId);
+            return a != null && d != null && d >= a && d < a + sizes[a];
+        }
+
+        /**
+         * 子树内全部部门 ID（含自身，先序）
+         */
+        public List<Long> subtreeIds(Long departmentId) {
+            Integer pos = index.get(departmentId);
+            if (pos == null) {
+                return Collections.emptyList();
+            }
+            List<Long> ids = new ArrayList<>(sizes[pos]);
+            for (int i = pos; i < pos + sizes[pos]; i++) {
+                ids.add(order[i]);
+            }
+            return ids;
+        }
+
+        /**
+         * 部门直属在职人数
+         */
+        public int directHeadcount(Long departmentId) {
+            Integer pos = index.get(departmentId);
+            return pos != null ? directHeadcounts[pos] : 0;
+        }
+
+        /**
+         * 部门及全部下级部门的在职人数
+         */
+        public long subtreeHeadcount(Long departmentId) {
+            Integer pos = index.get(departmentId);
+            return pos != null ? headcountPrefix[pos + sizes[pos]] - headcountPrefix[pos] : 0;
+        }
+
+        /**
+         * 完整部门树，每个节点带直属人数与子树人数
+         */
+        public List<Map<String, Object>> tree() {
+            List<Map<String, Object>> list = new ArrayList<>();
+            for (Long root : roots) {
+                list.add(node(root));
+            }
+            return list;
+        }
+
+        private Map<String, Object> node(Long id) {
+            Department department = departments.get(id);
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("id", id);
+            node.put("name", department.getName());
+            node.put("parentId", department.getParentId());
+            node.put("directHeadcount", directHeadcount(id));
+            node.put("headcount", subtreeHeadcount(id));
+            List<Map<String, Object>> kids = new ArrayList<>();
+            for (Long child : children.getOrDefault(id, Collections.emptyList())) {
+                kids.add(node(child));
+            }
+            node.put("children", kids);
+            return node;
+        }
+    }
+}
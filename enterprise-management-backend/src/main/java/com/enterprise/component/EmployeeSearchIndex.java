@@ -0,0 +1,395 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Employee;
+import com.enterprise.util.PinyinUtil;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 员工关键字搜索索引
+ * 对姓名、姓名拼音首字母、电话、邮箱建立一元、二元 n-gram 倒排表，常驻内存：
+ * 查询词拆成 n-gram 求交集得到候选，再逐个做子串校验，按创建时间、ID 降序返回。
+ * 员工列表的页码分页、游标分页和导出只要带关键字都走本索引，保证三者命中同一批员工。
+ * 启动时全量构建，员工增删改时增量维护。
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final Comparator<Doc> NEWEST_FIRST = Comparator
+            .comparing((Doc doc) -> doc.createTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparingLong(doc -> doc.id)
+            .reversed();
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * 启动时全量构建
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<Employee> employees = employeeMapper.findAllForIndex();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            for (Employee employee : employees) {
+                addDoc(new Doc(employee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("员工搜索索引构建完成: employees={}, grams={}", employees.size(), postings.size());
+    }
+
+    /**
+     * 新增或整体替换员工
+     */
+    public void put(Employee employee) {
+        putAll(List.of(employee));
+    }
+
+    /**
+     * 批量新增或替换员工
+     */
+    public void putAll(Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            for (Employee employee : employees) {
+                removeDoc(employee.getId());
+                addDoc(new Doc(employee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按数据库最新数据刷新员工（部分字段更新后使用）
+     */
+    public void refresh(Long employeeId) {
+        Employee employee = employeeMapper.findById(employeeId);
+        if (employee == null) {
+            remove(employeeId);
+        } else {
+            put(employee);
+        }
+    }
+
+    /**
+     * 移除员工
+     */
+    public void remove(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(employeeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 页码分页：一次匹配同时得到当前页 ID（按创建时间、ID 降序）与命中总数
+     */
+    public Page search(String keyword, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Doc> matches = match(normalize(keyword));
+            return new Page(ids(top(matches, Math.max(offset, 0), limit)), matches.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 游标分页：排在 (cursorTime, cursorId) 之后的一页 ID，cursorId 为空时从第一条开始
+     */
+    public List<Long> searchAfter(String keyword, LocalDateTime cursorTime, Long cursorId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Doc> matches = match(normalize(keyword));
+            if (cursorId != null) {
+                Doc cursor = new Doc(cursorId, cursorTime);
+                matches.removeIf(doc -> NEWEST_FIRST.compare(doc, cursor) <= 0);
+            }
+            return ids(top(matches, 0, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 全部命中的 ID（导出用），排序与列表一致
+     */
+    public List<Long> searchAll(String keyword) {
+        lock.readLock().lock();
+        try {
+            List<Doc> matches = match(normalize(keyword));
+            matches.sort(NEWEST_FIRST);
+            return ids(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 输入提示：直接返回索引中的姓名、电话、邮箱，不访问数据库
+     */
+    public List<Map<String, Object>> suggest(String keyword, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Map<String, Object>> list = new ArrayList<>();
+            for (Doc doc : top(match(normalize(keyword)), 0, limit)) {
+                Map<String, Object> item = new LinkedHashMap<>();
+                item.put("id", doc.id);
+                item.put("name", doc.name);
+                item.put("phone", doc.phone);
+                item.put("email", doc.email);
+                list.add(item);
+            }
+            return list;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 求各 n-gram 倒排表的交集并校验子串（调用方持有读锁）
+     */
+    private List<Doc> match(String query) {
+        List<Doc> result = new ArrayList<>();
+        if (query.isEmpty()) {
+            return result;
+        }
+        Set<String> grams = new HashSet<>();
+        if (query.length() == 1) {
+            grams.add(query);
+        } else {
+            for (int i = 0; i + 2 <= query.length(); i++) {
+                grams.add(query.substring(i, i + 2));
+            }
+        }
+
+        Postings[] lists = new Postings[grams.size()];
+        int n = 0;
+        for (String gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return result;
+            }
+            lists[n++] = list;
+        }
+        // 从最短的倒排表出发，其余表二分查找
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        Postings smallest = lists[0];
+        for (int i = 0; i < smallest.size; i++) {
+            long id = smallest.ids[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length && inAll; j++) {
+                inAll = lists[j].contains(id);
+            }
+            if (inAll) {
+                Doc doc = docs.get(id);
+                if (doc.matches(query)) {
+                    result.add(doc);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 排序后的第 skip 条起最多 limit 条：只用大小为 skip + limit 的堆做部分排序，不对全部命中排序
+     */
+    private static List<Doc> top(List<Doc> matches, int skip, int limit) {
+        long keep = (long) skip + limit;
+        if (skip >= matches.size() || limit <= 0) {
+            return List.of();
+        }
+        if (keep >= matches.size()) {
+            matches.sort(NEWEST_FIRST);
+            return matches.subList(skip, matches.size());
+        }
+        // 堆顶为当前保留的最后一名
+        PriorityQueue<Doc> heap = new PriorityQueue<>((int) keep, NEWEST_FIRST.reversed());
+        for (Doc doc : matches) {
+            if (heap.size() < keep) {
+                heap.add(doc);
+            } else if (NEWEST_FIRST.compare(doc, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(doc);
+            }
+        }
+        List<Doc> sorted = new ArrayList<>(heap);
+        sorted.sort(NEWEST_FIRST);
+        return sorted.subList(skip, sorted.size());
+    }
+
+    private static List<Long> ids(List<Doc> docs) {
+        List<Long> ids = new ArrayList<>(docs.size());
+        for (Doc doc : docs) {
+            ids.add(doc.id);
+        }
+        return ids;
+    }
+
+    private void addDoc(Doc doc) {
+        docs.put(doc.id, doc);
+        for (String gram : doc.grams()) {
+            postings.computeIfAbsent(gram, k -> new Postings()).add(doc.id);
+        }
+    }
+
+    private void removeDoc(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : doc.grams()) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(doc.id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
+    }
+
+    /**
+     * 一页搜索结果
+     */
+    public static final class Page {
+        private final List<Long> ids;
+        private final int total;
+
+        private Page(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * 索引中的员工：只保留搜索与排序需要的字段
+     */
+    private static class Doc {
+        private final long id;
+        private final LocalDateTime createTime;
+        private final String name;
+        private final String phone;
+        private final String email;
+        private final String[] fields;
+
+        private Doc(Employee employee) {
+            this.id = employee.getId();
+            this.createTime = employee.getCreateTime();
+            this.name = employee.getName();
+            this.phone = employee.getPhone();
+            this.email = employee.getEmail();
+            this.fields = new String[]{normalize(name), PinyinUtil.initials(name), normalize(phone), normalize(email)};
+        }
+
+        /**
+         * 游标位置（只用于排序比较）
+         */
+        private Doc(long id, LocalDateTime createTime) {
+            this.id = id;
+            this.createTime = createTime;
+            this.name = null;
+            this.phone = null;
+            this.email = null;
+            this.fields = new String[0];
+        }
+
+        private boolean matches(String query) {
+            for (String field : fields) {
+                if (field.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String field : fields) {
+                for (int i = 0; i < field.length(); i++) {
+                    grams.add(field.substring(i, i + 1));
+                    if (i + 2 <= field.length()) {
+                        grams.add(field.substring(i, i + 2));
+                    }
+                }
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * 倒排表：升序的员工 ID 数组
+     */
+    private static class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.PayrollRuleMapper;
+import com.enterprise.entity.PayrollRule;
+import com.enterprise.util.Money;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 薪资规则引擎
+ * 启动时把 t_payroll_rule 编译成不可变的执行计划：继承关系在编译期展开，
+ * 每个“部门 × 职位”组合直接对应一组已合并的金额（以分为单位的 long），
+ * 计算时只做两次 Map 查找和整数运算；规则变更后整体重新编译并替换。
+ */
+@Component
+public class PayrollRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRuleEngine.class);
+
+    // 规则范围：0 表示所有部门，空字符串表示所有职位
+    public static final Long ALL_DEPARTMENTS = 0L;
+    public static final String ALL_POSITIONS = "";
+
+    // 没有任何规则时沿用的默认金额（分）：绩效 2000，奖金 1000，迟到一次 50，缺勤一次 200
+    private static final long DEFAULT_PERFORMANCE_FEN = 200000;
+    private static final long DEFAULT_BONUS_FEN = 100000;
+    private static final long DEFAULT_LATE_FEN = 5000;
+    private static final long DEFAULT_ABSENCE_FEN = 20000;
+
+    @Autowired
+    private PayrollRuleMapper payrollRuleMapper;
+
+    private volatile Plan plan;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        // 其他节点修改规则后重新编译
+        changeVersionTracker.addListener(ChangeVersionTracker.PAYROLL_RULE, ids -> reload());
+    }
+
+    /**
+     * 重新加载并编译规则（规则变更后调用）
+     */
+    public synchronized void reload() {
+        List<PayrollRule> rules = payrollRuleMapper.findAll();
+        plan = compile(rules);
+        logger.info("薪资规则已编译: 规则数={}", rules.size());
+    }
+
+    /**
+     * 当前执行计划（批量计算开始时取一次，整批使用同一份规则）
+     */
+    public Plan currentPlan() {
+        return plan;
+    }
+
+    /**
+     * 展开规则继承关系，生成每个部门、职位组合的最终金额
+     */
+    private Plan compile(List<PayrollRule> rules) {
+        Map<Long, Map<String, PayrollRule>> defined = new HashMap<>();
+        Set<String> positions = new HashSet<>();
+        positions.add(ALL_POSITIONS);
+        for (PayrollRule rule : rules) {
+            defined.computeIfAbsent(rule.getDepartmentId(), k -> new HashMap<>()).put(rule.getPosition(), rule);
+            positions.add(rule.getPosition());
+        }
+        defined.computeIfAbsent(ALL_DEPARTMENTS, k -> new HashMap<>());
+
+        Map<String, PayrollRule> global = defined.get(ALL_DEPARTMENTS);
+        Map<Long, Map<String, RuleSet>> resolved = new HashMap<>();
+        for (Map.Entry<Long, Map<String, PayrollRule>> entry : defined.entrySet()) {
+            Map<String, PayrollRule> department = entry.getValue();
+            Map<String, RuleSet> byPosition = new HashMap<>();
+            for (String position : positions) {
+                PayrollRule[] chain = {
+                        department.get(position),
+                        department.get(ALL_POSITIONS),
+                        global.get(position),
+                        global.get(ALL_POSITIONS)
+                };
+                byPosition.put(position, new RuleSet(
+                        resolveFen(chain, PayrollRule::getPerformanceSalary, DEFAULT_PERFORMANCE_FEN),
+                        resolveFen(chain, PayrollRule::getBonus, DEFAULT_BONUS_FEN),
+                        resolveFen(chain, PayrollRule::getLateDeduction, DEFAULT_LATE_FEN),
+                        resolveFen(chain, PayrollRule::getAbsenceDeduction, DEFAULT_ABSENCE_FEN)));
+            }
+            resolved.put(entry.getKey(), Map.copyOf(byPosition));
+        }
+        return new Plan(Map.copyOf(resolved));
+    }
+
+    /**
+     * 按优先级取第一个非空金额，转换为分
+     */
+    private long resolveFen(PayrollRule[] chain, Function<PayrollRule, BigDecimal> getter, long defaultFen) {
+        for (PayrollRule rule : chain) {
+            if (rule != null && getter.apply(rule) != null) {
+                return Money.fromDecimal(getter.apply(rule));
+            }
+        }
+        return defaultFen;
+    }
+
+    /**
+     * 不可变的规则执行计划
+     */
+    public static final class Plan {
+
+        private final Map<Long, Map<String, RuleSet>> rules;
+
+        private Plan(Map<Long, Map<String, RuleSet>> rules) {
+            this.rules = rules;
+        }
+
+        /**
+         * 查找员工适用的规则（部门或职位没有专门规则时回落到上一级）
+         */
+        public RuleSet resolve(Long departmentId, String position) {
+            Map<String, RuleSet> byPosition = departmentId != null ? rules.get(departmentId) : null;
+            if (byPosition == null) {
+                byPosition = rules.get(ALL_DEPARTMENTS);
+            }
+            RuleSet ruleSet = position != null ? byPosition.get(position) : null;
+            return ruleSet != null ? ruleSet : byPosition.get(ALL_POSITIONS);
+        }
+    }
+
+    /**
+     * 一组已合并的规则金额
+     */
+    public static final class RuleSet {
+
+        private final long performanceFen;
+        private final long bonusFen;
+        private final long lateFen;
+        private final long absenceFen;
+        private final BigDecimal performanceSalary;
+        private final BigDecimal bonus;
+
+        private RuleSet(long performanceFen, long bonusFen, long lateFen, long absenceFen) {
+            this.performanceFen = performanceFen;
+            this.bonusFen = bonusFen;
+            this.lateFen = lateFen;
+            this.absenceFen = absenceFen;
+            this.performanceSalary = Money.toDecimal(performanceFen);
+            this.bonus = Money.toDecimal(bonusFen);
+        }
+
+        /**
+         * 按迟到、缺勤次数计算扣款（分）
+         */
+        public long deductionFen(int lateCount, int absenceCount) {
+            return Money.times(lateFen, lateCount) + Money.times(absenceFen, absenceCount);
+        }
+
+        public long getPerformanceFen() {
+            return performanceFen;
+        }
+
+        public long getBonusFen() {
+            return bonusFen;
+        }
+
+        public long getLateFen() {
+            return lateFen;
+        }
+
+        public long getAbsenceFen() {
+            return absenceFen;
+        }
+
+        public BigDecimal getPerformanceSalary() {
+            return performanceSalary;
+        }
+
+        public BigDecimal getBonus() {
+            return bonus;
+        }
+    }
+}
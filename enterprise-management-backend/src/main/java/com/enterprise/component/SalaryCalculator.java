@@ -0,0 +1,57 @@
+package com.enterprise.component;
+
+import com.enterprise.entity.Employee;
+import com.enterprise.entity.Salary;
+import com.enterprise.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 薪资计算器
+ * 根据员工档案、当月考勤统计和薪资规则计算一条薪资记录，单人计算与整月批量计算共用，计算过程不访问数据库
+ */
+@Component
+public class SalaryCalculator {
+
+    // 默认基本工资（分）
+    private static final long DEFAULT_BASE_FEN = 500000;
+
+    @Autowired
+    private PayrollRuleEngine payrollRuleEngine;
+
+    /**
+     * 按当前规则计算员工某月薪资
+     */
+    public Salary calculate(Employee employee, String month, int lateCount, int absenceCount) {
+        return calculate(payrollRuleEngine.currentPlan(), employee, month, lateCount, absenceCount);
+    }
+
+    /**
+     * 按指定规则计划计算员工某月薪资，返回待插入的薪资记录（状态 PENDING）
+     */
+    public Salary calculate(PayrollRuleEngine.Plan plan, Employee employee, String month, int lateCount, int absenceCount) {
+        PayrollRuleEngine.RuleSet rules = plan.resolve(employee.getDepartmentId(), employee.getPosition());
+
+        // 全程按分做整数运算，只在写入实体时转换为 BigDecimal
+        long baseFen = employee.getSalary() != null ? Money.fromDecimal(employee.getSalary()) : DEFAULT_BASE_FEN;
+        long deductionFen = rules.deductionFen(lateCount, absenceCount);
+        long totalFen = Money.checkRange(baseFen + rules.getPerformanceFen() + rules.getBonusFen() - deductionFen);
+
+        LocalDateTime now = LocalDateTime.now();
+        Salary salary = new Salary();
+        salary.setEmployeeId(employee.getId());
+        salary.setEmployeeName(employee.getName());
+        salary.setMonth(month);
+        salary.setBaseSalary(Money.toDecimal(baseFen));
+        salary.setPerformanceSalary(rules.getPerformanceSalary());
+        salary.setBonus(rules.getBonus());
+        salary.setDeduction(Money.toDecimal(deductionFen));
+        salary.setTotalSalary(Money.toDecimal(totalFen));
+        salary.setStatus("PENDING");
+        salary.setCreateTime(now);
+        salary.setUpdateTime(now);
+        return salary;
+    }
+}
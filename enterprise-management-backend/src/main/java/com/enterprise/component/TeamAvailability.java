@@ -0,0 +1,417 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.LeaveApplicationMapper;
+import com.enterprise.entity.LeaveApplication;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 团队出勤索引（内存）
+ * 待审批、已通过的请假按申请人当前所属部门分组（员工调动、离职后重新读取），每个部门一棵不可变的区间树：
+ * 按开始时间排序的数组隐式构成平衡二叉树，每个节点记录子树内最大结束时间，
+ * 查询与日期范围重叠的请假为 O(log n + k)。请假变化时只标记所在部门，下次查询时重建该部门的树；
+ * 写入很少，统一加锁维护申请与部门的对应关系，查询不加锁。
+ * 只保留最近 history-days 天内结束的请假，更早的请假不参与查询。
+ */
+@Component
+public class TeamAvailability {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamAvailability.class);
+
+    // 未分配部门的员工归入的部门 ID
+    private static final Long NO_DEPARTMENT = 0L;
+
+    // 单次查询的最大天数
+    private static final int MAX_RANGE_DAYS = 93;
+
+    @Autowired
+    private LeaveApplicationMapper leaveApplicationMapper;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Autowired
+    private WorkCalendar workCalendar;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Value("${leave.availability.history-days:90}")
+    private int historyDays;
+
+    // 部门 -> 该部门的请假
+    private final Map<Long, DepartmentLeaves> departments = new ConcurrentHashMap<>();
+
+    // 申请 ID -> 所在部门
+    private final Map<Long, Long> departmentOf = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        List<LeaveApplication> applications = leaveApplicationMapper.findActiveWithDepartment(retentionStart());
+        for (LeaveApplication application : applications) {
+            put(application);
+        }
+        // 其他节点提交、审批、撤销后，按 ID 重新读取
+        changeVersionTracker.addListener(ChangeVersionTracker.LEAVE_APPLICATION, this::refresh);
+        // 其他节点修改员工后，申请人的请假按新部门、在职状态重新分组
+        changeVersionTracker.addListener(ChangeVersionTracker.EMPLOYEE, this::onEmployeesChanged);
+        logger.info("团队出勤索引初始化完成, leaves={}", applications.size());
+    }
+
+    /**
+     * 每天清理超出保留期的请假
+     */
+    @Scheduled(cron = "0 10 0 * * ?")
+    public synchronized void prune() {
+        long retentionKey = timeKey(retentionStart());
+        int removed = 0;
+        for (DepartmentLeaves leaves : departments.values()) {
+            removed += leaves.removeEndedBefore(retentionKey, departmentOf);
+        }
+        logger.info("团队出勤索引清理完成, removed={}", removed);
+    }
+
+    /**
+     * 新提交或状态变化的申请（departmentId 需已填充），已拒绝、已撤销的申请会被移除
+     */
+    public synchronized void put(LeaveApplication application) {
+        if (!"PENDING".equals(application.getStatus()) && !"APPROVED".equals(application.getStatus())) {
+            remove(List.of(application.getId()));
+            return;
+        }
+        Long departmentId = application.getDepartmentId() != null ? application.getDepartmentId() : NO_DEPARTMENT;
+        Long previous = departmentOf.put(application.getId(), departmentId);
+        if (previous != null && !previous.equals(departmentId)) {
+            departments.get(previous).remove(application.getId());
+        }
+        departments.computeIfAbsent(departmentId, k -> new DepartmentLeaves()).put(new Entry(application));
+    }
+
+    /**
+     * 审批后更新状态：通过的保留，拒绝的移除
+     */
+    public synchronized void updateStatus(Collection<Long> ids, String status) {
+        if (!"APPROVED".equals(status)) {
+            remove(ids);
+            return;
+        }
+        for (Long id : ids) {
+            Long departmentId = departmentOf.get(id);
+            if (departmentId != null) {
+                departments.get(departmentId).approve(id);
+            }
+        }
+    }
+
+    /**
+     * 移除申请（撤销、拒绝）
+     */
+    public synchronized void remove(Collection<Long> ids) {
+        for (Long id : ids) {
+            Long departmentId = departmentOf.remove(id);
+            if (departmentId != null) {
+                departments.get(departmentId).remove(id);
+            }
+        }
+    }
+
+    /**
+     * 员工调动、离职、删除后，重新读取其请假（所属部门与在职状态随之更新）
+     */
+    public void onEmployeesChanged(Set<Long> employeeIds) {
+        Set<Long> ids = new HashSet<>();
+        for (DepartmentLeaves leaves : departments.values()) {
+            leaves.collectByEmployees(employeeIds, ids);
+        }
+        if (!ids.isEmpty()) {
+            refresh(ids);
+        }
+    }
+
+    /**
+     * 按数据库中的最新状态刷新指定申请
+     */
+    public void refresh(Set<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        for (LeaveApplication application : leaveApplicationMapper.findWithDepartment(ids, null)) {
+            missing.remove(application.getId());
+            put(application);
+        }
+        remove(missing);
+    }
+
+    /**
+     * 部门在日期范围内的请假冲突与每日在岗人数
+     */
+    public Map<String, Object> query(Long departmentId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("结束日期不能早于开始日期");
+        }
+        int dayCount = (int) (endDate.toEpochDay() - startDate.toEpochDay()) + 1;
+        if (dayCount > MAX_RANGE_DAYS) {
+            throw new RuntimeException("查询范围不能超过" + MAX_RANGE_DAYS + "天");
+        }
+        DepartmentHierarchy.Snapshot hierarchy = departmentHierarchy.snapshot();
+        if (!NO_DEPARTMENT.equals(departmentId) && !hierarchy.exists(departmentId)) {
+            throw new RuntimeException("部门不存在");
+        }
+
+        List<Entry> conflicts = new ArrayList<>();
+        DepartmentLeaves leaves = departments.get(departmentId);
+        if (leaves != null) {
+            leaves.tree().query(timeKey(startDate.atStartOfDay()), timeKey(endDate.plusDays(1).atStartOfDay()), conflicts);
+        }
+        conflicts.sort(Comparator.comparingLong((Entry e) -> e.startKey).thenComparingLong(e -> e.id));
+
+        // 每天在工作时段内请假的人数，同一员工同一天只算一次；
+        // 已通过的请假只统计在职员工，与部门人数（在职员工数）口径一致
+        int[] onLeave = new int[dayCount];
+        int[] pending = new int[dayCount];
+        Map<Long, boolean[]> approvedDays = new HashMap<>();
+        Map<Long, boolean[]> pendingDays = new HashMap<>();
+        List<Map<String, Object>> conflictRows = new ArrayList<>();
+        for (Entry entry : conflicts) {
+            boolean approved = "APPROVED".equals(entry.status);
+            conflictRows.add(entry.toRow());
+            if (approved && !entry.active) {
+                continue;
+            }
+            boolean[] marked = (approved ? approvedDays : pendingDays).computeIfAbsent(entry.employeeId, k -> new boolean[dayCount]);
+            int[] counts = approved ? onLeave : pending;
+            LocalDate from = entry.startTime.toLocalDate().isAfter(startDate) ? entry.startTime.toLocalDate() : startDate;
+            LocalDate to = entry.endTime.toLocalDate().isBefore(endDate) ? entry.endTime.toLocalDate() : endDate;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                int i = (int) (day.toEpochDay() - startDate.toEpochDay());
+                if (!marked[i] && entry.startTime.isBefore(day.atTime(WorkCalendar.PM_END))
+                        && entry.endTime.isAfter(day.atTime(WorkCalendar.AM_START))) {
+                    marked[i] = true;
+                    counts[i]++;
+                }
+            }
+        }
+
+        int headcount = NO_DEPARTMENT.equals(departmentId) ? 0 : hierarchy.directHeadcount(departmentId);
+        List<Map<String, Object>> daily = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            LocalDate day = startDate.plusDays(i);
+            boolean workingDay = workCalendar.isWorkingDay(day);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("date", day.toString());
+            row.put("workingDay", workingDay);
+            row.put("onLeave", workingDay ? onLeave[i] : 0);
+            row.put("pending", workingDay ? pending[i] : 0);
+            row.put("onDuty", workingDay ? Math.max(0, headcount - onLeave[i]) : 0);
+            daily.add(row);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("departmentId", departmentId);
+        result.put("startDate", startDate.toString());
+        result.put("endDate", endDate.toString());
+        result.put("headcount", headcount);
+        result.put("conflicts", conflictRows);
+        result.put("daily", daily);
+        return result;
+    }
+
+    private LocalDateTime retentionStart() {
+        return LocalDate.now().minusDays(historyDays).atStartOfDay();
+    }
+
+    /**
+     * 时间转为可比较的整数（秒）
+     */
+    private static long timeKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 单个部门的请假：可变集合加锁维护，查询使用按需重建的不可变区间树
+     */
+    private static class DepartmentLeaves {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        // 为空表示有变化，下次查询时重建
+        private volatile IntervalTree tree;
+
+        synchronized void put(Entry entry) {
+            entries.put(entry.id, entry);
+            tree = null;
+        }
+
+        synchronized void approve(Long id) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                entries.put(id, entry.withStatus("APPROVED"));
+                tree = null;
+            }
+        }
+
+        synchronized void remove(Long id) {
+            if (entries.remove(id) != null) {
+                tree = null;
+            }
+        }
+
+        synchronized void collectByEmployees(Set<Long> employeeIds, Collection<Long> out) {
+            for (Entry entry : entries.values()) {
+                if (employeeIds.contains(entry.employeeId)) {
+                    out.add(entry.id);
+                }
+            }
+        }
+
+        synchronized int removeEndedBefore(long key, Map<Long, Long> departmentOf) {
+            int before = entries.size();
+            entries.values().removeIf(entry -> {
+                if (entry.endKey <= key) {
+                    departmentOf.remove(entry.id);
+                    return true;
+                }
+                return false;
+            });
+            if (entries.size() != before) {
+                tree = null;
+            }
+            return before - entries.size();
+        }
+
+        IntervalTree tree() {
+            IntervalTree current = tree;
+            if (current == null) {
+                synchronized (this) {
+                    if (tree == null) {
+                        tree = new IntervalTree(entries.values());
+                    }
+                    current = tree;
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 不可变区间树
+     */
+    static final class IntervalTree {
+
+        private final Entry[] entries;  // 按开始时间排序，区间 [lo, hi) 的根为中点
+        private final long[] maxEnd;  // 以该位置为根的子树内最大结束时间
+
+        IntervalTree(Collection<Entry> values) {
+            entries = values.toArray(new Entry[0]);
+            Arrays.sort(entries, Comparator.comparingLong(e -> e.startKey));
+            maxEnd = new long[entries.length];
+            build(0, entries.length);
+        }
+
+        private long build(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(entries[mid].endKey, Math.max(build(lo, mid), build(mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        /**
+         * 收集与 [from, to) 重叠的请假
+         */
+        void query(long from, long to, List<Entry> out) {
+            query(0, entries.length, from, to, out);
+        }
+
+        private void query(int lo, int hi, long from, long to, List<Entry> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] <= from) {
+                return;
+            }
+            query(lo, mid, from, to, out);
+            // 右子树的开始时间都不早于当前节点，当前节点开始于范围之后时右子树也无需查看
+            if (entries[mid].startKey < to) {
+                if (entries[mid].endKey > from) {
+                    out.add(entries[mid]);
+                }
+                query(mid + 1, hi, from, to, out);
+            }
+        }
+    }
+
+    /**
+     * 请假区间
+     */
+    static final class Entry {
+
+        private final Long id;
+        private final Long employeeId;
+        private final String employeeName;
+        private final String leaveType;
+        private final String status;
+        private final boolean active;  // 申请人是否在职
+        private final LocalDateTime startTime;
+        private final LocalDateTime endTime;
+        private final long startKey;
+        private final long endKey;
+
+        Entry(LeaveApplication application) {
+            this(application.getId(), application.getEmployeeId(), application.getEmployeeName(), application.getLeaveType(),
+                    application.getStatus(), !Boolean.FALSE.equals(application.getEmployeeActive()),
+                    application.getStartTime(), application.getEndTime());
+        }
+
+        private Entry(Long id, Long employeeId, String employeeName, String leaveType, String status, boolean active,
+                      LocalDateTime startTime, LocalDateTime endTime) {
+            this.id = id;
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.leaveType = leaveType;
+            this.status = status;
+            this.active = active;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.startKey = timeKey(startTime);
+            this.endKey = timeKey(endTime);
+        }
+
+        private Entry withStatus(String newStatus) {
+            return new Entry(id, employeeId, employeeName, leaveType, newStatus, active, startTime, endTime);
+        }
+
+        Map<String, Object> toRow() {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("leaveId", id);
+            row.put("employeeId", employeeId);
+            row.put("employeeName", employeeName);
+            row.put("leaveType", leaveType);
+            row.put("status", status);
+            row.put("startTime", startTime);
+            row.put("endTime", endTime);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.HolidayMapper;
+import com.enterprise.entity.Holiday;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 工作日历
+ * 启动时把 t_holiday 与“周一至周五上班”的默认规则合并，为每一年预计算工作日位图和前缀和，
+ * 各年再记录之前年份的累计工作日数，因此任意两天之间的工作日数只需两次数组查找。
+ * 请假天数按半天计算：上午 9:00-12:00，下午 13:00-18:00。
+ * 预计算范围之外的日期按星期规则直接用公式计算。节假日变更后整体重建并替换。
+ */
+@Component
+public class WorkCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkCalendar.class);
+
+    public static final String TYPE_HOLIDAY = "HOLIDAY";  // 法定节假日，不上班
+    public static final String TYPE_WORKDAY = "WORKDAY";  // 调休上班日
+
+    // 半天分界（AM_START、PM_END 即上下班时间）
+    public static final LocalTime AM_START = LocalTime.of(9, 0);
+    public static final LocalTime AM_END = LocalTime.of(12, 0);
+    public static final LocalTime PM_START = LocalTime.of(13, 0);
+    public static final LocalTime PM_END = LocalTime.of(18, 0);
+
+    // 除节假日表覆盖的年份外，当前年份前后各预计算的年数
+    private static final int YEAR_MARGIN = 1;
+
+    // 1970-01-05 是星期一，按星期计算工作日数的基准
+    private static final long FIRST_MONDAY_EPOCH_DAY = 4;
+
+    @Autowired
+    private HolidayMapper holidayMapper;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    private volatile Table table;
+
+    @PostConstruct
+    public void init() {
+        reload();
+        // 其他节点修改节假日后重建
+        changeVersionTracker.addListener(ChangeVersionTracker.HOLIDAY, ids -> reload());
+    }
+
+    /**
+     * 重新加载节假日并重建日历（节假日变更后调用）
+     */
+    public synchronized void reload() {
+        List<Holiday> holidays = holidayMapper.findAll();
+        Table built = build(holidays, LocalDate.now().getYear());
+        table = built;
+        logger.info("工作日历已加载: {}-{}年, 节假日设置{}条", built.firstYear, built.firstYear + built.years.length - 1, holidays.size());
+    }
+
+    /**
+     * 是否工作日
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return table.isWorkingDay(date.toEpochDay());
+    }
+
+    /**
+     * 两个日期之间的工作日数（含首尾）
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        Table current = table;
+        return (int) (current.workingDaysBefore(endDate.toEpochDay() + 1) - current.workingDaysBefore(startDate.toEpochDay()));
+    }
+
+    /**
+     * 某月的应出勤天数
+     */
+    public int countWorkingDays(YearMonth month) {
+        return countWorkingDays(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * 请假天数：起止时间之间的工作日，按半天计（开始时间向后取整，结束时间向前取整到半天边界）
+     */
+    public double leaveDays(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            return 0;
+        }
+        Table current = table;
+        long halfDays = halfDaysBefore(current, endTime, true) - halfDaysBefore(current, startTime, false);
+        return Math.max(0, halfDays) / 2.0;
+    }
+
+    /**
+     * 某一时刻之前的工作半天数（相对预计算起点）
+     */
+    private long halfDaysBefore(Table current, LocalDateTime time, boolean end) {
+        long epochDay = time.toLocalDate().toEpochDay();
+        long halfDays = 2 * current.workingDaysBefore(epochDay);
+        if (current.isWorkingDay(epochDay)) {
+            halfDays += end ? endOffset(time.toLocalTime()) : startOffset(time.toLocalTime());
+        }
+        return halfDays;
+    }
+
+    /**
+     * 开始时间：中午前开始算全天，下班前开始算下午半天，下班后开始不算当天
+     */
+    private int startOffset(LocalTime time) {
+        if (time.isBefore(AM_END)) {
+            return 0;
+        }
+        return time.isBefore(PM_END) ? 1 : 2;
+    }
+
+    /**
+     * 结束时间：上班前结束不算当天，下午上班前结束算上午半天，之后结束算全天
+     */
+    private int endOffset(LocalTime time) {
+        if (!time.isAfter(AM_START)) {
+            return 0;
+        }
+        return !time.isAfter(PM_START) ? 1 : 2;
+    }
+
+    /**
+     * 按星期规则计算的工作日累计数，差值即为区间内周一至周五的天数
+     */
+    private static long weekdaysBefore(long epochDay) {
+        long days = epochDay - FIRST_MONDAY_EPOCH_DAY;
+        return Math.floorDiv(days, 7) * 5 + Math.min(Math.floorMod(days, 7), 5);
+    }
+
+    private static boolean isWeekday(long epochDay) {
+        return Math.floorMod(epochDay - FIRST_MONDAY_EPOCH_DAY, 7) < 5;
+    }
+
+    private Table build(List<Holiday> holidays, int currentYear) {
+        int firstYear = currentYear - YEAR_MARGIN;
+        int lastYear = currentYear + YEAR_MARGIN;
+        Map<Long, String> overrides = new HashMap<>();
+        for (Holiday holiday : holidays) {
+            firstYear = Math.min(firstYear, holiday.getHolidayDate().getYear());
+            lastYear = Math.max(lastYear, holiday.getHolidayDate().getYear());
+            overrides.put(holiday.getHolidayDate().toEpochDay(), holiday.getDayType());
+        }
+
+        YearTable[] years = new YearTable[lastYear - firstYear + 1];
+        int cumulative = 0;
+        for (int i = 0; i < years.length; i++) {
+            LocalDate firstDay = LocalDate.of(firstYear + i, 1, 1);
+            long firstEpochDay = firstDay.toEpochDay();
+            int length = firstDay.lengthOfYear();
+            long[] bits = new long[(length + 63) >>> 6];
+            int[] prefix = new int[length + 1];
+            for (int d = 0; d < length; d++) {
+                String dayType = overrides.get(firstEpochDay + d);
+                boolean working = dayType != null ? TYPE_WORKDAY.equals(dayType) : isWeekday(firstEpochDay + d);
+                if (working) {
+                    bits[d >>> 6] |= 1L << d;
+                }
+                prefix[d + 1] = prefix[d] + (working ? 1 : 0);
+            }
+            years[i] = new YearTable(firstEpochDay, bits, prefix, cumulative);
+            cumulative += prefix[length];
+        }
+        return new Table(firstYear, years, cumulative);
+    }
+
+    /**
+     * 单年的工作日位图与前缀和
+     */
+    private static final class YearTable {
+
+        private final long firstEpochDay;
+        private final long[] bits;  // 第 d 位表示当年第 d 天（从 0 开始）是否工作日
+        private final int[] prefix;  // prefix[d] 为当年前 d 天的工作日数
+        private final int cumulativeBefore;  // 预计算起点到当年 1 月 1 日之前的工作日数
+
+        private YearTable(long firstEpochDay, long[] bits, int[] prefix, int cumulativeBefore) {
+            this.firstEpochDay = firstEpochDay;
+            this.bits = bits;
+            this.prefix = prefix;
+            this.cumulativeBefore = cumulativeBefore;
+        }
+    }
+
+    /**
+     * 不可变的预计算日历
+     */
+    private static final class Table {
+
+        private final int firstYear;
+        private final YearTable[] years;
+        private final long startEpochDay;
+        private final long endEpochDay;  // 不含
+        private final int total;
+
+        private Table(int firstYear, YearTable[] years, int total) {
+            this.firstYear = firstYear;
+            this.years = years;
+            this.startEpochDay = years[0].firstEpochDay;
+            this.endEpochDay = LocalDate.of(firstYear + years.length, 1, 1).toEpochDay();
+            this.total = total;
+        }
+
+        /**
+         * 预计算起点到某天之前的工作日数（早于起点时为负数）
+         */
+        long workingDaysBefore(long epochDay) {
+            if (epochDay < startEpochDay) {
+                return weekdaysBefore(epochDay) - weekdaysBefore(startEpochDay);
+            }
+            if (epochDay >= endEpochDay) {
+                return total + weekdaysBefore(epochDay) - weekdaysBefore(endEpochDay);
+            }
+            YearTable year = years[LocalDate.ofEpochDay(epochDay).getYear() - firstYear];
+            return year.cumulativeBefore + year.prefix[(int) (epochDay - year.firstEpochDay)];
+        }
+
+        boolean isWorkingDay(long epochDay) {
+            if (epochDay < startEpochDay || epochDay >= endEpochDay) {
+                return isWeekday(epochDay);
+            }
+            YearTable year = years[LocalDate.ofEpochDay(epochDay).getYear() - firstYear];
+            int d = (int) (epochDay - year.firstEpochDay);
+            return (year.bits[d >>> 6] & (1L << d)) != 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.enterprise.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定时任务配置类
+ * 开启 @Scheduled 定时任务支持
+ */
+@Configuration
+@EnableScheduling
+public class ScheduleConfig {
+}
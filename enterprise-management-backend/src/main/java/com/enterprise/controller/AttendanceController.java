@@ -1,11 +1,21 @@
 package com.enterprise.controller;
 
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.dto.CheckinEvent;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.dto.Result;
+import com.enterprise.dto.StatisticsBatchRequest;
+import com.enterprise.dto.WorkTimeQuery;
+import com.enterprise.service.AbsenceJobService;
 import com.enterprise.service.AttendanceService;
+import com.enterprise.service.PunchLogImportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,6 +28,15 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private AbsenceJobService absenceJobService;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private PunchLogImportService punchLogImportService;
+
     /**
      * 员工签到
      * POST /api/attendance/checkin
@@ -32,6 +51,20 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * 批量签到（闸机、考勤机批量上报）
+     * POST /api/attendance/checkin/batch
+     * Body: [{"employeeId": 1, "checkinTime": "2024-01-01T08:55:00"}, ...]
+     */
+    @PostMapping("/checkin/batch")
+    public Result<?> batchCheckin(@RequestBody List<CheckinEvent> events) {
+        try {
+            return Result.success(attendanceService.batchCheckin(events));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 员工签退
      * POST /api/attendance/checkout
@@ -46,6 +79,20 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * 更正考勤状态
+     * PUT /api/attendance/{id}/status?status=NORMAL
+     */
+    @PutMapping("/{id}/status")
+    public Result<?> correctStatus(@PathVariable Long id, @RequestParam String status) {
+        try {
+            attendanceService.correctStatus(id, status);
+            return Result.success("考勤状态已更正");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 查询考勤记录（分页）
      * GET /api/attendance/records?pageNum=1&pageSize=10
@@ -71,4 +118,131 @@ public class AttendanceController {
             return Result.error(e.getMessage());
         }
     }
+
+    /**
+     * 今日考勤看板（各部门已签到、迟到、未到、已签退人数）
+     * GET /api/attendance/board
+     */
+    @GetMapping("/board")
+    public Result<?> getBoard() {
+        try {
+            return Result.success(attendanceBoard.snapshot());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 今日考勤看板实时推送（SSE），先推送 snapshot 事件，之后推送有变化部门的 delta 事件
+     * GET /api/attendance/board/stream?departmentId=1
+     */
+    @GetMapping(value = "/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoard(@RequestParam(required = false) Long departmentId) {
+        return attendanceBoard.subscribe(departmentId);
+    }
+
+    /**
+     * 部门今日未到员工名单
+     * GET /api/attendance/board/not-arrived?departmentId=1
+     */
+    @GetMapping("/board/not-arrived")
+    public Result<?> getNotArrived(@RequestParam(required = false) Long departmentId) {
+        try {
+            return Result.success(attendanceBoard.notArrived(departmentId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 批量考勤统计（多员工、多月份一次查询）
+     * POST /api/attendance/statistics/batch
+     * Body: {"departmentId": 1, "startMonth": "2024-01", "endMonth": "2024-03"}
+     */
+    @PostMapping("/statistics/batch")
+    public Result<?> getStatisticsBatch(@RequestBody StatisticsBatchRequest request) {
+        try {
+            return Result.success(attendanceService.getStatisticsBatch(request));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 工作时长统计（合计、平均、P90）
+     * GET /api/attendance/work-time?groupBy=department&startMonth=2024-01&endMonth=2024-03
+     */
+    @GetMapping("/work-time")
+    public Result<?> getWorkTimeStatistics(WorkTimeQuery query) {
+        try {
+            return Result.success(attendanceService.getWorkTimeStatistics(query));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 回填历史考勤的工作分钟数（升级后执行一次）
+     * POST /api/attendance/work-minutes/backfill
+     */
+    @PostMapping("/work-minutes/backfill")
+    public Result<?> backfillWorkMinutes() {
+        try {
+            return Result.success("回填完成", attendanceService.backfillWorkMinutes());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 重建考勤月度汇总（不传 month 则回填全部历史）
+     * POST /api/attendance/summary/rebuild?month=2024-01
+     */
+    @PostMapping("/summary/rebuild")
+    public Result<?> rebuildSummary(@RequestParam(required = false) String month) {
+        try {
+            return Result.success("汇总重建完成", attendanceService.rebuildSummary(month));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 手动生成某天的缺勤记录（已完成的部门分片会跳过）
+     * POST /api/attendance/absence/materialize?date=2024-01-05
+     */
+    @PostMapping("/absence/materialize")
+    public Result<?> materializeAbsences(@RequestParam String date) {
+        try {
+            return Result.success(absenceJobService.materialize(LocalDate.parse(date)));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 列出考勤机打卡日志目录下的文件
+     * GET /api/attendance/punch-logs
+     */
+    @GetMapping("/punch-logs")
+    public Result<?> listPunchLogs() {
+        try {
+            return Result.success(punchLogImportService.listFiles());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 导入考勤机打卡日志（按每人每天最早、最晚打卡生成签到、签退）
+     * POST /api/attendance/punch-logs/import?fileName=site-a-2024-01.csv
+     */
+    @PostMapping("/punch-logs/import")
+    public Result<?> importPunchLog(@RequestParam String fileName) {
+        try {
+            return Result.success(punchLogImportService.importFile(fileName));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.enterprise.controller;
+
+import com.enterprise.dto.Result;
+import com.enterprise.entity.Department;
+import com.enterprise.service.DepartmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 部门管理 Controller
+ */
+@RestController
+@RequestMapping("/api/departments")
+public class DepartmentController {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    /**
+     * 获取所有部门
+     * GET /api/departments
+     */
+    @GetMapping
+    public Result<?> getDepartmentList() {
+        try {
+            return Result.success(departmentService.findAll());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 部门树（含直属人数与子树人数）
+     * GET /api/departments/tree
+     */
+    @GetMapping("/tree")
+    public Result<?> getDepartmentTree() {
+        try {
+            return Result.success(departmentService.getTree());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 获取部门详情
+     * GET /api/departments/{id}
+     */
+    @GetMapping("/{id}")
+    public Result<?> getDepartmentById(@PathVariable Long id) {
+        try {
+            return Result.success(departmentService.findById(id));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 新增部门
+     * POST /api/departments
+     */
+    @PostMapping
+    public Result<?> createDepartment(@RequestBody Department department) {
+        try {
+            departmentService.create(department);
+            return Result.success("添加成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 更新部门
+     * PUT /api/departments/{id}
+     */
+    @PutMapping("/{id}")
+    public Result<?> updateDepartment(@PathVariable Long id, @RequestBody Department department) {
+        try {
+            department.setId(id);
+            departmentService.update(department);
+            return Result.success("更新成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 删除部门
+     * DELETE /api/departments/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Result<?> deleteDepartment(@PathVariable Long id) {
+        try {
+            departmentService.deleteById(id);
+            return Result.success("删除成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 子树内全部部门与人数
+     * GET /api/departments/{id}/subtree
+     */
+    @GetMapping("/{id}/subtree")
+    public Result<?> getSubtree(@PathVariable Long id) {
+        try {
+            return Result.success(departmentService.getSubtree(id));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 判断某部门是否属于该部门子树
+     * GET /api/departments/{id}/contains?departmentId=4
+     */
+    @GetMapping("/{id}/contains")
+    public Result<?> contains(@PathVariable Long id, @RequestParam Long departmentId) {
+        try {
+            return Result.success(departmentService.contains(id, departmentId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 部门在职员工，includeSubtree=true 时包含全部下级部门
+     * GET /api/departments/{id}/employees?includeSubtree=true
+     */
+    @GetMapping("/{id}/employees")
+    public Result<?> getEmployees(@PathVariable Long id, @RequestParam(defaultValue = "true") boolean includeSubtree) {
+        try {
+            return Result.success(departmentService.findEmployees(id, includeSubtree));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.enterprise.controller;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.dto.Result;
 import com.enterprise.entity.Employee;
+import com.enterprise.service.EmployeeImportService;
 import com.enterprise.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -19,6 +21,9 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeImportService employeeImportService;
+
     /**
      * 获取员工列表（分页）
      * GET /api/employees?pageNum=1&pageSize=10&keyword=xxx
@@ -45,6 +50,32 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * 员工关键字输入提示（姓名、拼音首字母、电话、邮箱）
+     * GET /api/employees/suggest?keyword=zs&limit=10
+     */
+    @GetMapping("/suggest")
+    public Result<?> suggest(@RequestParam String keyword, @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return Result.success(employeeService.suggest(keyword, limit));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 员工缓存统计（命中、未命中、淘汰次数与命中率）
+     * GET /api/employees/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public Result<?> getCacheStats() {
+        try {
+            return Result.success(employeeService.getCacheStats());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 获取员工详情
      * GET /api/employees/{id}
@@ -113,4 +144,17 @@ public class EmployeeController {
             return Result.error(e.getMessage());
         }
     }
+
+    /**
+     * 从 Excel 批量导入员工
+     * POST /api/employees/import
+     */
+    @PostMapping("/import")
+    public Result<?> importEmployees(@RequestParam("file") MultipartFile file) {
+        try {
+            return Result.success(employeeImportService.importEmployees(file));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,103 @@
+package com.enterprise.controller;
+
+import com.enterprise.dto.PageRequest;
+import com.enterprise.dto.Result;
+import com.enterprise.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Excel 导出 Controller
+ * 过滤参数与对应的列表接口一致（keyword），文件直接写入响应流
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 导出员工列表
+     * GET /api/export/employees?keyword=xxx
+     */
+    @GetMapping("/employees")
+    public void exportEmployees(PageRequest pageRequest, HttpServletResponse response) {
+        export(response, "员工列表", out -> exportService.exportEmployees(pageRequest, out));
+    }
+
+    /**
+     * 导出考勤记录
+     * GET /api/export/attendance?keyword=xxx
+     */
+    @GetMapping("/attendance")
+    public void exportAttendance(PageRequest pageRequest, HttpServletResponse response) {
+        export(response, "考勤记录", out -> exportService.exportAttendance(pageRequest, out));
+    }
+
+    /**
+     * 导出薪资记录
+     * GET /api/export/salary?keyword=xxx
+     */
+    @GetMapping("/salary")
+    public void exportSalary(PageRequest pageRequest, HttpServletResponse response) {
+        export(response, "薪资记录", out -> exportService.exportSalary(pageRequest, out));
+    }
+
+    /**
+     * 导出请假记录
+     * GET /api/export/leave?keyword=xxx
+     */
+    @GetMapping("/leave")
+    public void exportLeave(PageRequest pageRequest, HttpServletResponse response) {
+        export(response, "请假记录", out -> exportService.exportLeave(pageRequest, out));
+    }
+
+    /**
+     * 设置下载响应头并写出文件；写出前失败时改为返回 JSON 错误信息
+     */
+    private void export(HttpServletResponse response, String fileName, ExportTask task) {
+        try {
+            response.setContentType(XLSX_CONTENT_TYPE);
+            String encodedName = URLEncoder.encode(fileName + ".xlsx", StandardCharsets.UTF_8).replace("+", "%20");
+            response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encodedName);
+            task.run(response.getOutputStream());
+        } catch (Exception e) {
+            logger.error("导出失败: {}", fileName, e);
+            if (!response.isCommitted()) {
+                try {
+                    response.reset();
+                    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                    response.getWriter().write(objectMapper.writeValueAsString(Result.error("导出失败：" + e.getMessage())));
+                } catch (IOException ignored) {
+                    // 客户端已断开
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExportTask {
+        void run(OutputStream out) throws IOException;
+    }
+}
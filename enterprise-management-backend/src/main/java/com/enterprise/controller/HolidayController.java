@@ -0,0 +1,80 @@
+package com.enterprise.controller;
+
+import com.enterprise.dto.Result;
+import com.enterprise.entity.Holiday;
+import com.enterprise.service.HolidayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 节假日 Controller
+ */
+@RestController
+@RequestMapping("/api/holidays")
+public class HolidayController {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Autowired
+    private HolidayService holidayService;
+
+    /**
+     * 查询某年的节假日设置
+     * GET /api/holidays?year=2025
+     */
+    @GetMapping
+    public Result<?> getHolidays(@RequestParam(required = false) Integer year) {
+        try {
+            return Result.success(holidayService.findByYear(year != null ? year : LocalDate.now().getYear()));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 新增或覆盖某天的设置
+     * POST /api/holidays
+     */
+    @PostMapping
+    public Result<?> saveHoliday(@RequestBody Holiday holiday) {
+        try {
+            holidayService.save(holiday);
+            return Result.success("保存成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 删除某天的设置
+     * DELETE /api/holidays/2025-01-01
+     */
+    @DeleteMapping("/{date}")
+    public Result<?> deleteHoliday(@PathVariable String date) {
+        try {
+            holidayService.delete(LocalDate.parse(date));
+            return Result.success("删除成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 按工作日历预览请假天数
+     * GET /api/holidays/leave-days?startTime=2025-01-15 09:00:00&endTime=2025-01-17 12:00:00
+     */
+    @GetMapping("/leave-days")
+    public Result<?> previewLeaveDays(@RequestParam String startTime, @RequestParam String endTime) {
+        try {
+            return Result.success(holidayService.previewLeaveDays(
+                    LocalDateTime.parse(startTime, DATE_TIME_FORMATTER),
+                    LocalDateTime.parse(endTime, DATE_TIME_FORMATTER)));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+}
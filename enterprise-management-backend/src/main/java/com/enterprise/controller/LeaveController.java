@@ -1,12 +1,19 @@
 package com.enterprise.controller;
 
+import com.enterprise.component.ApprovalInbox;
+import com.enterprise.component.TeamAvailability;
+import com.enterprise.dto.LeaveApprovalRequest;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.dto.Result;
 import com.enterprise.entity.LeaveApplication;
 import com.enterprise.service.LeaveApplicationService;
+import com.enterprise.service.LeaveBalanceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -19,6 +26,15 @@ public class LeaveController {
     @Autowired
     private LeaveApplicationService leaveApplicationService;
 
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    @Autowired
+    private ApprovalInbox approvalInbox;
+
+    @Autowired
+    private TeamAvailability teamAvailability;
+
     /**
      * 提交请假申请
      * POST /api/leave/apply
@@ -51,6 +67,127 @@ public class LeaveController {
         }
     }
 
+    /**
+     * 批量审批请假申请，只处理仍为待审批状态的申请
+     * PUT /api/leave/batch-approve
+     */
+    @PutMapping("/batch-approve")
+    public Result<?> approveLeaveBatch(@RequestBody LeaveApprovalRequest request) {
+        try {
+            return Result.success(leaveApplicationService.approveBatch(
+                    request.getIds(), request.getStatus(), request.getApprover(), request.getComment()));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 撤销请假申请，已通过的申请返还假期余额
+     * PUT /api/leave/{id}/cancel
+     */
+    @PutMapping("/{id}/cancel")
+    public Result<?> cancelLeave(@PathVariable Long id) {
+        try {
+            leaveApplicationService.cancel(id);
+            return Result.success("撤销成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询员工的假期余额
+     * GET /api/leave/balances/{employeeId}
+     */
+    @GetMapping("/balances/{employeeId}")
+    public Result<?> getBalances(@PathVariable Long employeeId) {
+        try {
+            return Result.success(leaveBalanceService.getBalances(employeeId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询员工的假期台账
+     * GET /api/leave/ledger/{employeeId}
+     */
+    @GetMapping("/ledger/{employeeId}")
+    public Result<?> getLedger(@PathVariable Long employeeId) {
+        try {
+            return Result.success(leaveBalanceService.findLedger(employeeId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 手动执行年度假期发放（重复执行不会重复发放）
+     * POST /api/leave/balances/accrual?year=2025
+     */
+    @PostMapping("/balances/accrual")
+    public Result<?> accrue(@RequestParam Integer year) {
+        try {
+            return Result.success(leaveBalanceService.accrue(year));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 审批收件箱：待审批申请（按提交顺序），departmentId 为空时查询全部
+     * GET /api/leave/inbox?departmentId=1&includeSubtree=true&offset=0&limit=20
+     */
+    @GetMapping("/inbox")
+    public Result<?> getInbox(@RequestParam(required = false) Long departmentId,
+                              @RequestParam(defaultValue = "true") boolean includeSubtree,
+                              @RequestParam(defaultValue = "0") int offset,
+                              @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return Result.success(approvalInbox.list(departmentId, includeSubtree, Math.max(offset, 0), Math.max(limit, 0)));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 待审批数
+     * GET /api/leave/inbox/count?departmentId=1
+     */
+    @GetMapping("/inbox/count")
+    public Result<?> getInboxCount(@RequestParam(required = false) Long departmentId,
+                                   @RequestParam(defaultValue = "true") boolean includeSubtree) {
+        try {
+            return Result.success(approvalInbox.count(departmentId, includeSubtree));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 订阅审批收件箱（SSE），先推送 snapshot，之后推送 added / removed 事件
+     * GET /api/leave/inbox/stream?departmentId=1
+     */
+    @GetMapping(value = "/inbox/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInbox(@RequestParam(required = false) Long departmentId) {
+        return approvalInbox.subscribe(departmentId);
+    }
+
+    /**
+     * 团队出勤：部门在日期范围内的请假冲突与每日在岗人数（含待审批）
+     * GET /api/leave/availability?departmentId=1&startDate=2025-01-13&endDate=2025-01-24
+     */
+    @GetMapping("/availability")
+    public Result<?> getAvailability(@RequestParam Long departmentId,
+                                     @RequestParam String startDate,
+                                     @RequestParam String endDate) {
+        try {
+            return Result.success(teamAvailability.query(departmentId, LocalDate.parse(startDate), LocalDate.parse(endDate)));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 查询请假申请（分页）
      * GET /api/leave/records?pageNum=1&pageSize=10
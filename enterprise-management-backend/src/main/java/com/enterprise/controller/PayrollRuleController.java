@@ -0,0 +1,88 @@
+package com.enterprise.controller;
+
+import com.enterprise.dto.Result;
+import com.enterprise.entity.PayrollRule;
+import com.enterprise.service.PayrollRuleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 薪资规则 Controller
+ */
+@RestController
+@RequestMapping("/api/payroll-rules")
+public class PayrollRuleController {
+
+    @Autowired
+    private PayrollRuleService payrollRuleService;
+
+    /**
+     * 获取所有规则
+     * GET /api/payroll-rules
+     */
+    @GetMapping
+    public Result<?> getRuleList() {
+        try {
+            return Result.success(payrollRuleService.findAll());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询某部门某职位实际生效的金额
+     * GET /api/payroll-rules/effective?departmentId=1&position=工程师
+     */
+    @GetMapping("/effective")
+    public Result<?> getEffective(@RequestParam(required = false) Long departmentId,
+                                  @RequestParam(required = false) String position) {
+        try {
+            return Result.success(payrollRuleService.getEffective(departmentId, position));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 新增规则
+     * POST /api/payroll-rules
+     */
+    @PostMapping
+    public Result<?> createRule(@RequestBody PayrollRule rule) {
+        try {
+            payrollRuleService.create(rule);
+            return Result.success("添加成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 更新规则
+     * PUT /api/payroll-rules/{id}
+     */
+    @PutMapping("/{id}")
+    public Result<?> updateRule(@PathVariable Long id, @RequestBody PayrollRule rule) {
+        try {
+            rule.setId(id);
+            payrollRuleService.update(rule);
+            return Result.success("更新成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 删除规则
+     * DELETE /api/payroll-rules/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Result<?> deleteRule(@PathVariable Long id) {
+        try {
+            payrollRuleService.deleteById(id);
+            return Result.success("删除成功");
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.enterprise.controller;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.dto.Result;
 import com.enterprise.entity.Salary;
+import com.enterprise.service.PayrollService;
 import com.enterprise.service.SalaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +18,9 @@ public class SalaryController {
     @Autowired
     private SalaryService salaryService;
 
+    @Autowired
+    private PayrollService payrollService;
+
     /**
      * 计算薪资
      * POST /api/salary/calculate?employeeId=1&month=2024-01
@@ -31,6 +35,71 @@ public class SalaryController {
         }
     }
 
+    /**
+     * 发起整月薪资批量计算（可限定部门），异步执行
+     * POST /api/salary/payroll-runs?month=2024-01&departmentId=1
+     */
+    @PostMapping("/payroll-runs")
+    public Result<?> startPayrollRun(@RequestParam String month, @RequestParam(required = false) Long departmentId) {
+        try {
+            return Result.success(payrollService.startRun(month, departmentId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询批量计算任务状态和进度
+     * GET /api/salary/payroll-runs/{runId}
+     */
+    @GetMapping("/payroll-runs/{runId}")
+    public Result<?> getPayrollRun(@PathVariable String runId) {
+        try {
+            return Result.success(payrollService.getRun(runId));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 查询最近的批量计算任务
+     * GET /api/salary/payroll-runs
+     */
+    @GetMapping("/payroll-runs")
+    public Result<?> listPayrollRuns() {
+        try {
+            return Result.success(payrollService.listRuns());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 重算考勤变更后待重算的薪资（只更新未发放的记录）
+     * POST /api/salary/recalculate?month=2024-01
+     */
+    @PostMapping("/recalculate")
+    public Result<?> recalculateDirty(@RequestParam(required = false) String month) {
+        try {
+            return Result.success(salaryService.recalculateDirty(month));
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
+    /**
+     * 按月份查询待重算的薪资数量
+     * GET /api/salary/dirty
+     */
+    @GetMapping("/dirty")
+    public Result<?> getDirtySummary() {
+        try {
+            return Result.success(salaryService.getDirtySummary());
+        } catch (Exception e) {
+            return Result.error(e.getMessage());
+        }
+    }
+
     /**
      * 查询薪资记录（分页）
      * GET /api/salary/records?pageNum=1&pageSize=10
@@ -0,0 +1,27 @@
+package com.enterprise.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 缺勤生成任务 Mapper 接口（记录各部门分片的完成情况，用于断点续跑）
+ */
+@Mapper
+public interface AbsenceJobMapper {
+
+    /**
+     * 查询某天已完成的部门分片
+     */
+    List<Long> findFinishedDepartmentIds(@Param("date") LocalDate date);
+
+    /**
+     * 记录部门分片完成
+     */
+    int insertChunk(@Param("date") LocalDate date,
+                    @Param("departmentId") Long departmentId,
+                    @Param("insertedRows") Integer insertedRows,
+                    @Param("elapsedMs") Long elapsedMs);
+}
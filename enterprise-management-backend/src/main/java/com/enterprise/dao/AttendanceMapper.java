@@ -4,8 +4,10 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Attendance;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +32,11 @@ public interface AttendanceMapper {
      */
     int countTotal(PageRequest pageRequest);
 
+    /**
+     * 按列表过滤条件流式读取全部记录（导出用，需在事务内遍历）
+     */
+    Cursor<Attendance> streamForExport(PageRequest pageRequest);
+
     /**
      * 查询员工某天的考勤记录
      */
@@ -40,6 +47,43 @@ public interface AttendanceMapper {
      */
     int insert(Attendance attendance);
 
+    /**
+     * 签到插入：单条语句完成员工存在校验与写入，员工不存在或当天已签到时影响行数为 0
+     */
+    int insertCheckin(Attendance attendance);
+
+    /**
+     * 批量插入考勤记录（多行 INSERT，任一行违反 uk_employee_date 时整条语句失败）
+     */
+    int insertBatch(@Param("list") List<Attendance> list);
+
+    /**
+     * 批量写入或覆盖考勤记录（按 uk_employee_date 合并，打卡日志导入使用）
+     */
+    int upsertBatch(@Param("list") List<Attendance> list);
+
+    /**
+     * 查询一组员工在 [startDate, endDate] 区间的考勤记录
+     */
+    List<Attendance> findByEmployeeIdsAndDateRange(@Param("employeeIds") Collection<Long> employeeIds,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * 查询某天已有考勤记录的员工 ID
+     */
+    List<Long> findCheckedInEmployeeIds(@Param("date") LocalDate date, @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * 查询某天全部考勤记录
+     */
+    List<Attendance> findByDate(@Param("date") LocalDate date);
+
+    /**
+     * 查询某天全部已有考勤记录的员工 ID
+     */
+    List<Long> findEmployeeIdsByDate(@Param("date") LocalDate date);
+
     /**
      * 更新考勤记录
      */
@@ -51,7 +95,40 @@ public interface AttendanceMapper {
     int deleteById(@Param("id") Long id);
 
     /**
-     * 查询员工考勤统计
+     * 为某部门当天没有考勤记录的在职员工批量写入缺勤记录（反连接 INSERT ... SELECT）
+     * departmentId 为 0 表示未分配部门的员工；当天有已批准请假、尚未入职的员工不计缺勤
+     */
+    int insertAbsences(@Param("date") LocalDate date, @Param("departmentId") Long departmentId);
+
+    /**
+     * 分批回填工作分钟数，返回本批更新行数
+     */
+    int backfillWorkMinutes(@Param("limit") int limit);
+
+    /**
+     * 工作时长聚合统计（合计、平均、P90），按员工或部门、按月分组
+     */
+    List<Map<String, Object>> getWorkTimeStatistics(@Param("groupBy") String groupBy,
+                                                    @Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("departmentId") Long departmentId,
+                                                    @Param("employeeId") Long employeeId);
+
+    /**
+     * 查询最早的考勤日期
+     */
+    LocalDate findMinDate();
+
+    /**
+     * 查询员工考勤统计（读取月度汇总表）
      */
     Map<String, Object> getStatistics(@Param("employeeId") Long employeeId, @Param("month") String month);
+
+    /**
+     * 批量查询多名员工多个月份的考勤统计（按员工 ID 集合或部门过滤）
+     */
+    List<Map<String, Object>> getStatisticsBatch(@Param("employeeIds") Collection<Long> employeeIds,
+                                                 @Param("departmentId") Long departmentId,
+                                                 @Param("startMonth") String startMonth,
+                                                 @Param("endMonth") String endMonth);
 }
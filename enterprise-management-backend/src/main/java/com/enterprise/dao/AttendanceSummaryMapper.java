@@ -0,0 +1,39 @@
+package com.enterprise.dao;
+
+import com.enterprise.entity.AttendanceSummary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * 考勤月度汇总 Mapper 接口
+ */
+@Mapper
+public interface AttendanceSummaryMapper {
+
+    /**
+     * 查询员工某月汇总
+     */
+    AttendanceSummary findByEmployeeAndMonth(@Param("employeeId") Long employeeId, @Param("month") String month);
+
+    /**
+     * 按增量累加汇总（不存在则插入）
+     */
+    int upsertDelta(AttendanceSummary delta);
+
+    /**
+     * 从考勤明细重新汇总 [startDate, endDate) 区间
+     * employeeIds、departmentId 均为空时汇总全部员工，departmentId 为 0 表示未分配部门的员工
+     */
+    int rebuild(@Param("startDate") LocalDate startDate,
+                @Param("endDate") LocalDate endDate,
+                @Param("employeeIds") Collection<Long> employeeIds,
+                @Param("departmentId") Long departmentId);
+
+    /**
+     * 删除 [startMonth, endMonth] 区间的汇总
+     */
+    int deleteByMonthRange(@Param("startMonth") String startMonth, @Param("endMonth") String endMonth);
+}
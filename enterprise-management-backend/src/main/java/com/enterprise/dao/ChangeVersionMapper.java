@@ -0,0 +1,35 @@
+package com.enterprise.dao;
+
+import com.enterprise.entity.ChangeVersion;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 缓存变更版本 Mapper 接口
+ */
+@Mapper
+public interface ChangeVersionMapper {
+
+    /**
+     * 追加变更行，生成的版本号回填到每行的 version
+     */
+    int insertAll(List<ChangeVersion> rows);
+
+    /**
+     * 查询版本号大于 since 的变更，按版本号升序
+     */
+    List<ChangeVersion> findSince(@Param("since") long since, @Param("limit") int limit);
+
+    /**
+     * 当前最大版本号
+     */
+    Long findMaxVersion();
+
+    /**
+     * 删除 before 之前写入的变更，每次最多 limit 行
+     */
+    int deleteBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -36,4 +36,39 @@ public interface DepartmentMapper {
      * 删除部门
      */
     int deleteById(@Param("id") Long id);
+
+    /**
+     * 统计子部门数量
+     */
+    int countByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * 新部门写入闭包：复制上级部门的全部祖先路径，再加自身路径（parentId 为空时只有自身）
+     */
+    int insertClosure(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 加锁读取部门的祖先 ID（含自身，SELECT ... FOR UPDATE），移动部门时在事务内按最新数据校验环路
+     */
+    List<Long> lockAncestorIds(@Param("id") Long id);
+
+    /**
+     * 加锁读取子树内的部门 ID（含自身，SELECT ... FOR UPDATE）
+     */
+    List<Long> lockSubtreeIds(@Param("id") Long id);
+
+    /**
+     * 移动部门前断开子树与原祖先之间的路径
+     */
+    int detachSubtree(@Param("id") Long id);
+
+    /**
+     * 把子树挂到新上级部门下（上级的祖先 × 子树的后代）
+     */
+    int attachSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 删除部门的闭包路径（只用于没有下级的部门）
+     */
+    int deleteClosure(@Param("id") Long id);
 }
@@ -4,8 +4,11 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Employee;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 员工 Mapper 接口
@@ -28,6 +31,11 @@ public interface EmployeeMapper {
      */
     int countTotal(PageRequest pageRequest);
 
+    /**
+     * 流式读取全部记录（不带关键字的导出用，需在事务内遍历；带关键字时走搜索索引）
+     */
+    Cursor<Employee> streamForExport(PageRequest pageRequest);
+
     /**
      * 查询所有员工
      */
@@ -38,6 +46,11 @@ public interface EmployeeMapper {
      */
     int insert(Employee employee);
 
+    /**
+     * 批量插入员工（回填自增 ID）
+     */
+    int insertBatch(@Param("list") List<Employee> list);
+
     /**
      * 更新员工
      */
@@ -52,4 +65,34 @@ public interface EmployeeMapper {
      * 根据部门 ID 查询员工
      */
     List<Employee> findByDepartmentId(@Param("departmentId") Long departmentId);
+
+    /**
+     * 查询某部门及其全部下级部门的在职员工（经部门闭包表一次查询）
+     */
+    List<Employee> findByDepartmentSubtree(@Param("departmentId") Long departmentId);
+
+    /**
+     * 按部门统计在职员工数量
+     */
+    List<Map<String, Object>> countActiveByDepartment();
+
+    /**
+     * 统计部门下的员工数量（含离职）
+     */
+    int countByDepartmentId(@Param("departmentId") Long departmentId);
+
+    /**
+     * 查询最大员工ID（批量任务按 ID 区间分片使用）
+     */
+    Long findMaxId();
+
+    /**
+     * 查询全部员工（含离职）的搜索字段，按 ID 升序，用于构建搜索索引
+     */
+    List<Employee> findAllForIndex();
+
+    /**
+     * 根据 ID 集合批量查询员工
+     */
+    List<Employee> findByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,35 @@
+package com.enterprise.dao;
+
+import com.enterprise.entity.Holiday;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 节假日 Mapper 接口
+ */
+@Mapper
+public interface HolidayMapper {
+
+    /**
+     * 查询所有节假日（工作日历加载使用）
+     */
+    List<Holiday> findAll();
+
+    /**
+     * 查询日期范围内的节假日 [startDate, endDate)
+     */
+    List<Holiday> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 新增或覆盖某天的设置
+     */
+    int upsert(Holiday holiday);
+
+    /**
+     * 删除某天的设置（恢复为按星期判断）
+     */
+    int deleteByDate(@Param("holidayDate") LocalDate holidayDate);
+}
@@ -4,7 +4,10 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.LeaveApplication;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,11 +31,26 @@ public interface LeaveApplicationMapper {
      */
     int countTotal(PageRequest pageRequest);
 
+    /**
+     * 按列表过滤条件流式读取全部记录（导出用，需在事务内遍历）
+     */
+    Cursor<LeaveApplication> streamForExport(PageRequest pageRequest);
+
     /**
      * 查询员工的请假申请
      */
     List<LeaveApplication> findByEmployeeId(@Param("employeeId") Long employeeId);
 
+    /**
+     * 查询请假申请并带出申请人所属部门，ids、status 为空时不作限制（审批收件箱加载使用）
+     */
+    List<LeaveApplication> findWithDepartment(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * 查询结束时间晚于 endAfter 的待审批、已通过申请，并带出申请人所属部门（团队出勤索引加载使用）
+     */
+    List<LeaveApplication> findActiveWithDepartment(@Param("endAfter") LocalDateTime endAfter);
+
     /**
      * 插入请假申请
      */
@@ -43,6 +61,27 @@ public interface LeaveApplicationMapper {
      */
     int update(LeaveApplication leaveApplication);
 
+    /**
+     * 条件审批：仅更新仍处于 PENDING 的申请，返回实际更新的行数
+     */
+    int approveIfPending(@Param("ids") Collection<Long> ids,
+                         @Param("status") String status,
+                         @Param("approver") String approver,
+                         @Param("comment") String comment,
+                         @Param("approvalTime") LocalDateTime approvalTime);
+
+    /**
+     * 条件更新状态：仅当前状态为 fromStatus 时更新
+     */
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("fromStatus") String fromStatus,
+                              @Param("toStatus") String toStatus);
+
+    /**
+     * 加锁读取申请的 id 与状态（批量审批出现竞争时使用，需在事务内调用）
+     */
+    List<LeaveApplication> lockStatusByIds(@Param("ids") Collection<Long> ids);
+
     /**
      * 删除请假申请
      */
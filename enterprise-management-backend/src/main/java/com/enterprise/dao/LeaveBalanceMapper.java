@@ -0,0 +1,94 @@
+package com.enterprise.dao;
+
+import com.enterprise.entity.LeaveBalance;
+import com.enterprise.entity.LeaveLedger;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 假期余额与台账 Mapper 接口
+ */
+@Mapper
+public interface LeaveBalanceMapper {
+
+    /**
+     * 按主键查询余额
+     */
+    LeaveBalance findByKey(@Param("employeeId") Long employeeId, @Param("leaveType") String leaveType);
+
+    /**
+     * 查询员工的全部余额
+     */
+    List<LeaveBalance> findByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * 查询员工的台账（最新在前）
+     */
+    List<LeaveLedger> findLedgerByEmployeeId(@Param("employeeId") Long employeeId, @Param("limit") int limit);
+
+    /**
+     * 锁定本批请假申请涉及的余额行（SELECT ... FOR UPDATE，按主键顺序加锁），扣减前在同一事务内复核余额
+     */
+    List<LeaveBalance> lockBalancesForLeaves(@Param("leaveIds") Collection<Long> leaveIds,
+                                             @Param("leaveTypes") Collection<String> leaveTypes);
+
+    /**
+     * 按员工、假期类型汇总本批申请待扣减的天数（employeeId、leaveType、days），范围与 addConsumeBalance 相同
+     */
+    List<Map<String, Object>> sumConsumeDays(@Param("leaveIds") Collection<Long> leaveIds,
+                                             @Param("leaveTypes") Collection<String> leaveTypes);
+
+    /**
+     * 按请假申请扣减余额，只处理需要记余额、且台账中尚无扣减记录的申请（需先于台账写入执行）
+     */
+    int addConsumeBalance(@Param("leaveIds") Collection<Long> leaveIds,
+                          @Param("leaveTypes") Collection<String> leaveTypes,
+                          @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 为上述申请写入扣减台账
+     */
+    int insertConsumeLedger(@Param("leaveIds") Collection<Long> leaveIds,
+                            @Param("leaveTypes") Collection<String> leaveTypes,
+                            @Param("remark") String remark,
+                            @Param("createTime") LocalDateTime createTime);
+
+    /**
+     * 按申请尚未返还的扣减台账返还余额（需先于台账写入执行）
+     */
+    int addReversalBalance(@Param("leaveId") Long leaveId,
+                           @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 将申请尚未返还的扣减台账取反，写入返还台账
+     */
+    int insertReversalLedger(@Param("leaveId") Long leaveId,
+                             @Param("remark") String remark,
+                             @Param("createTime") LocalDateTime createTime);
+
+    /**
+     * 为 ID 区间 (fromId, toId] 内尚未发放的在职员工累加余额（需先于台账写入执行）
+     */
+    int addAccrualBalance(@Param("leaveType") String leaveType,
+                          @Param("days") double days,
+                          @Param("refKey") String refKey,
+                          @Param("fromId") long fromId,
+                          @Param("toId") long toId,
+                          @Param("updateTime") LocalDateTime updateTime);
+
+    /**
+     * 为 ID 区间 (fromId, toId] 内尚未发放的在职员工写入发放台账
+     */
+    int insertAccrualLedger(@Param("leaveType") String leaveType,
+                            @Param("days") double days,
+                            @Param("refKey") String refKey,
+                            @Param("fromId") long fromId,
+                            @Param("toId") long toId,
+                            @Param("remark") String remark,
+                            @Param("createTime") LocalDateTime createTime);
+}
@@ -0,0 +1,44 @@
+package com.enterprise.dao;
+
+import com.enterprise.entity.PayrollRule;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 薪资规则 Mapper 接口
+ */
+@Mapper
+public interface PayrollRuleMapper {
+
+    /**
+     * 根据 ID 查询规则
+     */
+    PayrollRule findById(@Param("id") Long id);
+
+    /**
+     * 根据生效范围查询规则
+     */
+    PayrollRule findByScope(@Param("departmentId") Long departmentId, @Param("position") String position);
+
+    /**
+     * 查询所有规则
+     */
+    List<PayrollRule> findAll();
+
+    /**
+     * 插入规则
+     */
+    int insert(PayrollRule rule);
+
+    /**
+     * 更新规则（金额字段整体覆盖，为空表示沿用上一级）
+     */
+    int update(PayrollRule rule);
+
+    /**
+     * 删除规则
+     */
+    int deleteById(@Param("id") Long id);
+}
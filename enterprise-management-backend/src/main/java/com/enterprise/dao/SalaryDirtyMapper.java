@@ -0,0 +1,41 @@
+package com.enterprise.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资待重算标记 Mapper 接口
+ */
+@Mapper
+public interface SalaryDirtyMapper {
+
+    /**
+     * 标记员工某月薪资待重算（仅标记已生成薪资记录的员工）
+     */
+    int markDirty(@Param("month") String month, @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * 标记某天有缺勤记录的员工当月薪资待重算（departmentId 为 0 表示未分配部门）
+     */
+    int markDirtyByAbsenceDate(@Param("date") LocalDate date, @Param("departmentId") Long departmentId);
+
+    /**
+     * 取出一批待重算的员工月份并加锁（month 为空表示全部月份）
+     */
+    List<Map<String, Object>> lockBatch(@Param("month") String month, @Param("limit") int limit);
+
+    /**
+     * 清除员工某月的待重算标记
+     */
+    int deleteByEmployeeIds(@Param("month") String month, @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * 按月份统计待重算数量
+     */
+    List<Map<String, Object>> countByMonth();
+}
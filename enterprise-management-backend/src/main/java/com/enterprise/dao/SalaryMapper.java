@@ -4,7 +4,10 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Salary;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,21 +31,41 @@ public interface SalaryMapper {
      */
     int countTotal(PageRequest pageRequest);
 
+    /**
+     * 按列表过滤条件流式读取全部记录（导出用，需在事务内遍历）
+     */
+    Cursor<Salary> streamForExport(PageRequest pageRequest);
+
     /**
      * 查询员工某月薪资
      */
     Salary findByEmployeeAndMonth(@Param("employeeId") Long employeeId, @Param("month") String month);
 
+    /**
+     * 查询多名员工某月薪资
+     */
+    List<Salary> findByEmployeeIdsAndMonth(@Param("employeeIds") Collection<Long> employeeIds, @Param("month") String month);
+
     /**
      * 插入薪资记录
      */
     int insert(Salary salary);
 
+    /**
+     * 批量插入薪资记录（已存在的员工月份跳过），返回实际插入行数
+     */
+    int insertBatch(@Param("list") List<Salary> list);
+
     /**
      * 更新薪资记录
      */
     int update(Salary salary);
 
+    /**
+     * 批量写回重算后的薪资（仅更新 PENDING 状态），返回实际更新行数
+     */
+    int updateRecalculated(@Param("list") List<Salary> list, @Param("updateTime") LocalDateTime updateTime);
+
     /**
      * 删除薪资记录
      */
@@ -0,0 +1,16 @@
+package com.enterprise.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 签到事件 DTO（闸机批量上报使用）
+ */
+@Data
+public class CheckinEvent {
+
+    private Long employeeId;  // 员工ID
+    private String employeeName;  // 员工姓名，为空时取员工档案中的姓名
+    private LocalDateTime checkinTime;  // 打卡时间，为空时取服务器当前时间
+}
@@ -0,0 +1,17 @@
+package com.enterprise.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量审批请假请求 DTO
+ */
+@Data
+public class LeaveApprovalRequest {
+
+    private List<Long> ids;  // 请假申请ID列表
+    private String status;  // 审批结果：APPROVED / REJECTED
+    private String approver;  // 审批人
+    private String comment;  // 审批意见
+}
@@ -1,9 +1,16 @@
 package com.enterprise.dto;
 
+import com.enterprise.util.CursorCodec;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * 分页请求 DTO
+ * 支持两种模式：页码分页（pageNum/pageSize），游标分页（传 cursor，首页传空字符串，之后传上一页返回的 nextCursor）
  */
 @Data
 public class PageRequest {
@@ -11,6 +18,52 @@ public class PageRequest {
     private Integer pageNum = 1;  // 页码，默认第1页
     private Integer pageSize = 10;  // 每页大小，默认10条
     private String keyword;  // 搜索关键字
-    private String sortBy;  // 排序字段
+    private String sortBy;  // 排序字段（仅支持白名单内的字段）
     private String sortOrder;  // 排序方向：asc, desc
+    private String cursor;  // 分页游标，传入即为游标分页模式
+
+    // 以下为游标解析出的排序键，由 decodeCursor() 填充，不接受请求参数绑定
+    @Setter(AccessLevel.NONE)
+    private String cursorText;
+    @Setter(AccessLevel.NONE)
+    private LocalDate cursorDate;
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime cursorTime;
+    @Setter(AccessLevel.NONE)
+    private Long cursorId;
+
+    /**
+     * 页码分页的偏移量
+     */
+    public int getOffset() {
+        return (pageNum - 1) * pageSize;
+    }
+
+    /**
+     * 是否为游标分页模式
+     */
+    public boolean isCursorMode() {
+        return cursor != null;
+    }
+
+    /**
+     * 是否升序
+     */
+    public boolean isAscending() {
+        return "asc".equalsIgnoreCase(sortOrder);
+    }
+
+    /**
+     * 解析游标中的排序键（首页游标为空字符串，不解析）
+     */
+    public void decodeCursor() {
+        if (cursor == null || cursor.isEmpty()) {
+            return;
+        }
+        Object[] keys = CursorCodec.decode(cursor);
+        cursorText = (String) keys[0];
+        cursorDate = (LocalDate) keys[1];
+        cursorTime = (LocalDateTime) keys[2];
+        cursorId = (Long) keys[3];
+    }
 }
@@ -0,0 +1,26 @@
+package com.enterprise.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 整月薪资批量计算任务状态 DTO
+ * 每次查询返回某一时刻的快照，各字段彼此一致；任务仍在执行时重新查询才能看到最新进度
+ */
+@Data
+public class PayrollRun {
+
+    private String runId;  // 任务ID
+    private String month;  // 薪资月份
+    private Long departmentId;  // 部门ID，为空表示全公司
+    private String status;  // RUNNING, SUCCESS, FAILED
+    private int totalEmployees;  // 参与计算的在职员工数
+    private int processed;  // 已处理员工数
+    private int inserted;  // 新生成的薪资记录数
+    private int skipped;  // 已存在而跳过的记录数
+    private String message;  // 失败原因
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long elapsedMs;  // 总耗时（毫秒）
+}
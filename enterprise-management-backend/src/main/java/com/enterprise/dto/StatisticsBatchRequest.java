@@ -0,0 +1,18 @@
+package com.enterprise.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量考勤统计请求 DTO
+ * employeeIds 与 departmentId 二选一
+ */
+@Data
+public class StatisticsBatchRequest {
+
+    private List<Long> employeeIds;  // 员工ID列表
+    private Long departmentId;  // 部门ID
+    private String startMonth;  // 起始月份，格式：2024-01
+    private String endMonth;  // 结束月份（含），为空时与起始月份相同
+}
@@ -0,0 +1,16 @@
+package com.enterprise.dto;
+
+import lombok.Data;
+
+/**
+ * 工作时长统计查询 DTO
+ */
+@Data
+public class WorkTimeQuery {
+
+    private String groupBy = "employee";  // 分组维度：employee, department
+    private String startMonth;  // 起始月份，格式：2024-01
+    private String endMonth;  // 结束月份（含），为空时与起始月份相同
+    private Long departmentId;  // 按部门过滤
+    private Long employeeId;  // 按员工过滤
+}
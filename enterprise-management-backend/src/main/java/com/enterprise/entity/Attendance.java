@@ -22,6 +22,7 @@ public class Attendance {
     private LocalDateTime checkinTime;  // 签到时间
     private LocalDateTime checkoutTime;  // 签退时间
     private String status;  // NORMAL, LATE, EARLY_LEAVE, ABSENCE
-    private String workHours;  // 工作时长
+    private String workHours;  // 工作时长（展示用）
+    private Integer workMinutes;  // 工作分钟数
     private LocalDateTime createTime;
 }
@@ -0,0 +1,27 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 考勤月度汇总实体类
+ * 签到、签退时增量维护，也用于传递增量值
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceSummary {
+
+    private Long employeeId;
+    private String month;  // 统计月份，格式：2024-01
+    private Integer totalDays;  // 考勤天数
+    private Integer lateCount;  // 迟到次数
+    private Integer earlyCount;  // 早退次数
+    private Integer absenceCount;  // 缺勤次数
+    private Integer normalCount;  // 正常次数
+    private Long totalWorkMinutes;  // 累计工作分钟数
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,18 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存变更记录实体类
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeVersion {
+
+    private String entity;  // 实体类型：EMPLOYEE, DEPARTMENT, PAYROLL_RULE, HOLIDAY, LEAVE_APPLICATION
+    private Long entityId;  // 实体ID
+    private Long version;  // 变更版本号（全局递增）
+}
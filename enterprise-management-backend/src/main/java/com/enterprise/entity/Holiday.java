@@ -0,0 +1,23 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 节假日实体类
+ * 只记录与“周一至周五上班”不同的日期：法定节假日（HOLIDAY）和调休上班日（WORKDAY）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holiday {
+
+    private LocalDate holidayDate;  // 日期
+    private String dayType;  // 类型：HOLIDAY 放假, WORKDAY 调休上班
+    private String name;  // 名称，如：春节
+    private LocalDateTime createTime;
+}
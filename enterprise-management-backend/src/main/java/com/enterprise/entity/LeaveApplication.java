@@ -22,9 +22,11 @@ public class LeaveApplication {
     private LocalDateTime endTime;
     private Double days;  // 请假天数
     private String reason;
-    private String status;  // PENDING, APPROVED, REJECTED
+    private String status;  // PENDING, APPROVED, REJECTED, CANCELLED
     private String approver;  // 审批人
     private String approvalComment;  // 审批意见
     private LocalDateTime approvalTime;
     private LocalDateTime createTime;
+    private Long departmentId;  // 申请人所属部门（不落库，关联员工表查询时填充）
+    private Boolean employeeActive;  // 申请人是否在职（不落库，关联员工表查询时填充）
 }
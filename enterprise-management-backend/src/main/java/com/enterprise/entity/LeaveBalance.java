@@ -0,0 +1,22 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 假期余额实体类
+ * 每个员工每种假期一行，与台账在同一事务中更新，余额等于该员工该假期全部台账之和
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalance {
+
+    private Long employeeId;  // 员工ID
+    private String leaveType;  // 假期类型：ANNUAL, SICK
+    private Double balance;  // 剩余天数
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,26 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 假期台账实体类（只追加，不修改）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedger {
+
+    private Long id;
+    private Long employeeId;  // 员工ID
+    private String leaveType;  // 假期类型：ANNUAL, SICK
+    private String entryType;  // 类型：ACCRUAL 发放, CONSUME 请假扣减, REVERSAL 撤销返还
+    private Double days;  // 变动天数（扣减为负数）
+    private Long leaveId;  // 关联的请假申请ID（发放为空）
+    private String refKey;  // 去重键，如：ACCRUAL:2025、CONSUME:12
+    private String remark;  // 备注
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,30 @@
+package com.enterprise.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 薪资规则实体类
+ * 规则按部门、职位生效，金额为空表示沿用上一级规则
+ * 优先级：部门+职位 → 部门 → 职位 → 全局默认
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRule {
+
+    private Long id;
+    private Long departmentId;  // 部门ID，0 表示所有部门
+    private String position;  // 职位，空字符串表示所有职位
+    private BigDecimal performanceSalary;  // 绩效工资
+    private BigDecimal bonus;  // 奖金
+    private BigDecimal lateDeduction;  // 每次迟到扣款
+    private BigDecimal absenceDeduction;  // 每次缺勤扣款
+    private String remark;  // 备注
+    private LocalDateTime createTime;
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,15 @@
+package com.enterprise.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * 缺勤生成任务 Service 接口
+ */
+public interface AbsenceJobService {
+
+    /**
+     * 为指定日期生成缺勤记录，返回本次运行报告
+     */
+    Map<String, Object> materialize(LocalDate date);
+}
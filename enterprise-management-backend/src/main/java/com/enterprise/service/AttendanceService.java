@@ -1,8 +1,12 @@
 package com.enterprise.service;
 
+import com.enterprise.dto.CheckinEvent;
 import com.enterprise.dto.PageRequest;
+import com.enterprise.dto.StatisticsBatchRequest;
+import com.enterprise.dto.WorkTimeQuery;
 import com.enterprise.entity.Attendance;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,11 +19,21 @@ public interface AttendanceService {
      */
     void checkin(Long employeeId, String employeeName);
 
+    /**
+     * 批量签到，按事件顺序返回每条签到的处理结果
+     */
+    List<Map<String, Object>> batchCheckin(List<CheckinEvent> events);
+
     /**
      * 员工签退
      */
     void checkout(Long employeeId);
 
+    /**
+     * 更正考勤状态（薪资已生成的月份会被标记待重算）
+     */
+    void correctStatus(Long id, String status);
+
     /**
      * 分页查询考勤记录
      */
@@ -29,4 +43,24 @@ public interface AttendanceService {
      * 获取考勤统计
      */
     Map<String, Object> getStatistics(Long employeeId, String month);
+
+    /**
+     * 批量获取考勤统计，结果为 员工ID -> 月份 -> 统计项
+     */
+    Map<Long, Map<String, Map<String, Object>>> getStatisticsBatch(StatisticsBatchRequest request);
+
+    /**
+     * 工作时长统计（合计、平均、P90），由数据库完成聚合
+     */
+    List<Map<String, Object>> getWorkTimeStatistics(WorkTimeQuery query);
+
+    /**
+     * 分批回填历史考勤的工作分钟数
+     */
+    Map<String, Object> backfillWorkMinutes();
+
+    /**
+     * 从考勤明细重建月度汇总，month 为空时回填全部历史
+     */
+    Map<String, Object> rebuildSummary(String month);
 }
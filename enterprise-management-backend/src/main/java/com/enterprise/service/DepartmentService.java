@@ -0,0 +1,58 @@
+package com.enterprise.service;
+
+import com.enterprise.entity.Department;
+import com.enterprise.entity.Employee;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 部门 Service 接口
+ */
+public interface DepartmentService {
+
+    /**
+     * 查询所有部门
+     */
+    List<Department> findAll();
+
+    /**
+     * 根据 ID 查询部门
+     */
+    Department findById(Long id);
+
+    /**
+     * 新增部门
+     */
+    void create(Department department);
+
+    /**
+     * 更新部门（改名、调整上级部门）
+     */
+    void update(Department department);
+
+    /**
+     * 删除部门（部门下没有员工和子部门时才能删除）
+     */
+    void deleteById(Long id);
+
+    /**
+     * 部门树（含直属人数与子树人数）
+     */
+    List<Map<String, Object>> getTree();
+
+    /**
+     * 子树内全部部门与人数
+     */
+    Map<String, Object> getSubtree(Long id);
+
+    /**
+     * descendantId 是否为部门 id 自身或其下级部门
+     */
+    boolean contains(Long id, Long descendantId);
+
+    /**
+     * 部门在职员工，includeSubtree 为 true 时包含全部下级部门
+     */
+    List<Employee> findEmployees(Long id, boolean includeSubtree);
+}
@@ -0,0 +1,16 @@
+package com.enterprise.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Map;
+
+/**
+ * 员工批量导入 Service 接口
+ */
+public interface EmployeeImportService {
+
+    /**
+     * 从 .xlsx 文件批量导入员工，返回导入结果与逐行错误
+     */
+    Map<String, Object> importEmployees(MultipartFile file);
+}
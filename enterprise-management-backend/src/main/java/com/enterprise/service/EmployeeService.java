@@ -45,4 +45,19 @@ public interface EmployeeService {
      * 根据部门 ID 查询员工
      */
     List<Employee> findByDepartmentId(Long departmentId);
+
+    /**
+     * 关键字输入提示（姓名、拼音首字母、电话、邮箱）
+     */
+    List<Map<String, Object>> suggest(String keyword, int limit);
+
+    /**
+     * 部门变更后清除该部门员工的缓存
+     */
+    void evictByDepartment(Long departmentId);
+
+    /**
+     * 员工缓存统计（命中、未命中、淘汰次数）
+     */
+    Map<String, Object> getCacheStats();
 }
@@ -0,0 +1,33 @@
+package com.enterprise.service;
+
+import com.enterprise.dto.PageRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Excel 导出 Service 接口
+ * 过滤条件与对应列表接口一致，分页参数被忽略，导出全部匹配记录
+ */
+public interface ExportService {
+
+    /**
+     * 导出员工列表
+     */
+    void exportEmployees(PageRequest pageRequest, OutputStream out) throws IOException;
+
+    /**
+     * 导出考勤记录
+     */
+    void exportAttendance(PageRequest pageRequest, OutputStream out) throws IOException;
+
+    /**
+     * 导出薪资记录
+     */
+    void exportSalary(PageRequest pageRequest, OutputStream out) throws IOException;
+
+    /**
+     * 导出请假记录
+     */
+    void exportLeave(PageRequest pageRequest, OutputStream out) throws IOException;
+}
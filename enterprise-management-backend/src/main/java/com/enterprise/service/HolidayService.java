@@ -0,0 +1,34 @@
+package com.enterprise.service;
+
+import com.enterprise.entity.Holiday;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 节假日 Service 接口
+ */
+public interface HolidayService {
+
+    /**
+     * 查询某年的节假日设置
+     */
+    List<Holiday> findByYear(int year);
+
+    /**
+     * 新增或覆盖某天的设置
+     */
+    void save(Holiday holiday);
+
+    /**
+     * 删除某天的设置
+     */
+    void delete(LocalDate date);
+
+    /**
+     * 按工作日历计算请假天数（提交申请前预览）
+     */
+    Map<String, Object> previewLeaveDays(LocalDateTime startTime, LocalDateTime endTime);
+}
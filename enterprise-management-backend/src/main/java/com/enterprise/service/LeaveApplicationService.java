@@ -21,6 +21,16 @@ public interface LeaveApplicationService {
      */
     void approve(Long id, String status, String approver, String comment);
 
+    /**
+     * 批量审批请假申请，返回本次更新的 id 与已被处理（或不存在）的 id
+     */
+    Map<String, Object> approveBatch(List<Long> ids, String status, String approver, String comment);
+
+    /**
+     * 撤销请假申请（已通过的返还假期余额）
+     */
+    void cancel(Long id);
+
     /**
      * 分页查询请假申请
      */
@@ -0,0 +1,48 @@
+package com.enterprise.service;
+
+import com.enterprise.entity.LeaveLedger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 假期余额 Service 接口
+ */
+public interface LeaveBalanceService {
+
+    /**
+     * 该请假类型是否需要记余额
+     */
+    boolean isTracked(String leaveType);
+
+    /**
+     * 查询员工各类假期的剩余天数
+     */
+    Map<String, Object> getBalances(Long employeeId);
+
+    /**
+     * 查询员工的假期台账
+     */
+    List<LeaveLedger> findLedger(Long employeeId);
+
+    /**
+     * 校验剩余天数是否足够（提交申请时调用）
+     */
+    void checkAvailable(Long employeeId, String leaveType, double days);
+
+    /**
+     * 审批通过后扣减余额（在审批事务内调用）；锁定余额行复核，任一员工余额不足时抛出异常，审批随事务回滚
+     */
+    void consume(Collection<Long> leaveIds);
+
+    /**
+     * 撤销已通过的申请后返还余额（在撤销事务内调用）
+     */
+    void reverse(Long leaveId);
+
+    /**
+     * 为全部在职员工发放某年的假期，重复执行不会重复发放
+     */
+    Map<String, Object> accrue(int year);
+}
@@ -0,0 +1,37 @@
+package com.enterprise.service;
+
+import com.enterprise.entity.PayrollRule;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资规则 Service 接口
+ */
+public interface PayrollRuleService {
+
+    /**
+     * 查询所有规则
+     */
+    List<PayrollRule> findAll();
+
+    /**
+     * 新增规则
+     */
+    void create(PayrollRule rule);
+
+    /**
+     * 更新规则金额
+     */
+    void update(PayrollRule rule);
+
+    /**
+     * 删除规则
+     */
+    void deleteById(Long id);
+
+    /**
+     * 查询某部门某职位实际生效的金额
+     */
+    Map<String, Object> getEffective(Long departmentId, String position);
+}
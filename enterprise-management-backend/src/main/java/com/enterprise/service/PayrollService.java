@@ -0,0 +1,26 @@
+package com.enterprise.service;
+
+import com.enterprise.dto.PayrollRun;
+
+import java.util.List;
+
+/**
+ * 整月薪资批量计算 Service 接口
+ */
+public interface PayrollService {
+
+    /**
+     * 发起某月薪资批量计算（可限定部门），异步执行，立即返回任务状态
+     */
+    PayrollRun startRun(String month, Long departmentId);
+
+    /**
+     * 查询任务状态和进度
+     */
+    PayrollRun getRun(String runId);
+
+    /**
+     * 查询最近的任务列表（新的在前）
+     */
+    List<PayrollRun> listRuns();
+}
@@ -0,0 +1,20 @@
+package com.enterprise.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 考勤机打卡日志导入 Service 接口
+ */
+public interface PunchLogImportService {
+
+    /**
+     * 列出日志目录下可导入的文件
+     */
+    List<Map<String, Object>> listFiles();
+
+    /**
+     * 导入日志目录下的一个文件，返回解析与写入统计
+     */
+    Map<String, Object> importFile(String fileName);
+}
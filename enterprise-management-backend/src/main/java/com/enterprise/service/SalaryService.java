@@ -4,6 +4,7 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Salary;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,4 +26,14 @@ public interface SalaryService {
      * 查询员工某月薪资
      */
     Salary findByEmployeeAndMonth(Long employeeId, String month);
+
+    /**
+     * 重算考勤变更后待重算的薪资（month 为空表示全部月份），返回变动明细
+     */
+    Map<String, Object> recalculateDirty(String month);
+
+    /**
+     * 按月份统计待重算的薪资数量
+     */
+    List<Map<String, Object>> getDirtySummary();
 }
@@ -5,6 +5,7 @@ import com.enterprise.dao.EmployeeMapper;
 import com.enterprise.dao.SalaryMapper;
 import com.enterprise.entity.Employee;
 import com.enterprise.service.AIService;
+import com.enterprise.service.EmployeeService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.channel.ChannelOption;
@@ -59,6 +60,9 @@ public class AIServiceImpl implements AIService {
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private EmployeeService employeeService;
+
     @Autowired
     private AttendanceMapper attendanceMapper;
 
@@ -116,7 +120,7 @@ public class AIServiceImpl implements AIService {
             logger.info("开始分析员工流失风险, employeeId={}", employeeId);
 
             // 获取员工数据
-            Employee employee = employeeMapper.findById(employeeId);
+            Employee employee = employeeService.findById(employeeId);
             if (employee == null) {
                 throw new RuntimeException("员工不存在");
             }
@@ -573,7 +577,7 @@ public class AIServiceImpl implements AIService {
     private Map<String, Object> getFallbackTurnoverRiskAnalysis(Long employeeId) {
         Map<String, Object> result = new HashMap<>();
 
-        Employee employee = employeeMapper.findById(employeeId);
+        Employee employee = employeeService.findById(employeeId);
         if (employee == null) {
             throw new RuntimeException("员工不存在");
         }
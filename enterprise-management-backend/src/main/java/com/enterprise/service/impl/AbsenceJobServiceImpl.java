@@ -0,0 +1,177 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.WorkCalendar;
+import com.enterprise.dao.AbsenceJobMapper;
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.AttendanceSummaryMapper;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.SalaryDirtyMapper;
+import com.enterprise.entity.Department;
+import com.enterprise.service.AbsenceJobService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 缺勤生成任务 Service 实现类
+ * 每个部门一个分片，每个分片一条反连接 INSERT ... SELECT，分片并行执行；
+ * 分片写入、汇总更新、完成记录在同一事务中提交，中断后重跑会跳过已完成的分片。
+ */
+@Service
+public class AbsenceJobServiceImpl implements AbsenceJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbsenceJobServiceImpl.class);
+
+    // 未分配部门的员工使用的分片 ID
+    private static final Long NO_DEPARTMENT = 0L;
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    @Autowired
+    private AttendanceSummaryMapper attendanceSummaryMapper;
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private AbsenceJobMapper absenceJobMapper;
+
+    @Autowired
+    private SalaryDirtyMapper salaryDirtyMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WorkCalendar workCalendar;
+
+    private final ExecutorService executor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public AbsenceJobServiceImpl(@Value("${attendance.absence-job.threads:4}") int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * 每天凌晨为前一天生成缺勤记录
+     */
+    @Scheduled(cron = "${attendance.absence-job.cron:0 30 0 * * ?}")
+    public void materializeYesterday() {
+        try {
+            materialize(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            logger.error("缺勤生成任务执行失败", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> materialize(LocalDate date) {
+        if (date.isAfter(LocalDate.now().minusDays(1))) {
+            throw new RuntimeException("只能为今天之前的日期生成缺勤记录");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("缺勤生成任务正在运行");
+        }
+
+        try {
+            long beginTime = System.currentTimeMillis();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("date", date.toString());
+
+            if (!workCalendar.isWorkingDay(date)) {
+                report.put("workingDay", false);
+                report.put("elapsedMs", System.currentTimeMillis() - beginTime);
+                return report;
+            }
+            report.put("workingDay", true);
+
+            // 已完成的分片直接跳过
+            Set<Long> finished = new HashSet<>(absenceJobMapper.findFinishedDepartmentIds(date));
+            List<Long> chunks = new ArrayList<>();
+            for (Department department : departmentMapper.findAll()) {
+                if (!finished.contains(department.getId())) {
+                    chunks.add(department.getId());
+                }
+            }
+            if (!finished.contains(NO_DEPARTMENT)) {
+                chunks.add(NO_DEPARTMENT);
+            }
+
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (Long departmentId : chunks) {
+                futures.add(executor.submit(() -> runChunk(date, departmentId)));
+            }
+
+            int insertedRows = 0;
+            int failedChunks = 0;
+            long slowestChunkMs = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    long[] chunkResult = futures.get(i).get();
+                    insertedRows += (int) chunkResult[0];
+                    slowestChunkMs = Math.max(slowestChunkMs, chunkResult[1]);
+                } catch (Exception e) {
+                    failedChunks++;
+                    logger.error("缺勤生成分片失败, date={}, departmentId={}", date, chunks.get(i), e);
+                }
+            }
+
+            report.put("totalChunks", chunks.size() + finished.size());
+            report.put("skippedChunks", finished.size());
+            report.put("executedChunks", chunks.size() - failedChunks);
+            report.put("failedChunks", failedChunks);
+            report.put("insertedRows", insertedRows);
+            report.put("slowestChunkMs", slowestChunkMs);
+            report.put("elapsedMs", System.currentTimeMillis() - beginTime);
+            logger.info("缺勤生成任务完成: {}", report);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 执行单个部门分片，返回 [写入行数, 耗时毫秒]
+     */
+    private long[] runChunk(LocalDate date, Long departmentId) {
+        long beginTime = System.currentTimeMillis();
+        YearMonth month = YearMonth.from(date);
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            int rows = attendanceMapper.insertAbsences(date, departmentId);
+            if (rows > 0) {
+                attendanceSummaryMapper.rebuild(month.atDay(1), month.plusMonths(1).atDay(1), null, departmentId);
+                salaryDirtyMapper.markDirtyByAbsenceDate(date, departmentId);
+            }
+            absenceJobMapper.insertChunk(date, departmentId, rows, System.currentTimeMillis() - beginTime);
+            return rows;
+        });
+
+        return new long[]{inserted != null ? inserted : 0, System.currentTimeMillis() - beginTime};
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
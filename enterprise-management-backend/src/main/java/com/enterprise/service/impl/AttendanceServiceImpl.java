@@ -1,20 +1,46 @@
 package com.enterprise.service.impl;
 
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.CheckinBitmap;
 import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.AttendanceSummaryMapper;
 import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryDirtyMapper;
+import com.enterprise.dto.CheckinEvent;
 import com.enterprise.dto.PageRequest;
+import com.enterprise.dto.StatisticsBatchRequest;
+import com.enterprise.dto.WorkTimeQuery;
 import com.enterprise.entity.Attendance;
+import com.enterprise.entity.AttendanceSummary;
 import com.enterprise.entity.Employee;
 import com.enterprise.service.AttendanceService;
+import com.enterprise.util.AfterCommit;
+import com.enterprise.util.AttendanceRules;
+import com.enterprise.util.CursorCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * 考勤 Service 实现类
@@ -22,28 +48,63 @@ import java.util.Map;
 @Service
 public class AttendanceServiceImpl implements AttendanceService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceServiceImpl.class);
+
+    // 单次批量签到最大条数
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    // 每条 INSERT 语句写入的行数
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    // 签到时间允许超前服务器时钟的分钟数（设备时钟误差），超出视为无效
+    private static final int CLOCK_SKEW_MINUTES = 5;
+
+    // 批量统计最多员工数与月份跨度
+    private static final int MAX_STATISTICS_EMPLOYEES = 1000;
+    private static final int MAX_STATISTICS_MONTHS = 24;
+
+    // 回填工作分钟数时每批更新的行数
+    private static final int BACKFILL_BATCH_SIZE = 5000;
+
+    // 可更正的考勤状态
+    private static final Set<String> ATTENDANCE_STATUSES = Set.of("NORMAL", "LATE", "EARLY_LEAVE", "ABSENCE");
+
     @Autowired
     private AttendanceMapper attendanceMapper;
 
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private AttendanceSummaryMapper attendanceSummaryMapper;
+
+    @Autowired
+    private SalaryDirtyMapper salaryDirtyMapper;
+
+    @Autowired
+    private CheckinBitmap checkinBitmap;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
+    @Transactional
     public void checkin(Long employeeId, String employeeName) {
-        Employee employee = employeeMapper.findById(employeeId);
-        if (employee == null) {
-            throw new RuntimeException("员工不存在");
-        }
-
         LocalDate today = LocalDate.now();
-        Attendance existAttendance = attendanceMapper.findByEmployeeAndDate(employeeId, today);
-        if (existAttendance != null) {
+        // 重复打卡直接由内存位图拦截
+        if (checkinBitmap.isCheckedIn(employeeId, today)) {
             throw new RuntimeException("今天已经签到过了");
         }
 
         LocalDateTime now = LocalDateTime.now();
         // 判断是否迟到（9:00后算迟到）
-        String status = now.getHour() >= 9 && now.getMinute() > 0 ? "LATE" : "NORMAL";
+        String status = AttendanceRules.checkinStatus(now);
 
         Attendance attendance = new Attendance();
         attendance.setEmployeeId(employeeId);
@@ -51,12 +112,159 @@ public class AttendanceServiceImpl implements AttendanceService {
         attendance.setDate(today);
         attendance.setCheckinTime(now);
         attendance.setStatus(status);
-        attendance.setCreateTime(LocalDateTime.now());
+        attendance.setCreateTime(now);
 
-        attendanceMapper.insert(attendance);
+        // 一次往返完成校验与插入，并发重复签到由 uk_employee_date 拦截
+        if (attendanceMapper.insertCheckin(attendance) == 0) {
+            // 仅失败时再查一次，区分重复签到与员工不存在
+            if (attendanceMapper.findByEmployeeAndDate(employeeId, today) != null) {
+                checkinBitmap.markCheckedIn(employeeId, today);
+                throw new RuntimeException("今天已经签到过了");
+            }
+            throw new RuntimeException("员工不存在");
+        }
+
+        // 同一事务内累加月度汇总
+        AttendanceSummary delta = newSummaryDelta(employeeId, today);
+        delta.setTotalDays(1);
+        addStatusCount(delta, status, 1);
+        attendanceSummaryMapper.upsertDelta(delta);
+        markSalaryDirty(today, Collections.singleton(employeeId));
+        // 通知其他节点的看板
+        changeVersionTracker.bump(ChangeVersionTracker.ATTENDANCE, employeeId);
+
+        // 提交后再更新位图与看板，回滚时不会误记为已签到
+        AfterCommit.run(() -> {
+            checkinBitmap.markCheckedIn(employeeId, today);
+            attendanceBoard.onAttendanceChanged(attendance);
+        });
     }
 
     @Override
+    @Transactional
+    public List<Map<String, Object>> batchCheckin(List<CheckinEvent> events) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (events == null || events.isEmpty()) {
+            return results;
+        }
+        if (events.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("单次最多提交" + MAX_BATCH_SIZE + "条签到记录");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latestAllowed = now.plusMinutes(CLOCK_SKEW_MINUTES);
+
+        // 一次查询校验全部员工，并按考勤日期归类
+        Set<Long> employeeIds = new HashSet<>();
+        Map<LocalDate, Set<Long>> idsByDate = new HashMap<>();
+        for (CheckinEvent event : events) {
+            if (event == null || event.getEmployeeId() == null || isFuture(event, now, latestAllowed)) {
+                continue;
+            }
+            employeeIds.add(event.getEmployeeId());
+            LocalDate date = (event.getCheckinTime() != null ? event.getCheckinTime() : now).toLocalDate();
+            idsByDate.computeIfAbsent(date, k -> new HashSet<>()).add(event.getEmployeeId());
+        }
+
+        Map<Long, Employee> employees = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (Employee employee : employeeMapper.findByIds(employeeIds)) {
+                employees.put(employee.getId(), employee);
+            }
+        }
+
+        // 每个日期一次查询，取出已签到的员工
+        Map<LocalDate, Set<Long>> checkedIn = new HashMap<>();
+        for (Map.Entry<LocalDate, Set<Long>> entry : idsByDate.entrySet()) {
+            checkedIn.put(entry.getKey(), new HashSet<>(
+                    attendanceMapper.findCheckedInEmployeeIds(entry.getKey(), entry.getValue())));
+        }
+
+        List<Attendance> toInsert = new ArrayList<>();
+        List<Map<String, Object>> insertResults = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            CheckinEvent event = events.get(i);
+            Long employeeId = event != null ? event.getEmployeeId() : null;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("index", i);
+            result.put("employeeId", employeeId);
+            results.add(result);
+
+            if (employeeId == null) {
+                result.put("status", "INVALID");
+                result.put("message", "员工ID不能为空");
+                continue;
+            }
+            // 设备时钟超前的签到不写入，否则会生成未来日期的考勤记录
+            if (isFuture(event, now, latestAllowed)) {
+                result.put("status", "INVALID");
+                result.put("message", "签到时间不能晚于当前时间");
+                continue;
+            }
+            Employee employee = employees.get(employeeId);
+            if (employee == null) {
+                result.put("status", "NOT_FOUND");
+                result.put("message", "员工不存在");
+                continue;
+            }
+
+            LocalDateTime checkinTime = event.getCheckinTime() != null ? event.getCheckinTime() : now;
+            LocalDate date = checkinTime.toLocalDate();
+            // 已签到或同一批次内重复打卡，均视为重复
+            if (checkinBitmap.isCheckedIn(employeeId, date)
+                    || !checkedIn.computeIfAbsent(date, k -> new HashSet<>()).add(employeeId)) {
+                result.put("status", "DUPLICATE");
+                result.put("message", "今天已经签到过了");
+                continue;
+            }
+
+            Attendance attendance = new Attendance();
+            attendance.setEmployeeId(employeeId);
+            attendance.setEmployeeName(event.getEmployeeName() != null ? event.getEmployeeName() : employee.getName());
+            attendance.setDate(date);
+            attendance.setCheckinTime(checkinTime);
+            attendance.setStatus(AttendanceRules.checkinStatus(checkinTime));
+            attendance.setCreateTime(now);
+            toInsert.add(attendance);
+            insertResults.add(result);
+        }
+
+        // 分段多行插入；只有真正写入的行才报告成功、进入汇总与看板
+        List<Attendance> written = new ArrayList<>();
+        for (int from = 0; from < toInsert.size(); from += INSERT_CHUNK_SIZE) {
+            int to = Math.min(from + INSERT_CHUNK_SIZE, toInsert.size());
+            insertChunk(toInsert.subList(from, to), insertResults.subList(from, to), written);
+        }
+        // 按月份对本批写入的员工重新汇总
+        Map<String, Set<Long>> idsByMonth = new HashMap<>();
+        List<Long> todayIds = new ArrayList<>();
+        LocalDate today = now.toLocalDate();
+        for (Attendance attendance : written) {
+            idsByMonth.computeIfAbsent(YearMonth.from(attendance.getDate()).toString(), k -> new HashSet<>())
+                    .add(attendance.getEmployeeId());
+            if (attendance.getDate().equals(today)) {
+                todayIds.add(attendance.getEmployeeId());
+            }
+        }
+        for (Map.Entry<String, Set<Long>> entry : idsByMonth.entrySet()) {
+            YearMonth month = YearMonth.parse(entry.getKey());
+            attendanceSummaryMapper.rebuild(month.atDay(1), month.plusMonths(1).atDay(1), entry.getValue(), null);
+            salaryDirtyMapper.markDirty(entry.getKey(), entry.getValue());
+        }
+        // 看板只统计今日，其他节点只需知道今日写入的员工
+        changeVersionTracker.bump(ChangeVersionTracker.ATTENDANCE, todayIds);
+        AfterCommit.run(() -> {
+            for (Attendance attendance : written) {
+                checkinBitmap.markCheckedIn(attendance.getEmployeeId(), attendance.getDate());
+                attendanceBoard.onAttendanceChanged(attendance);
+            }
+        });
+
+        return results;
+    }
+
+    @Override
+    @Transactional
     public void checkout(Long employeeId) {
         LocalDate today = LocalDate.now();
         Attendance attendance = attendanceMapper.findByEmployeeAndDate(employeeId, today);
@@ -69,32 +277,86 @@ public class AttendanceServiceImpl implements AttendanceService {
 
         LocalDateTime now = LocalDateTime.now();
         attendance.setCheckoutTime(now);
+        String previousStatus = attendance.getStatus();
 
         // 判断是否早退（18:00前算早退）
-        if (now.getHour() < 18) {
+        if (AttendanceRules.isEarlyLeave(now)) {
             attendance.setStatus("EARLY_LEAVE");
         }
 
         // 计算工作时长
         long minutes = java.time.Duration.between(attendance.getCheckinTime(), now).toMinutes();
-        long hours = minutes / 60;
-        long mins = minutes % 60;
-        attendance.setWorkHours(hours + "小时" + mins + "分钟");
+        attendance.setWorkHours(AttendanceRules.workHours(minutes));
+        attendance.setWorkMinutes((int) minutes);
 
         attendanceMapper.update(attendance);
+
+        // 同一事务内更新月度汇总：状态变化时转移计数，并累加工作时长
+        AttendanceSummary delta = newSummaryDelta(employeeId, today);
+        delta.setTotalWorkMinutes(minutes);
+        if (!Objects.equals(previousStatus, attendance.getStatus())) {
+            addStatusCount(delta, previousStatus, -1);
+            addStatusCount(delta, attendance.getStatus(), 1);
+        }
+        attendanceSummaryMapper.upsertDelta(delta);
+        markSalaryDirty(today, Collections.singleton(employeeId));
+        changeVersionTracker.bump(ChangeVersionTracker.ATTENDANCE, employeeId);
+
+        AfterCommit.run(() -> attendanceBoard.onAttendanceChanged(attendance));
     }
 
     @Override
-    public Map<String, Object> findByPage(PageRequest pageRequest) {
-        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
-        pageRequest.setPageNum(offset);
+    @Transactional
+    public void correctStatus(Long id, String status) {
+        if (!ATTENDANCE_STATUSES.contains(status)) {
+            throw new RuntimeException("考勤状态只支持 NORMAL、LATE、EARLY_LEAVE、ABSENCE");
+        }
+        Attendance attendance = attendanceMapper.findById(id);
+        if (attendance == null) {
+            throw new RuntimeException("考勤记录不存在");
+        }
+        String previousStatus = attendance.getStatus();
+        if (status.equals(previousStatus)) {
+            return;
+        }
+
+        Attendance update = new Attendance();
+        update.setId(id);
+        update.setStatus(status);
+        attendanceMapper.update(update);
+
+        // 同一事务内转移月度汇总计数，并标记薪资待重算
+        AttendanceSummary delta = newSummaryDelta(attendance.getEmployeeId(), attendance.getDate());
+        addStatusCount(delta, previousStatus, -1);
+        addStatusCount(delta, status, 1);
+        attendanceSummaryMapper.upsertDelta(delta);
+        markSalaryDirty(attendance.getDate(), Collections.singleton(attendance.getEmployeeId()));
+
+        if (attendance.getDate().equals(LocalDate.now())) {
+            changeVersionTracker.bump(ChangeVersionTracker.ATTENDANCE, attendance.getEmployeeId());
+            attendance.setStatus(status);
+            AfterCommit.run(() -> attendanceBoard.onAttendanceChanged(attendance));
+        }
+    }
 
+    @Override
+    public Map<String, Object> findByPage(PageRequest pageRequest) {
+        pageRequest.decodeCursor();
         List<Attendance> list = attendanceMapper.findByPage(pageRequest);
-        int total = attendanceMapper.countTotal(pageRequest);
 
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("total", total);
+        if (pageRequest.isCursorMode()) {
+            // 游标模式不统计总数，取满一页时返回下一页游标
+            String nextCursor = null;
+            if (!list.isEmpty() && list.size() == pageRequest.getPageSize()) {
+                Attendance last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(null, last.getDate(), last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        } else {
+            result.put("total", attendanceMapper.countTotal(pageRequest));
+        }
         return result;
     }
 
@@ -102,4 +364,207 @@ public class AttendanceServiceImpl implements AttendanceService {
     public Map<String, Object> getStatistics(Long employeeId, String month) {
         return attendanceMapper.getStatistics(employeeId, month);
     }
+
+    @Override
+    public Map<Long, Map<String, Map<String, Object>>> getStatisticsBatch(StatisticsBatchRequest request) {
+        boolean hasEmployees = request.getEmployeeIds() != null && !request.getEmployeeIds().isEmpty();
+        if (!hasEmployees && request.getDepartmentId() == null) {
+            throw new RuntimeException("请指定员工或部门");
+        }
+        if (hasEmployees && request.getEmployeeIds().size() > MAX_STATISTICS_EMPLOYEES) {
+            throw new RuntimeException("单次最多查询" + MAX_STATISTICS_EMPLOYEES + "名员工");
+        }
+        if (request.getStartMonth() == null || request.getStartMonth().isEmpty()) {
+            throw new RuntimeException("起始月份不能为空");
+        }
+
+        YearMonth startMonth = parseMonth(request.getStartMonth());
+        YearMonth endMonth = request.getEndMonth() != null && !request.getEndMonth().isEmpty()
+                ? parseMonth(request.getEndMonth()) : startMonth;
+        if (endMonth.isBefore(startMonth)) {
+            throw new RuntimeException("结束月份不能早于起始月份");
+        }
+        if (startMonth.plusMonths(MAX_STATISTICS_MONTHS).isBefore(endMonth.plusMonths(1))) {
+            throw new RuntimeException("月份跨度不能超过" + MAX_STATISTICS_MONTHS + "个月");
+        }
+
+        List<Map<String, Object>> rows = attendanceMapper.getStatisticsBatch(
+                hasEmployees ? new HashSet<>(request.getEmployeeIds()) : null,
+                request.getDepartmentId(), startMonth.toString(), endMonth.toString());
+
+        // 结果按员工、月份折叠为嵌套 Map，无考勤的员工和月份不返回
+        Map<Long, Map<String, Map<String, Object>>> result = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            Long employeeId = ((Number) row.remove("employeeId")).longValue();
+            String month = (String) row.remove("month");
+            result.computeIfAbsent(employeeId, k -> new LinkedHashMap<>()).put(month, row);
+        }
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getWorkTimeStatistics(WorkTimeQuery query) {
+        if (!"employee".equals(query.getGroupBy()) && !"department".equals(query.getGroupBy())) {
+            throw new RuntimeException("分组维度只支持 employee 或 department");
+        }
+        if (query.getStartMonth() == null || query.getStartMonth().isEmpty()) {
+            throw new RuntimeException("起始月份不能为空");
+        }
+
+        YearMonth startMonth = parseMonth(query.getStartMonth());
+        YearMonth endMonth = query.getEndMonth() != null && !query.getEndMonth().isEmpty()
+                ? parseMonth(query.getEndMonth()) : startMonth;
+        if (endMonth.isBefore(startMonth)) {
+            throw new RuntimeException("结束月份不能早于起始月份");
+        }
+        if (startMonth.plusMonths(MAX_STATISTICS_MONTHS).isBefore(endMonth.plusMonths(1))) {
+            throw new RuntimeException("月份跨度不能超过" + MAX_STATISTICS_MONTHS + "个月");
+        }
+
+        return attendanceMapper.getWorkTimeStatistics(query.getGroupBy(), startMonth.atDay(1),
+                endMonth.plusMonths(1).atDay(1), query.getDepartmentId(), query.getEmployeeId());
+    }
+
+    @Override
+    public Map<String, Object> backfillWorkMinutes() {
+        long beginTime = System.currentTimeMillis();
+
+        // 小批量更新，避免长事务锁住大量考勤行
+        int rows = 0;
+        int updated;
+        do {
+            updated = attendanceMapper.backfillWorkMinutes(BACKFILL_BATCH_SIZE);
+            rows += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("rows", rows);
+        result.put("elapsedMs", System.currentTimeMillis() - beginTime);
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> rebuildSummary(String month) {
+        long beginTime = System.currentTimeMillis();
+
+        YearMonth startMonth;
+        YearMonth endMonth;
+        if (month != null && !month.isEmpty()) {
+            startMonth = parseMonth(month);
+            endMonth = startMonth;
+        } else {
+            // 未指定月份时回填全部历史，按月分批提交
+            LocalDate minDate = attendanceMapper.findMinDate();
+            if (minDate == null) {
+                Map<String, Object> result = new HashMap<>();
+                result.put("months", 0);
+                result.put("rows", 0);
+                result.put("elapsedMs", System.currentTimeMillis() - beginTime);
+                return result;
+            }
+            startMonth = YearMonth.from(minDate);
+            endMonth = YearMonth.now();
+        }
+
+        int months = 0;
+        int rows = 0;
+        for (YearMonth current = startMonth; !current.isAfter(endMonth); current = current.plusMonths(1)) {
+            YearMonth target = current;
+            Integer affected = transactionTemplate.execute(status -> {
+                attendanceSummaryMapper.deleteByMonthRange(target.toString(), target.toString());
+                return attendanceSummaryMapper.rebuild(target.atDay(1), target.plusMonths(1).atDay(1), null, null);
+            });
+            months++;
+            rows += affected != null ? affected : 0;
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("months", months);
+        result.put("rows", rows);
+        result.put("elapsedMs", System.currentTimeMillis() - beginTime);
+        return result;
+    }
+
+    /**
+     * 签到时间超前服务器时钟超过允许误差，或落在明天及以后
+     */
+    /**
+     * 写入一段签到记录并回填每行结果。
+     * 正常情况下一条多行 INSERT 完成；与并发请求撞上 uk_employee_date 时整条语句回滚（InnoDB 只回滚出错的语句，
+     * 不影响外层事务），再逐行插入，撞键的行报告为重复。其他数据库错误不吞掉，直接抛出使整批回滚。
+     */
+    private void insertChunk(List<Attendance> chunk, List<Map<String, Object>> chunkResults, List<Attendance> written) {
+        try {
+            attendanceMapper.insertBatch(chunk);
+            for (int i = 0; i < chunk.size(); i++) {
+                markWritten(chunk.get(i), chunkResults.get(i), written);
+            }
+            return;
+        } catch (DuplicateKeyException e) {
+            logger.info("批量签到与并发写入冲突，改为逐行插入, rows={}", chunk.size());
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Attendance attendance = chunk.get(i);
+            try {
+                attendanceMapper.insertBatch(Collections.singletonList(attendance));
+                markWritten(attendance, chunkResults.get(i), written);
+            } catch (DuplicateKeyException e) {
+                chunkResults.get(i).put("status", "DUPLICATE");
+                chunkResults.get(i).put("message", "今天已经签到过了");
+            }
+        }
+    }
+
+    private static void markWritten(Attendance attendance, Map<String, Object> result, List<Attendance> written) {
+        written.add(attendance);
+        result.put("status", "SUCCESS");
+        result.put("message", "签到成功");
+        result.put("attendanceStatus", attendance.getStatus());
+    }
+
+    private static boolean isFuture(CheckinEvent event, LocalDateTime now, LocalDateTime latestAllowed) {
+        LocalDateTime checkinTime = event.getCheckinTime();
+        return checkinTime != null
+                && (checkinTime.isAfter(latestAllowed) || checkinTime.toLocalDate().isAfter(now.toLocalDate()));
+    }
+
+    /**
+     * 解析 yyyy-MM 格式月份
+     */
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("月份格式应为 yyyy-MM");
+        }
+    }
+
+    /**
+     * 构造计数全为 0 的汇总增量
+     */
+    private AttendanceSummary newSummaryDelta(Long employeeId, LocalDate date) {
+        return new AttendanceSummary(employeeId, YearMonth.from(date).toString(), 0, 0, 0, 0, 0, 0L, null);
+    }
+
+    /**
+     * 考勤变动后标记薪资待重算（只对该月已生成薪资的员工生效）
+     */
+    private void markSalaryDirty(LocalDate date, Collection<Long> employeeIds) {
+        salaryDirtyMapper.markDirty(YearMonth.from(date).toString(), employeeIds);
+    }
+
+    /**
+     * 按考勤状态累加对应计数
+     */
+    private void addStatusCount(AttendanceSummary delta, String status, int count) {
+        if ("LATE".equals(status)) {
+            delta.setLateCount(delta.getLateCount() + count);
+        } else if ("EARLY_LEAVE".equals(status)) {
+            delta.setEarlyCount(delta.getEarlyCount() + count);
+        } else if ("ABSENCE".equals(status)) {
+            delta.setAbsenceCount(delta.getAbsenceCount() + count);
+        } else if ("NORMAL".equals(status)) {
+            delta.setNormalCount(delta.getNormalCount() + count);
+        }
+    }
 }
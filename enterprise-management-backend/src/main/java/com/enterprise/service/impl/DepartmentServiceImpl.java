@@ -0,0 +1,211 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.DepartmentHierarchy;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Department;
+import com.enterprise.entity.Employee;
+import com.enterprise.service.DepartmentService;
+import com.enterprise.service.EmployeeService;
+import com.enterprise.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 部门 Service 实现类
+ * 部门名称会被员工缓存和考勤看板引用，变更提交后再失效；
+ * 上级部门变化时在同一事务内维护闭包表，提交后重建层级缓存（避免缓存读到未提交或已回滚的数据）
+ */
+@Service
+public class DepartmentServiceImpl implements DepartmentService {
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    /**
+     * 其他节点修改部门后失效本地引用部门名称的缓存
+     */
+    @PostConstruct
+    public void registerChangeListener() {
+        changeVersionTracker.addListener(ChangeVersionTracker.DEPARTMENT, ids -> {
+            for (Long id : ids) {
+                employeeService.evictByDepartment(id);
+            }
+            attendanceBoard.onDepartmentsChanged();
+        });
+    }
+
+    @Override
+    public List<Department> findAll() {
+        return departmentMapper.findAll();
+    }
+
+    @Override
+    public Department findById(Long id) {
+        return departmentMapper.findById(id);
+    }
+
+    @Override
+    @Transactional
+    public void create(Department department) {
+        validate(department, true);
+        department.setCreateTime(LocalDateTime.now());
+        department.setUpdateTime(LocalDateTime.now());
+        departmentMapper.insert(department);
+        departmentMapper.insertClosure(department.getId(), department.getParentId());
+        AfterCommit.run(() -> {
+            departmentHierarchy.rebuild();
+            attendanceBoard.onDepartmentsChanged();
+        });
+        changeVersionTracker.bump(ChangeVersionTracker.DEPARTMENT, department.getId());
+    }
+
+    @Override
+    @Transactional
+    public void update(Department department) {
+        Department existDepartment = departmentMapper.findById(department.getId());
+        if (existDepartment == null) {
+            throw new RuntimeException("部门不存在");
+        }
+        validate(department, false);
+        boolean moving = department.getParentId() != null && !Objects.equals(department.getParentId(), existDepartment.getParentId());
+        if (moving) {
+            lockForMove(department.getId(), department.getParentId());
+        }
+        department.setUpdateTime(LocalDateTime.now());
+        departmentMapper.update(department);
+        // 调整上级部门：整棵子树的祖先路径随之改变
+        if (moving) {
+            departmentMapper.detachSubtree(department.getId());
+            departmentMapper.attachSubtree(department.getId(), department.getParentId());
+        }
+        AfterCommit.run(() -> {
+            departmentHierarchy.rebuild();
+            employeeService.evictByDepartment(department.getId());
+            attendanceBoard.onDepartmentsChanged();
+        });
+        changeVersionTracker.bump(ChangeVersionTracker.DEPARTMENT, department.getId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        if (departmentMapper.findById(id) == null) {
+            throw new RuntimeException("部门不存在");
+        }
+        if (departmentMapper.countByParentId(id) > 0) {
+            throw new RuntimeException("请先删除或移走下级部门");
+        }
+        if (employeeMapper.countByDepartmentId(id) > 0) {
+            throw new RuntimeException("部门下还有员工，不能删除");
+        }
+        departmentMapper.deleteById(id);
+        departmentMapper.deleteClosure(id);
+        AfterCommit.run(() -> {
+            departmentHierarchy.rebuild();
+            attendanceBoard.onDepartmentsChanged();
+        });
+        changeVersionTracker.bump(ChangeVersionTracker.DEPARTMENT, id);
+    }
+
+    @Override
+    public List<Map<String, Object>> getTree() {
+        return departmentHierarchy.snapshot().tree();
+    }
+
+    @Override
+    public Map<String, Object> getSubtree(Long id) {
+        DepartmentHierarchy.Snapshot snapshot = requireDepartment(id);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("departmentId", id);
+        result.put("departmentIds", snapshot.subtreeIds(id));
+        result.put("directHeadcount", snapshot.directHeadcount(id));
+        result.put("headcount", snapshot.subtreeHeadcount(id));
+        return result;
+    }
+
+    @Override
+    public boolean contains(Long id, Long descendantId) {
+        return requireDepartment(id).contains(id, descendantId);
+    }
+
+    @Override
+    public List<Employee> findEmployees(Long id, boolean includeSubtree) {
+        requireDepartment(id);
+        return includeSubtree ? employeeMapper.findByDepartmentSubtree(id) : employeeMapper.findByDepartmentId(id);
+    }
+
+    private DepartmentHierarchy.Snapshot requireDepartment(Long id) {
+        DepartmentHierarchy.Snapshot snapshot = departmentHierarchy.snapshot();
+        if (!snapshot.exists(id)) {
+            throw new RuntimeException("部门不存在");
+        }
+        return snapshot;
+    }
+
+    /**
+     * 移动部门前在事务内锁定闭包表中的相关路径，并按最新数据复核环路。
+     * validate 用的内存快照可能落后于数据库：两个部门同时互相挂到对方下面时，两次校验都能通过。
+     * 锁定新上级的祖先路径和待移动的子树后，并发的移动在同一行（如部门自身路径）上排队，
+     * 后执行的一方读到先提交的结果，发现新上级已在自身子树内而拒绝。
+     */
+    private void lockForMove(Long id, Long parentId) {
+        List<Long> ancestorIds = departmentMapper.lockAncestorIds(parentId);
+        departmentMapper.lockSubtreeIds(id);
+        if (ancestorIds.isEmpty()) {
+            throw new RuntimeException("上级部门不存在");
+        }
+        if (ancestorIds.contains(id)) {
+            throw new RuntimeException("上级部门不能是自身或下级部门");
+        }
+    }
+
+    /**
+     * 校验名称与上级部门，上级部门不能是自身或自身的下级（按内存快照快速校验，移动时由 lockForMove 在事务内复核）
+     */
+    private void validate(Department department, boolean creating) {
+        String name = department.getName();
+        if (creating && (name == null || name.trim().isEmpty())) {
+            throw new RuntimeException("部门名称不能为空");
+        }
+        if (name != null && (name.trim().isEmpty() || name.length() > 50)) {
+            throw new RuntimeException("部门名称长度应为1到50个字符");
+        }
+        Long parentId = department.getParentId();
+        if (parentId == null) {
+            return;
+        }
+        DepartmentHierarchy.Snapshot snapshot = departmentHierarchy.snapshot();
+        if (!snapshot.exists(parentId)) {
+            throw new RuntimeException("上级部门不存在");
+        }
+        if (!creating && snapshot.contains(department.getId(), parentId)) {
+            throw new RuntimeException("上级部门不能是自身或下级部门");
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.DepartmentHierarchy;
+import com.enterprise.component.EmployeeSearchIndex;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Department;
+import com.enterprise.entity.Employee;
+import com.enterprise.service.EmployeeImportService;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 员工批量导入 Service 实现类
+ * 用 POI 事件模式（SAX）逐行解析工作表，整个工作簿不会载入内存；
+ * 部门名称一次查询映射为 ID，每行校验后攒批，每个事务写入若干条多行 INSERT。
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    // 每条 INSERT 语句写入的行数
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    // 每个事务写入的行数
+    private static final int TRANSACTION_CHUNK_SIZE = 5000;
+
+    // 错误明细最多返回的条数
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final BigDecimal DEFAULT_SALARY = new BigDecimal("5000.00");
+    private static final BigDecimal MAX_SALARY = new BigDecimal("99999999.99");
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^[0-9+\\-]{1,20}$");
+    private static final DateTimeFormatter SLASH_DATE = DateTimeFormatter.ofPattern("yyyy/M/d");
+
+    // 表头名称 -> 字段
+    private static final Map<String, String> HEADER_FIELDS = Map.of(
+            "姓名", "name", "性别", "gender", "年龄", "age", "部门", "department", "职位", "position",
+            "电话", "phone", "邮箱", "email", "入职日期", "hireDate", "基本工资", "salary");
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public Map<String, Object> importEmployees(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("请选择要导入的文件");
+        }
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || !fileName.toLowerCase().endsWith(".xlsx")) {
+            throw new RuntimeException("只支持 .xlsx 格式的文件");
+        }
+
+        long beginTime = System.currentTimeMillis();
+        Map<String, Long> departmentIds = new HashMap<>();
+        for (Department department : departmentMapper.findAll()) {
+            departmentIds.put(department.getName(), department.getId());
+        }
+        ImportContext context = new ImportContext(departmentIds);
+
+        Path tempFile = null;
+        try {
+            // 落盘后按文件打开，避免整个压缩包读入内存
+            tempFile = Files.createTempFile("employee-import-", ".xlsx");
+            file.transferTo(tempFile);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+                XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+                if (!sheets.hasNext()) {
+                    throw new RuntimeException("文件中没有工作表");
+                }
+                try (InputStream sheet = sheets.next()) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            reader.getStylesTable(), strings, new RowHandler(context), new IsoDateFormatter(), false));
+                    parser.parse(new InputSource(sheet));
+                }
+            }
+            context.flush();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("员工导入文件解析失败", e);
+            throw new RuntimeException("文件解析失败：" + e.getMessage());
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (Exception ignored) {
+                    // 临时目录由系统清理
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalRows", context.totalRows);
+        result.put("successCount", context.successCount);
+        result.put("failedCount", context.failedCount);
+        result.put("errors", context.errors);
+        result.put("errorsTruncated", context.failedCount > context.errors.size());
+        result.put("elapsedMs", System.currentTimeMillis() - beginTime);
+        logger.info("员工导入完成: totalRows={}, success={}, failed={}, elapsedMs={}",
+                context.totalRows, context.successCount, context.failedCount, result.get("elapsedMs"));
+        return result;
+    }
+
+    /**
+     * 导入过程状态：表头映射、待写入的行、统计与错误明细
+     */
+    private class ImportContext {
+
+        private final Map<String, Long> departmentIds;
+        private Map<Integer, String> columnFields;
+        private final List<Employee> pending = new ArrayList<>();
+        private final List<Integer> pendingRows = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private int totalRows;
+        private int successCount;
+        private int failedCount;
+
+        private ImportContext(Map<String, Long> departmentIds) {
+            this.departmentIds = departmentIds;
+        }
+
+        /**
+         * 处理表头行，确定每列对应的字段
+         */
+        private void readHeader(Map<Integer, String> cells) {
+            columnFields = new HashMap<>();
+            for (Map.Entry<Integer, String> cell : cells.entrySet()) {
+                String field = HEADER_FIELDS.get(cell.getValue().trim());
+                if (field != null) {
+                    columnFields.put(cell.getKey(), field);
+                }
+            }
+            if (!columnFields.containsValue("name")) {
+                throw new RuntimeException("表头缺少“姓名”列");
+            }
+        }
+
+        /**
+         * 处理数据行（rowNumber 为 Excel 中的行号，从 1 开始）
+         */
+        private void readRow(int rowNumber, Map<Integer, String> cells) {
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<Integer, String> cell : cells.entrySet()) {
+                String field = columnFields.get(cell.getKey());
+                String value = cell.getValue() != null ? cell.getValue().trim() : "";
+                if (field != null && !value.isEmpty()) {
+                    values.put(field, value);
+                }
+            }
+            if (values.isEmpty()) {
+                return;
+            }
+            totalRows++;
+
+            List<String> messages = new ArrayList<>();
+            Employee employee = toEmployee(values, messages);
+            if (!messages.isEmpty()) {
+                addError(rowNumber, values.get("name"), String.join("；", messages));
+                return;
+            }
+            pending.add(employee);
+            pendingRows.add(rowNumber);
+            if (pending.size() >= TRANSACTION_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * 校验并转换一行数据
+         */
+        private Employee toEmployee(Map<String, String> values, List<String> messages) {
+            Employee employee = new Employee();
+
+            String name = values.get("name");
+            if (name == null) {
+                messages.add("姓名不能为空");
+            } else if (name.length() > 50) {
+                messages.add("姓名不能超过50个字符");
+            }
+            employee.setName(name);
+
+            String gender = values.get("gender");
+            if (gender != null && !"男".equals(gender) && !"女".equals(gender)) {
+                messages.add("性别只能是男或女");
+            }
+            employee.setGender(gender);
+
+            String age = values.get("age");
+            if (age != null) {
+                try {
+                    int value = new BigDecimal(age).intValueExact();
+                    if (value < 16 || value > 100) {
+                        messages.add("年龄应在16到100之间");
+                    }
+                    employee.setAge(value);
+                } catch (ArithmeticException | NumberFormatException e) {
+                    messages.add("年龄格式错误");
+                }
+            }
+
+            String department = values.get("department");
+            if (department != null) {
+                Long departmentId = departmentIds.get(department);
+                if (departmentId == null) {
+                    messages.add("部门不存在：" + department);
+                }
+                employee.setDepartmentId(departmentId);
+            }
+
+            String position = values.get("position");
+            if (position != null && position.length() > 50) {
+                messages.add("职位不能超过50个字符");
+            }
+            employee.setPosition(position);
+
+            String phone = values.get("phone");
+            if (phone != null && !PHONE_PATTERN.matcher(phone).matches()) {
+                messages.add("电话格式错误");
+            }
+            employee.setPhone(phone);
+
+            String email = values.get("email");
+            if (email != null && (email.length() > 100 || !EMAIL_PATTERN.matcher(email).matches())) {
+                messages.add("邮箱格式错误");
+            }
+            employee.setEmail(email);
+
+            String hireDate = values.get("hireDate");
+            if (hireDate != null) {
+                try {
+                    employee.setHireDate(hireDate.contains("/") ? LocalDate.parse(hireDate, SLASH_DATE) : LocalDate.parse(hireDate));
+                } catch (DateTimeParseException e) {
+                    messages.add("入职日期格式应为 yyyy-MM-dd");
+                }
+            }
+
+            String salary = values.get("salary");
+            if (salary != null) {
+                try {
+                    BigDecimal value = new BigDecimal(salary.replace(",", ""));
+                    if (value.signum() < 0 || value.compareTo(MAX_SALARY) > 0) {
+                        messages.add("基本工资超出范围");
+                    }
+                    employee.setSalary(value);
+                } catch (NumberFormatException e) {
+                    messages.add("基本工资格式错误");
+                }
+            } else {
+                employee.setSalary(DEFAULT_SALARY);
+            }
+
+            LocalDateTime now = LocalDateTime.now().withNano(0);
+            employee.setStatus("ACTIVE");
+            employee.setCreateTime(now);
+            employee.setUpdateTime(now);
+            return employee;
+        }
+
+        /**
+         * 写入已攒下的行：一个事务内分若干条多行 INSERT，失败时整段回滚并逐行记错
+         */
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Employee> chunk = new ArrayList<>(pending);
+            List<Integer> chunkRows = new ArrayList<>(pendingRows);
+            pending.clear();
+            pendingRows.clear();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < chunk.size(); from += INSERT_BATCH_SIZE) {
+                        employeeMapper.insertBatch(chunk.subList(from, Math.min(from + INSERT_BATCH_SIZE, chunk.size())));
+                    }
+                    List<Long> ids = new ArrayList<>(chunk.size());
+                    for (Employee employee : chunk) {
+                        ids.add(employee.getId());
+                    }
+                    changeVersionTracker.bump(ChangeVersionTracker.EMPLOYEE, ids);
+                });
+                successCount += chunk.size();
+                attendanceBoard.addEmployees(chunk);
+                employeeSearchIndex.putAll(chunk);
+                departmentHierarchy.markHeadcountsStale();
+            } catch (Exception e) {
+                logger.error("员工导入写入失败, rows={}-{}", chunkRows.get(0), chunkRows.get(chunkRows.size() - 1), e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    addError(chunkRows.get(i), chunk.get(i).getName(), "写入失败，本段数据已回滚");
+                }
+            }
+        }
+
+        private void addError(int rowNumber, String name, String message) {
+            failedCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", rowNumber);
+                error.put("name", name);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+    }
+
+    /**
+     * SAX 行回调：收集一行的单元格，行结束时交给 ImportContext
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ImportContext context;
+        private final Map<Integer, String> cells = new HashMap<>();
+        private int nextColumn;
+
+        private RowHandler(ImportContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) {
+                context.readHeader(cells);
+            } else if (context.columnFields != null) {
+                context.readRow(rowNum + 1, cells);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 部分工具生成的文件没有单元格引用，按顺序推算列号
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            cells.put(column, formattedValue);
+            nextColumn = column + 1;
+        }
+    }
+
+    /**
+     * 日期格式的单元格统一输出为 yyyy-MM-dd，其余沿用 Excel 显示格式
+     */
+    private static class IsoDateFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return super.formatRawCellContents(value, formatIndex, formatString);
+        }
+    }
+}
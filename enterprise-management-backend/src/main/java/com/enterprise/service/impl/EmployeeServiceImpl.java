@@ -1,16 +1,31 @@
 package com.enterprise.service.impl;
 
+import com.enterprise.component.ApprovalInbox;
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.DepartmentHierarchy;
+import com.enterprise.component.EmployeeSearchIndex;
+import com.enterprise.component.TeamAvailability;
 import com.enterprise.dao.EmployeeMapper;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Employee;
 import com.enterprise.service.EmployeeService;
+import com.enterprise.util.AfterCommit;
+import com.enterprise.util.CursorCodec;
+import com.enterprise.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 员工 Service 实现类（依赖注入）
@@ -18,54 +33,210 @@ import java.util.Map;
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // 输入提示最多返回条数
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Autowired
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Autowired
+    private ApprovalInbox approvalInbox;
+
+    @Autowired
+    private TeamAvailability teamAvailability;
+
+    // 按 ID 读取员工的缓存（含部门名称），签到、请假、薪资、AI 分析共用
+    private final LruCache<Long, Employee> employeeCache;
+
+    public EmployeeServiceImpl(@Value("${employee.cache.max-size:10000}") int maxSize,
+                               @Value("${employee.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.employeeCache = new LruCache<>(maxSize, ttlSeconds);
+    }
+
+    /**
+     * 其他节点修改员工后失效本地缓存、搜索索引与看板
+     */
+    @PostConstruct
+    public void registerChangeListener() {
+        changeVersionTracker.addListener(ChangeVersionTracker.EMPLOYEE, ids -> {
+            for (Long id : ids) {
+                employeeCache.remove(id);
+                employeeSearchIndex.refresh(id);
+                attendanceBoard.refreshEmployee(id);
+            }
+        });
+    }
+
     @Override
     public Employee findById(Long id) {
-        return employeeMapper.findById(id);
+        if (id == null) {
+            return null;
+        }
+        Employee cached = employeeCache.get(id);
+        if (cached == null) {
+            // 先取版本戳再查库：查库期间该员工被修改并失效缓存时，读到的可能是旧数据，不写回缓存
+            long stamp = employeeCache.stamp(id);
+            cached = employeeMapper.findById(id);
+            if (cached == null) {
+                return null;
+            }
+            employeeCache.putIfUnchanged(id, cached, stamp);
+        }
+        // 返回副本，调用方修改不会污染缓存
+        Employee copy = new Employee();
+        BeanUtils.copyProperties(cached, copy);
+        return copy;
     }
 
     @Override
     public Map<String, Object> findByPage(PageRequest pageRequest) {
-        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
-        pageRequest.setPageNum(offset);
-
+        pageRequest.decodeCursor();
+        String keyword = pageRequest.getKeyword();
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            return findByKeyword(keyword, pageRequest);
+        }
         List<Employee> list = employeeMapper.findByPage(pageRequest);
-        int total = employeeMapper.countTotal(pageRequest);
 
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("total", total);
+        if (pageRequest.isCursorMode()) {
+            // 游标模式不统计总数，取满一页时返回下一页游标
+            String nextCursor = null;
+            if (!list.isEmpty() && list.size() == pageRequest.getPageSize()) {
+                Employee last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(null, null, last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        } else {
+            result.put("total", employeeMapper.countTotal(pageRequest));
+        }
+        return result;
+    }
+
+    /**
+     * 关键字分页（页码、游标两种模式）走内存搜索索引，只按命中的一页 ID 回表
+     */
+    private Map<String, Object> findByKeyword(String keyword, PageRequest pageRequest) {
+        Map<String, Object> result = new HashMap<>();
+        List<Long> ids;
+        if (pageRequest.isCursorMode()) {
+            ids = employeeSearchIndex.searchAfter(keyword, pageRequest.getCursorTime(), pageRequest.getCursorId(), pageRequest.getPageSize());
+        } else {
+            EmployeeSearchIndex.Page page = employeeSearchIndex.search(keyword, pageRequest.getOffset(), pageRequest.getPageSize());
+            ids = page.getIds();
+            result.put("total", page.getTotal());
+        }
+
+        List<Employee> list = new ArrayList<>();
+        if (!ids.isEmpty()) {
+            Map<Long, Employee> byId = new HashMap<>();
+            for (Employee employee : employeeMapper.findByIds(ids)) {
+                byId.put(employee.getId(), employee);
+            }
+            for (Long id : ids) {
+                Employee employee = byId.get(id);
+                if (employee != null) {
+                    list.add(employee);
+                }
+            }
+        }
+        result.put("list", list);
+        if (pageRequest.isCursorMode()) {
+            // 按索引取满一页即有下一页（回表时刚被删除的员工不影响翻页）
+            String nextCursor = null;
+            if (ids.size() == pageRequest.getPageSize() && !list.isEmpty()) {
+                Employee last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(null, null, last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        }
         return result;
     }
 
+    @Override
+    public List<Map<String, Object>> suggest(String keyword, int limit) {
+        return employeeSearchIndex.suggest(keyword, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
     @Override
     public List<Employee> findAll() {
         return employeeMapper.findAll();
     }
 
     @Override
+    @Transactional
     public void create(Employee employee) {
-        employee.setCreateTime(LocalDateTime.now());
-        employee.setUpdateTime(LocalDateTime.now());
+        // 与 DATETIME 列的精度一致，搜索索引中的排序键与数据库相同
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        employee.setCreateTime(now);
+        employee.setUpdateTime(now);
         employee.setStatus("ACTIVE");
         employeeMapper.insert(employee);
+        changeVersionTracker.bump(ChangeVersionTracker.EMPLOYEE, employee.getId());
+        // 提交后再更新本节点的看板、索引与部门人数，回滚时不会留下不存在的员工
+        AfterCommit.run(() -> {
+            attendanceBoard.refreshEmployee(employee.getId());
+            employeeSearchIndex.put(employee);
+            departmentHierarchy.markHeadcountsStale();
+        });
     }
 
     @Override
+    @Transactional
     public void update(Employee employee) {
         employee.setUpdateTime(LocalDateTime.now());
         employeeMapper.update(employee);
+        changeVersionTracker.bump(ChangeVersionTracker.EMPLOYEE, employee.getId());
+        // 提交后再失效缓存，避免并发读取在提交前把旧数据重新放回缓存
+        AfterCommit.run(() -> {
+            employeeCache.remove(employee.getId());
+            attendanceBoard.refreshEmployee(employee.getId());
+            employeeSearchIndex.refresh(employee.getId());
+            departmentHierarchy.markHeadcountsStale();
+            approvalInbox.onEmployeesChanged(Set.of(employee.getId()));
+            teamAvailability.onEmployeesChanged(Set.of(employee.getId()));
+        });
     }
 
     @Override
+    @Transactional
     public void deleteById(Long id) {
         employeeMapper.deleteById(id);
+        changeVersionTracker.bump(ChangeVersionTracker.EMPLOYEE, id);
+        AfterCommit.run(() -> {
+            employeeCache.remove(id);
+            attendanceBoard.removeEmployee(id);
+            employeeSearchIndex.remove(id);
+            departmentHierarchy.markHeadcountsStale();
+            approvalInbox.onEmployeesChanged(Set.of(id));
+            teamAvailability.onEmployeesChanged(Set.of(id));
+        });
     }
 
     @Override
     public List<Employee> findByDepartmentId(Long departmentId) {
         return employeeMapper.findByDepartmentId(departmentId);
     }
+
+    @Override
+    public void evictByDepartment(Long departmentId) {
+        employeeCache.removeIf(employee -> departmentId.equals(employee.getDepartmentId()));
+    }
+
+    @Override
+    public Map<String, Object> getCacheStats() {
+        return employeeCache.stats();
+    }
 }
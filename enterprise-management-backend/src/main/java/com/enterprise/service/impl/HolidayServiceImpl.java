@@ -0,0 +1,72 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.WorkCalendar;
+import com.enterprise.dao.HolidayMapper;
+import com.enterprise.entity.Holiday;
+import com.enterprise.service.HolidayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 节假日 Service 实现类
+ * 每次变更后重建本节点的工作日历，并通知其他节点重建
+ */
+@Service
+public class HolidayServiceImpl implements HolidayService {
+
+    @Autowired
+    private HolidayMapper holidayMapper;
+
+    @Autowired
+    private WorkCalendar workCalendar;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Override
+    public List<Holiday> findByYear(int year) {
+        return holidayMapper.findByDateRange(LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1));
+    }
+
+    @Override
+    public void save(Holiday holiday) {
+        if (holiday.getHolidayDate() == null) {
+            throw new RuntimeException("日期不能为空");
+        }
+        if (!WorkCalendar.TYPE_HOLIDAY.equals(holiday.getDayType()) && !WorkCalendar.TYPE_WORKDAY.equals(holiday.getDayType())) {
+            throw new RuntimeException("类型只能是 HOLIDAY 或 WORKDAY");
+        }
+        holiday.setCreateTime(LocalDateTime.now());
+        holidayMapper.upsert(holiday);
+        workCalendar.reload();
+        changeVersionTracker.bump(ChangeVersionTracker.HOLIDAY, holiday.getHolidayDate().toEpochDay());
+    }
+
+    @Override
+    public void delete(LocalDate date) {
+        if (holidayMapper.deleteByDate(date) == 0) {
+            throw new RuntimeException("该日期没有节假日设置");
+        }
+        workCalendar.reload();
+        changeVersionTracker.bump(ChangeVersionTracker.HOLIDAY, date.toEpochDay());
+    }
+
+    @Override
+    public Map<String, Object> previewLeaveDays(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new RuntimeException("结束时间必须晚于开始时间");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startTime", startTime);
+        result.put("endTime", endTime);
+        result.put("days", workCalendar.leaveDays(startTime, endTime));
+        return result;
+    }
+}
@@ -1,17 +1,26 @@
 package com.enterprise.service.impl;
 
-import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.component.ApprovalInbox;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.TeamAvailability;
+import com.enterprise.component.WorkCalendar;
 import com.enterprise.dao.LeaveApplicationMapper;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Employee;
 import com.enterprise.entity.LeaveApplication;
+import com.enterprise.service.EmployeeService;
+import com.enterprise.service.LeaveBalanceService;
 import com.enterprise.service.LeaveApplicationService;
+import com.enterprise.util.CursorCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -21,58 +30,207 @@ import java.util.Map;
 @Service
 public class LeaveApplicationServiceImpl implements LeaveApplicationService {
 
+    private static final int MAX_BATCH_SIZE = 500;  // 单次批量审批的最大条数
+
     @Autowired
     private LeaveApplicationMapper leaveApplicationMapper;
 
     @Autowired
-    private EmployeeMapper employeeMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private WorkCalendar workCalendar;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    @Autowired
+    private ApprovalInbox approvalInbox;
+
+    @Autowired
+    private TeamAvailability teamAvailability;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
 
     @Override
     public void apply(LeaveApplication leaveApplication) {
-        Employee employee = employeeMapper.findById(leaveApplication.getEmployeeId());
+        Employee employee = employeeService.findById(leaveApplication.getEmployeeId());
         if (employee == null) {
             throw new RuntimeException("员工不存在");
         }
 
-        // 计算请假天数
-        long days = ChronoUnit.DAYS.between(leaveApplication.getStartTime(), leaveApplication.getEndTime());
-        leaveApplication.setDays((double) days);
+        if (leaveApplication.getStartTime() == null || leaveApplication.getEndTime() == null
+                || !leaveApplication.getEndTime().isAfter(leaveApplication.getStartTime())) {
+            throw new RuntimeException("结束时间必须晚于开始时间");
+        }
+
+        // 按工作日历计算请假天数（跳过周末和节假日，精确到半天）
+        double days = workCalendar.leaveDays(leaveApplication.getStartTime(), leaveApplication.getEndTime());
+        if (days <= 0) {
+            throw new RuntimeException("请假时间段内没有工作日");
+        }
+        leaveApplication.setDays(days);
+        leaveBalanceService.checkAvailable(leaveApplication.getEmployeeId(), leaveApplication.getLeaveType(), days);
 
         leaveApplication.setStatus("PENDING");
         leaveApplication.setCreateTime(LocalDateTime.now());
 
         leaveApplicationMapper.insert(leaveApplication);
+        changeVersionTracker.bump(ChangeVersionTracker.LEAVE_APPLICATION, leaveApplication.getId());
+
+        leaveApplication.setDepartmentId(employee.getDepartmentId());
+        leaveApplication.setEmployeeActive("ACTIVE".equals(employee.getStatus()));
+        approvalInbox.add(leaveApplication);
+        teamAvailability.put(leaveApplication);
     }
 
     @Override
     public void approve(Long id, String status, String approver, String comment) {
-        LeaveApplication leaveApplication = leaveApplicationMapper.findById(id);
-        if (leaveApplication == null) {
-            throw new RuntimeException("请假申请不存在");
-        }
-        if (!"PENDING".equals(leaveApplication.getStatus())) {
+        checkApprovalStatus(status);
+        // 条件更新一次完成校验与写入，只有更新失败时才回查区分原因；通过时在同一事务内扣减余额
+        Integer updated = transactionTemplate.execute(tx -> {
+            int rows = leaveApplicationMapper.approveIfPending(
+                    List.of(id), status, approver, comment, LocalDateTime.now());
+            if (rows > 0) {
+                if ("APPROVED".equals(status)) {
+                    leaveBalanceService.consume(List.of(id));
+                }
+                changeVersionTracker.bump(ChangeVersionTracker.LEAVE_APPLICATION, id);
+            }
+            return rows;
+        });
+        if (updated == null || updated == 0) {
+            if (leaveApplicationMapper.findById(id) == null) {
+                throw new RuntimeException("请假申请不存在");
+            }
             throw new RuntimeException("该申请已审批");
         }
+        approvalInbox.remove(List.of(id), status);
+        teamAvailability.updateStatus(List.of(id), status);
+    }
 
-        leaveApplication.setStatus(status);
-        leaveApplication.setApprover(approver);
-        leaveApplication.setApprovalComment(comment);
-        leaveApplication.setApprovalTime(LocalDateTime.now());
+    @Override
+    public Map<String, Object> approveBatch(List<Long> ids, String status, String approver, String comment) {
+        checkApprovalStatus(status);
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("请选择要审批的申请");
+        }
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new RuntimeException("单次最多审批" + MAX_BATCH_SIZE + "条申请");
+        }
+        LocalDateTime approvalTime = LocalDateTime.now();
+
+        // 快速路径：一条条件 UPDATE，全部命中即说明没有竞争
+        Boolean allUpdated = transactionTemplate.execute(tx -> {
+            int updated = leaveApplicationMapper.approveIfPending(distinctIds, status, approver, comment, approvalTime);
+            if (updated == distinctIds.size()) {
+                if ("APPROVED".equals(status)) {
+                    leaveBalanceService.consume(distinctIds);
+                }
+                changeVersionTracker.bump(ChangeVersionTracker.LEAVE_APPLICATION, distinctIds);
+                return true;
+            }
+            tx.setRollbackOnly();
+            return false;
+        });
+
+        List<Long> updatedIds = new ArrayList<>();
+        List<Long> handledIds = new ArrayList<>();
+        List<Long> notFoundIds = new ArrayList<>();
+        if (Boolean.TRUE.equals(allUpdated)) {
+            updatedIds.addAll(distinctIds);
+        } else {
+            // 部分申请已被处理或不存在：加锁读取当前状态后只更新仍待审批的部分
+            transactionTemplate.executeWithoutResult(tx -> {
+                Map<Long, String> current = new HashMap<>();
+                for (LeaveApplication row : leaveApplicationMapper.lockStatusByIds(distinctIds)) {
+                    current.put(row.getId(), row.getStatus());
+                }
+                for (Long id : distinctIds) {
+                    String currentStatus = current.get(id);
+                    if (currentStatus == null) {
+                        notFoundIds.add(id);
+                    } else if ("PENDING".equals(currentStatus)) {
+                        updatedIds.add(id);
+                    } else {
+                        handledIds.add(id);
+                    }
+                }
+                if (!updatedIds.isEmpty()) {
+                    leaveApplicationMapper.approveIfPending(updatedIds, status, approver, comment, approvalTime);
+                    if ("APPROVED".equals(status)) {
+                        leaveBalanceService.consume(updatedIds);
+                    }
+                    changeVersionTracker.bump(ChangeVersionTracker.LEAVE_APPLICATION, updatedIds);
+                }
+            });
+        }
+
+        approvalInbox.remove(updatedIds, status);
+        teamAvailability.updateStatus(updatedIds, status);
 
-        leaveApplicationMapper.update(leaveApplication);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("updated", updatedIds);
+        result.put("alreadyHandled", handledIds);
+        result.put("notFound", notFoundIds);
+        return result;
     }
 
     @Override
-    public Map<String, Object> findByPage(PageRequest pageRequest) {
-        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
-        pageRequest.setPageNum(offset);
+    public void cancel(Long id) {
+        // 已通过的申请撤销时返还余额，待审批的直接撤销
+        Boolean cancelled = transactionTemplate.execute(tx -> {
+            boolean changed;
+            if (leaveApplicationMapper.updateStatusIfCurrent(id, "APPROVED", "CANCELLED") > 0) {
+                leaveBalanceService.reverse(id);
+                changed = true;
+            } else {
+                changed = leaveApplicationMapper.updateStatusIfCurrent(id, "PENDING", "CANCELLED") > 0;
+            }
+            if (changed) {
+                changeVersionTracker.bump(ChangeVersionTracker.LEAVE_APPLICATION, id);
+            }
+            return changed;
+        });
+        if (!Boolean.TRUE.equals(cancelled)) {
+            if (leaveApplicationMapper.findById(id) == null) {
+                throw new RuntimeException("请假申请不存在");
+            }
+            throw new RuntimeException("该申请已被拒绝或已撤销");
+        }
+        approvalInbox.remove(List.of(id), "CANCELLED");
+        teamAvailability.remove(List.of(id));
+    }
+
+    private void checkApprovalStatus(String status) {
+        if (!"APPROVED".equals(status) && !"REJECTED".equals(status)) {
+            throw new RuntimeException("审批结果只能是 APPROVED 或 REJECTED");
+        }
+    }
 
+    @Override
+    public Map<String, Object> findByPage(PageRequest pageRequest) {
+        pageRequest.decodeCursor();
         List<LeaveApplication> list = leaveApplicationMapper.findByPage(pageRequest);
-        int total = leaveApplicationMapper.countTotal(pageRequest);
 
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("total", total);
+        if (pageRequest.isCursorMode()) {
+            // 游标模式不统计总数，取满一页时返回下一页游标
+            String nextCursor = null;
+            if (!list.isEmpty() && list.size() == pageRequest.getPageSize()) {
+                LeaveApplication last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(null, null, last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        } else {
+            result.put("total", leaveApplicationMapper.countTotal(pageRequest));
+        }
         return result;
     }
 
@@ -0,0 +1,189 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.LeaveBalanceMapper;
+import com.enterprise.entity.LeaveBalance;
+import com.enterprise.entity.LeaveLedger;
+import com.enterprise.service.LeaveBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 假期余额 Service 实现类
+ * 台账只追加：发放、审批扣减、撤销返还各记一条；余额表按“员工 + 假期类型”存当前余额，
+ * 与台账在同一事务中更新，提交申请时只按主键读一行余额。
+ * 每次变动先写余额、再写台账，两条语句用同一个“台账中尚无该去重键”的条件筛选，已记过的变动两条都跳过；
+ * 同一申请的扣减与返还由调用方的状态条件更新串行化（申请行锁持有到事务提交）；
+ * 同一员工的多笔扣减由余额行锁串行化，锁定后复核余额，不会扣成负数。
+ */
+@Service
+public class LeaveBalanceServiceImpl implements LeaveBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveBalanceServiceImpl.class);
+
+    // 需要记余额的假期类型（事假不限额度）
+    private static final List<String> TRACKED_TYPES = List.of("ANNUAL", "SICK");
+
+    // 台账查询的最大条数
+    private static final int LEDGER_LIMIT = 200;
+
+    // 年度发放每个事务处理的员工 ID 区间
+    private static final long ACCRUAL_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private LeaveBalanceMapper leaveBalanceMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${leave.accrual.annual-days:5}")
+    private double annualDays;
+
+    @Value("${leave.accrual.sick-days:10}")
+    private double sickDays;
+
+    private final AtomicBoolean accruing = new AtomicBoolean(false);
+
+    /**
+     * 每年 1 月 1 日为全部在职员工发放当年假期
+     */
+    @Scheduled(cron = "${leave.accrual.cron:0 0 1 1 1 ?}")
+    public void accrueCurrentYear() {
+        try {
+            accrue(LocalDate.now().getYear());
+        } catch (Exception e) {
+            logger.error("年度假期发放失败", e);
+        }
+    }
+
+    @Override
+    public boolean isTracked(String leaveType) {
+        return TRACKED_TYPES.contains(leaveType);
+    }
+
+    @Override
+    public Map<String, Object> getBalances(Long employeeId) {
+        Map<String, Double> balances = new LinkedHashMap<>();
+        for (String type : TRACKED_TYPES) {
+            balances.put(type, 0.0);
+        }
+        for (LeaveBalance balance : leaveBalanceMapper.findByEmployeeId(employeeId)) {
+            balances.put(balance.getLeaveType(), balance.getBalance());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("balances", balances);
+        return result;
+    }
+
+    @Override
+    public List<LeaveLedger> findLedger(Long employeeId) {
+        return leaveBalanceMapper.findLedgerByEmployeeId(employeeId, LEDGER_LIMIT);
+    }
+
+    @Override
+    public void checkAvailable(Long employeeId, String leaveType, double days) {
+        if (!isTracked(leaveType)) {
+            return;
+        }
+        LeaveBalance balance = leaveBalanceMapper.findByKey(employeeId, leaveType);
+        double available = balance != null ? balance.getBalance() : 0;
+        if (available < days) {
+            throw new RuntimeException("假期余额不足，剩余" + available + "天");
+        }
+    }
+
+    @Override
+    public void consume(Collection<Long> leaveIds) {
+        if (leaveIds.isEmpty()) {
+            return;
+        }
+        // 申请时的余额校验不加锁，期间可能有其他申请先通过：锁定余额行后按本批待扣减天数复核，不足则整个审批事务回滚
+        Map<String, Double> balances = new HashMap<>();
+        for (LeaveBalance balance : leaveBalanceMapper.lockBalancesForLeaves(leaveIds, TRACKED_TYPES)) {
+            balances.put(balance.getEmployeeId() + ":" + balance.getLeaveType(), balance.getBalance());
+        }
+        for (Map<String, Object> demand : leaveBalanceMapper.sumConsumeDays(leaveIds, TRACKED_TYPES)) {
+            double days = ((Number) demand.get("days")).doubleValue();
+            double available = balances.getOrDefault(demand.get("employeeId") + ":" + demand.get("leaveType"), 0.0);
+            if (available < days) {
+                throw new RuntimeException("假期余额不足，员工" + demand.get("employeeId") + "剩余" + available + "天，需扣减" + days + "天");
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        leaveBalanceMapper.addConsumeBalance(leaveIds, TRACKED_TYPES, now);
+        leaveBalanceMapper.insertConsumeLedger(leaveIds, TRACKED_TYPES, "请假审批通过", now);
+    }
+
+    /**
+     * 返还的是台账中实际扣减的天数（扣减台账取反），与申请单上的天数及当前是否记余额无关；
+     * 没有扣减记录（如升级前通过的申请）或已经返还过时不做任何变动
+     */
+    @Override
+    public void reverse(Long leaveId) {
+        LocalDateTime now = LocalDateTime.now();
+        leaveBalanceMapper.addReversalBalance(leaveId, now);
+        leaveBalanceMapper.insertReversalLedger(leaveId, "请假撤销返还", now);
+    }
+
+    @Override
+    public Map<String, Object> accrue(int year) {
+        if (!accruing.compareAndSet(false, true)) {
+            throw new RuntimeException("假期发放任务正在运行");
+        }
+        try {
+            long beginTime = System.currentTimeMillis();
+            String refKey = "ACCRUAL:" + year;
+            String remark = year + "年度假期发放";
+            Map<String, Double> amounts = new LinkedHashMap<>();
+            amounts.put("ANNUAL", annualDays);
+            amounts.put("SICK", sickDays);
+
+            Long maxId = employeeMapper.findMaxId();
+            int accrued = 0;
+            for (long fromId = 0; maxId != null && fromId < maxId; fromId += ACCRUAL_CHUNK_SIZE) {
+                long from = fromId;
+                long to = fromId + ACCRUAL_CHUNK_SIZE;
+                Integer rows = transactionTemplate.execute(status -> {
+                    int chunkRows = 0;
+                    LocalDateTime now = LocalDateTime.now();
+                    for (Map.Entry<String, Double> amount : amounts.entrySet()) {
+                        // 余额先于台账写入：两条语句用同一个“台账中尚无本年发放”的条件筛选员工
+                        leaveBalanceMapper.addAccrualBalance(amount.getKey(), amount.getValue(), refKey, from, to, now);
+                        chunkRows += leaveBalanceMapper.insertAccrualLedger(amount.getKey(), amount.getValue(), refKey, from, to, remark, now);
+                    }
+                    return chunkRows;
+                });
+                accrued += rows != null ? rows : 0;
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("year", year);
+            report.put("amounts", amounts);
+            report.put("ledgerRows", accrued);
+            report.put("elapsedMs", System.currentTimeMillis() - beginTime);
+            logger.info("年度假期发放完成: {}", report);
+            return report;
+        } finally {
+            accruing.set(false);
+        }
+    }
+}
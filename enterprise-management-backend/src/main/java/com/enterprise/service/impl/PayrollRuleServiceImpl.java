@@ -0,0 +1,125 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.PayrollRuleEngine;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.PayrollRuleMapper;
+import com.enterprise.entity.PayrollRule;
+import com.enterprise.service.PayrollRuleService;
+import com.enterprise.util.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资规则 Service 实现类
+ * 每次规则变更后重新编译执行计划
+ */
+@Service
+public class PayrollRuleServiceImpl implements PayrollRuleService {
+
+    @Autowired
+    private PayrollRuleMapper payrollRuleMapper;
+
+    @Autowired
+    private DepartmentMapper departmentMapper;
+
+    @Autowired
+    private PayrollRuleEngine payrollRuleEngine;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Override
+    public List<PayrollRule> findAll() {
+        return payrollRuleMapper.findAll();
+    }
+
+    @Override
+    public void create(PayrollRule rule) {
+        rule.setDepartmentId(rule.getDepartmentId() != null ? rule.getDepartmentId() : PayrollRuleEngine.ALL_DEPARTMENTS);
+        rule.setPosition(rule.getPosition() != null ? rule.getPosition().trim() : PayrollRuleEngine.ALL_POSITIONS);
+        if (!PayrollRuleEngine.ALL_DEPARTMENTS.equals(rule.getDepartmentId())
+                && departmentMapper.findById(rule.getDepartmentId()) == null) {
+            throw new RuntimeException("部门不存在");
+        }
+        if (payrollRuleMapper.findByScope(rule.getDepartmentId(), rule.getPosition()) != null) {
+            throw new RuntimeException("该部门、职位的规则已存在");
+        }
+        validateAmounts(rule, isGlobal(rule));
+
+        rule.setCreateTime(LocalDateTime.now());
+        rule.setUpdateTime(LocalDateTime.now());
+        payrollRuleMapper.insert(rule);
+        payrollRuleEngine.reload();
+        changeVersionTracker.bump(ChangeVersionTracker.PAYROLL_RULE, rule.getId());
+    }
+
+    @Override
+    public void update(PayrollRule rule) {
+        PayrollRule existRule = payrollRuleMapper.findById(rule.getId());
+        if (existRule == null) {
+            throw new RuntimeException("规则不存在");
+        }
+        // 生效范围不可修改，只更新金额和备注
+        validateAmounts(rule, isGlobal(existRule));
+
+        rule.setUpdateTime(LocalDateTime.now());
+        payrollRuleMapper.update(rule);
+        payrollRuleEngine.reload();
+        changeVersionTracker.bump(ChangeVersionTracker.PAYROLL_RULE, rule.getId());
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        PayrollRule existRule = payrollRuleMapper.findById(id);
+        if (existRule == null) {
+            throw new RuntimeException("规则不存在");
+        }
+        if (isGlobal(existRule)) {
+            throw new RuntimeException("全局默认规则不能删除");
+        }
+        payrollRuleMapper.deleteById(id);
+        payrollRuleEngine.reload();
+        changeVersionTracker.bump(ChangeVersionTracker.PAYROLL_RULE, id);
+    }
+
+    @Override
+    public Map<String, Object> getEffective(Long departmentId, String position) {
+        PayrollRuleEngine.RuleSet rules = payrollRuleEngine.currentPlan().resolve(departmentId, position);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("departmentId", departmentId);
+        result.put("position", position);
+        result.put("performanceSalary", Money.toDecimal(rules.getPerformanceFen()));
+        result.put("bonus", Money.toDecimal(rules.getBonusFen()));
+        result.put("lateDeduction", Money.toDecimal(rules.getLateFen()));
+        result.put("absenceDeduction", Money.toDecimal(rules.getAbsenceFen()));
+        return result;
+    }
+
+    private boolean isGlobal(PayrollRule rule) {
+        return PayrollRuleEngine.ALL_DEPARTMENTS.equals(rule.getDepartmentId())
+                && PayrollRuleEngine.ALL_POSITIONS.equals(rule.getPosition());
+    }
+
+    /**
+     * 金额不能为负；全局默认规则的金额必须完整
+     */
+    private void validateAmounts(PayrollRule rule, boolean global) {
+        BigDecimal[] amounts = {rule.getPerformanceSalary(), rule.getBonus(), rule.getLateDeduction(), rule.getAbsenceDeduction()};
+        for (BigDecimal amount : amounts) {
+            if (amount == null) {
+                if (global) {
+                    throw new RuntimeException("全局默认规则的金额不能为空");
+                }
+            } else if (amount.signum() < 0) {
+                throw new RuntimeException("金额不能为负数");
+            }
+        }
+    }
+}
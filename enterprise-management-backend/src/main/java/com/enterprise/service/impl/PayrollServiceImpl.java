@@ -0,0 +1,268 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.PayrollRuleEngine;
+import com.enterprise.component.SalaryCalculator;
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryMapper;
+import com.enterprise.dto.PayrollRun;
+import com.enterprise.entity.Employee;
+import com.enterprise.entity.Salary;
+import com.enterprise.service.PayrollService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 整月薪资批量计算 Service 实现类
+ * 一次性预取在职员工和当月考勤汇总，按分片并行计算，每个分片一条多行 INSERT IGNORE 写入，
+ * 已生成的薪资记录被数据库唯一键跳过，任务中断后重新发起即可补齐。
+ * 任务进度由执行线程在 RunState 的锁内更新，查询时在同一把锁内复制为 PayrollRun 快照返回。
+ */
+@Service
+public class PayrollServiceImpl implements PayrollService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollServiceImpl.class);
+
+    // 每个分片的员工数（同时也是单条 INSERT 的行数）
+    private static final int CHUNK_SIZE = 500;
+
+    // 内存中保留的最近任务数
+    private static final int MAX_KEPT_RUNS = 50;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    @Autowired
+    private SalaryMapper salaryMapper;
+
+    @Autowired
+    private SalaryCalculator salaryCalculator;
+
+    @Autowired
+    private PayrollRuleEngine payrollRuleEngine;
+
+    // 任务调度线程，同一时间只执行一个批量计算任务
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor();
+
+    // 分片计算与写入线程
+    private final ExecutorService chunkExecutor;
+
+    private final Map<String, RunState> runs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RunState> eldest) {
+            return size() > MAX_KEPT_RUNS;
+        }
+    };
+
+    public PayrollServiceImpl(@Value("${payroll.run.threads:0}") int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.chunkExecutor = Executors.newFixedThreadPool(poolSize);
+    }
+
+    @Override
+    public PayrollRun startRun(String month, Long departmentId) {
+        try {
+            YearMonth.parse(month);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new RuntimeException("月份格式应为 yyyy-MM");
+        }
+
+        RunState run;
+        synchronized (runs) {
+            for (RunState existing : runs.values()) {
+                if (existing.isRunning() && existing.month.equals(month)
+                        && Objects.equals(existing.departmentId, departmentId)) {
+                    throw new RuntimeException("该月薪资正在计算中");
+                }
+            }
+            run = new RunState(UUID.randomUUID().toString().replace("-", ""), month, departmentId);
+            runs.put(run.runId, run);
+        }
+
+        PayrollRun snapshot = run.snapshot();
+        runExecutor.submit(() -> execute(run));
+        return snapshot;
+    }
+
+    @Override
+    public PayrollRun getRun(String runId) {
+        RunState run;
+        synchronized (runs) {
+            run = runs.get(runId);
+        }
+        if (run == null) {
+            throw new RuntimeException("薪资计算任务不存在");
+        }
+        return run.snapshot();
+    }
+
+    @Override
+    public List<PayrollRun> listRuns() {
+        List<RunState> states;
+        synchronized (runs) {
+            states = new ArrayList<>(runs.values());
+        }
+        Collections.reverse(states);
+        List<PayrollRun> list = new ArrayList<>(states.size());
+        for (RunState state : states) {
+            list.add(state.snapshot());
+        }
+        return list;
+    }
+
+    /**
+     * 执行批量计算：预取 → 分片并行计算写入 → 汇总结果
+     */
+    private void execute(RunState run) {
+        long beginTime = System.currentTimeMillis();
+        String status = "FAILED";
+        String message = null;
+        try {
+            // 整批使用同一份规则计划
+            PayrollRuleEngine.Plan plan = payrollRuleEngine.currentPlan();
+            List<Employee> employees = run.departmentId != null
+                    ? employeeMapper.findByDepartmentId(run.departmentId)
+                    : employeeMapper.findAll();
+            run.setTotalEmployees(employees.size());
+
+            // 当月考勤汇总一次查出，员工 ID → [迟到次数, 缺勤次数]
+            Map<Long, int[]> statistics = new HashMap<>();
+            for (Map<String, Object> row : attendanceMapper.getStatisticsBatch(
+                    null, run.departmentId, run.month, run.month)) {
+                statistics.put(((Number) row.get("employeeId")).longValue(), new int[]{
+                        ((Number) row.get("lateCount")).intValue(),
+                        ((Number) row.get("absenceCount")).intValue()
+                });
+            }
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < employees.size(); from += CHUNK_SIZE) {
+                List<Employee> chunk = employees.subList(from, Math.min(from + CHUNK_SIZE, employees.size()));
+                futures.add(chunkExecutor.submit(() -> runChunk(run, plan, chunk, statistics)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            status = "SUCCESS";
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            message = cause.getMessage();
+            logger.error("薪资批量计算失败, month={}, departmentId={}", run.month, run.departmentId, cause);
+        } finally {
+            // 状态、结束时间与耗时一起发布，查询不会看到已结束却没有结束时间的任务
+            run.finish(status, message, System.currentTimeMillis() - beginTime);
+            PayrollRun result = run.snapshot();
+            logger.info("薪资批量计算结束: runId={}, month={}, status={}, inserted={}, skipped={}, elapsedMs={}",
+                    result.getRunId(), result.getMonth(), result.getStatus(), result.getInserted(), result.getSkipped(), result.getElapsedMs());
+        }
+    }
+
+    /**
+     * 计算并写入一个分片
+     */
+    private void runChunk(RunState run, PayrollRuleEngine.Plan plan, List<Employee> chunk, Map<Long, int[]> statistics) {
+        int[] none = new int[2];
+        List<Salary> salaries = new ArrayList<>(chunk.size());
+        for (Employee employee : chunk) {
+            int[] counts = statistics.getOrDefault(employee.getId(), none);
+            salaries.add(salaryCalculator.calculate(plan, employee, run.month, counts[0], counts[1]));
+        }
+
+        int rows = salaryMapper.insertBatch(salaries);
+        run.addProgress(chunk.size(), rows, salaries.size() - rows);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdown();
+        chunkExecutor.shutdown();
+    }
+
+    /**
+     * 批量计算任务的可变状态：执行线程与分片线程在本对象锁内更新，查询线程在同一把锁内复制快照
+     */
+    private static class RunState {
+        private final String runId;
+        private final String month;
+        private final Long departmentId;
+        private final LocalDateTime startTime = LocalDateTime.now();
+        private String status = "RUNNING";
+        private int totalEmployees;
+        private int processed;
+        private int inserted;
+        private int skipped;
+        private String message;
+        private LocalDateTime endTime;
+        private Long elapsedMs;
+
+        private RunState(String runId, String month, Long departmentId) {
+            this.runId = runId;
+            this.month = month;
+            this.departmentId = departmentId;
+        }
+
+        private synchronized boolean isRunning() {
+            return "RUNNING".equals(status);
+        }
+
+        private synchronized void setTotalEmployees(int totalEmployees) {
+            this.totalEmployees = totalEmployees;
+        }
+
+        /**
+         * 一个分片写入完成后累加进度，三个计数同时可见
+         */
+        private synchronized void addProgress(int processed, int inserted, int skipped) {
+            this.processed += processed;
+            this.inserted += inserted;
+            this.skipped += skipped;
+        }
+
+        private synchronized void finish(String status, String message, long elapsedMs) {
+            this.status = status;
+            this.message = message;
+            this.endTime = LocalDateTime.now();
+            this.elapsedMs = elapsedMs;
+        }
+
+        private synchronized PayrollRun snapshot() {
+            PayrollRun run = new PayrollRun();
+            run.setRunId(runId);
+            run.setMonth(month);
+            run.setDepartmentId(departmentId);
+            run.setStatus(status);
+            run.setTotalEmployees(totalEmployees);
+            run.setProcessed(processed);
+            run.setInserted(inserted);
+            run.setSkipped(skipped);
+            run.setMessage(message);
+            run.setStartTime(startTime);
+            run.setEndTime(endTime);
+            run.setElapsedMs(elapsedMs);
+            return run;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.CheckinBitmap;
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.AttendanceSummaryMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryDirtyMapper;
+import com.enterprise.entity.Attendance;
+import com.enterprise.entity.Employee;
+import com.enterprise.service.PunchLogImportService;
+import com.enterprise.util.AttendanceRules;
+import com.enterprise.util.PunchLogParser;
+import com.enterprise.util.PunchTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 考勤机打卡日志导入 Service 实现类
+ * 先用 PunchLogParser 流式解析整个文件（读取方式见该类说明），把打卡折叠为每人每天的最早、最晚两次；
+ * 再按员工、日期顺序分段，每段一个事务：与已有考勤合并、按 AttendanceRules 判定状态、批量写入并重建月度汇总。
+ */
+@Service
+public class PunchLogImportServiceImpl implements PunchLogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PunchLogImportServiceImpl.class);
+
+    // 每个事务处理的（员工, 日期）条数
+    private static final int CHUNK_SIZE = 1000;
+
+    // 与首次打卡间隔不足该秒数的打卡视为重复刷卡，不算签退
+    private static final int REPEAT_PUNCH_SECONDS = 60;
+
+    @Value("${attendance.punch-log.dir:punch-logs}")
+    private String punchLogDir;
+
+    @Autowired
+    private AttendanceMapper attendanceMapper;
+
+    @Autowired
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private AttendanceSummaryMapper attendanceSummaryMapper;
+
+    @Autowired
+    private SalaryDirtyMapper salaryDirtyMapper;
+
+    @Autowired
+    private CheckinBitmap checkinBitmap;
+
+    @Autowired
+    private AttendanceBoard attendanceBoard;
+
+    @Autowired
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // 同一时间只允许一个导入
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Override
+    public List<Map<String, Object>> listFiles() {
+        Path dir = logDirectory();
+        List<Map<String, Object>> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return files;
+        }
+        try (Stream<Path> stream = Files.list(dir)) {
+            for (Path path : stream.sorted().collect(Collectors.toList())) {
+                if (Files.isRegularFile(path)) {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("fileName", path.getFileName().toString());
+                    item.put("size", Files.size(path));
+                    item.put("lastModified", Files.getLastModifiedTime(path).toMillis());
+                    files.add(item);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取打卡日志目录失败：" + e.getMessage());
+        }
+        return files;
+    }
+
+    @Override
+    public Map<String, Object> importFile(String fileName) {
+        Path dir = logDirectory();
+        Path file = dir.resolve(fileName == null ? "" : fileName).normalize();
+        if (!file.startsWith(dir) || !Files.isRegularFile(file)) {
+            throw new RuntimeException("打卡日志文件不存在：" + fileName);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("已有打卡日志正在导入，请稍后再试");
+        }
+        try {
+            return doImport(file);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Map<String, Object> doImport(Path file) {
+        long beginTime = System.nanoTime();
+
+        // 1. 解析：每人每天只保留最早、最晚打卡
+        PunchTable table = new PunchTable(1 << 16);
+        PunchLogParser.Stats stats;
+        try {
+            stats = PunchLogParser.parse(file, table::add);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("解析打卡日志失败：" + e.getMessage());
+        }
+        long parseNanos = System.nanoTime() - beginTime;
+
+        // 2. 分段写入
+        long[] keys = table.sortedKeys();
+        ChunkResult total = new ChunkResult();
+        for (int from = 0; from < keys.length; from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, keys.length);
+            int chunkFrom = from;
+            ChunkResult chunk = transactionTemplate.execute(status -> writeChunk(table, keys, chunkFrom, to));
+            total.inserted += chunk.inserted;
+            total.updated += chunk.updated;
+            total.unchanged += chunk.unchanged;
+            total.unknownEmployees += chunk.unknownEmployees;
+            refreshLiveViews(chunk);
+        }
+        long elapsedNanos = System.nanoTime() - beginTime;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fileName", file.getFileName().toString());
+        result.put("bytes", stats.bytes);
+        result.put("lines", stats.lines);
+        result.put("punches", stats.punches);
+        result.put("skippedLines", stats.skipped);
+        result.put("malformedLines", stats.malformed);
+        result.put("employeeDays", keys.length);
+        result.put("inserted", total.inserted);
+        result.put("updated", total.updated);
+        result.put("unchanged", total.unchanged);
+        result.put("unknownEmployeeDays", total.unknownEmployees);
+        result.put("parseMs", parseNanos / 1_000_000);
+        result.put("elapsedMs", elapsedNanos / 1_000_000);
+        result.put("parseLinesPerSecond", perSecond(stats.lines, parseNanos));
+        result.put("linesPerSecond", perSecond(stats.lines, elapsedNanos));
+        logger.info("打卡日志导入完成: {}", result);
+        return result;
+    }
+
+    /**
+     * 写入 keys[from, to)：与已有记录合并后批量 upsert，并重建涉及员工的月度汇总
+     */
+    private ChunkResult writeChunk(PunchTable table, long[] keys, int from, int to) {
+        ChunkResult result = new ChunkResult();
+        Set<Long> employeeIds = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            employeeIds.add(PunchTable.employeeId(keys[i]));
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeMapper.findByIds(employeeIds)) {
+            employees.put(employee.getId(), employee);
+        }
+
+        // 键有序，区间内日期范围即 [最小, 最大]
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            minDay = Math.min(minDay, PunchTable.epochDay(keys[i]));
+            maxDay = Math.max(maxDay, PunchTable.epochDay(keys[i]));
+        }
+        Map<Long, Attendance> existing = new HashMap<>();
+        if (!employees.isEmpty()) {
+            for (Attendance attendance : attendanceMapper.findByEmployeeIdsAndDateRange(
+                    employees.keySet(), LocalDate.ofEpochDay(minDay), LocalDate.ofEpochDay(maxDay))) {
+                existing.put(PunchTable.key(attendance.getEmployeeId(), (int) attendance.getDate().toEpochDay()), attendance);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            Employee employee = employees.get(PunchTable.employeeId(key));
+            if (employee == null) {
+                result.unknownEmployees++;
+                continue;
+            }
+            LocalDate date = LocalDate.ofEpochDay(PunchTable.epochDay(key));
+            Attendance current = existing.get(key);
+            Attendance merged = merge(current, date.atStartOfDay().plusSeconds(table.first(key)),
+                    date.atStartOfDay().plusSeconds(table.last(key)));
+            if (current != null && Objects.equals(current.getCheckinTime(), merged.getCheckinTime())
+                    && Objects.equals(current.getCheckoutTime(), merged.getCheckoutTime())) {
+                result.unchanged++;
+                continue;
+            }
+            merged.setEmployeeId(employee.getId());
+            merged.setEmployeeName(current != null && current.getEmployeeName() != null ? current.getEmployeeName() : employee.getName());
+            merged.setDate(date);
+            merged.setCreateTime(now);
+            result.rows.add(merged);
+            if (current == null) {
+                result.inserted++;
+            } else {
+                result.updated++;
+            }
+        }
+
+        if (!result.rows.isEmpty()) {
+            attendanceMapper.upsertBatch(result.rows);
+            Map<String, Set<Long>> idsByMonth = new HashMap<>();
+            List<Long> todayIds = new ArrayList<>();
+            LocalDate today = now.toLocalDate();
+            for (Attendance attendance : result.rows) {
+                idsByMonth.computeIfAbsent(YearMonth.from(attendance.getDate()).toString(), k -> new HashSet<>())
+                        .add(attendance.getEmployeeId());
+                if (attendance.getDate().equals(today)) {
+                    todayIds.add(attendance.getEmployeeId());
+                }
+            }
+            for (Map.Entry<String, Set<Long>> entry : idsByMonth.entrySet()) {
+                YearMonth month = YearMonth.parse(entry.getKey());
+                attendanceSummaryMapper.rebuild(month.atDay(1), month.plusMonths(1).atDay(1), entry.getValue(), null);
+                salaryDirtyMapper.markDirty(entry.getKey(), entry.getValue());
+            }
+            // 通知其他节点的看板
+            changeVersionTracker.bump(ChangeVersionTracker.ATTENDANCE, todayIds);
+        }
+        return result;
+    }
+
+    /**
+     * 把文件中的最早、最晚打卡与已有记录合并，重新计算状态与工作时长
+     * 已有记录的状态（含缺勤）以合并后的打卡时间为准重新判定
+     */
+    private Attendance merge(Attendance current, LocalDateTime firstPunch, LocalDateTime lastPunch) {
+        LocalDateTime first = firstPunch;
+        LocalDateTime last = lastPunch;
+        if (current != null) {
+            first = earliest(first, current.getCheckinTime());
+            last = latest(last, current.getCheckinTime());
+            first = earliest(first, current.getCheckoutTime());
+            last = latest(last, current.getCheckoutTime());
+        }
+
+        Attendance merged = new Attendance();
+        merged.setCheckinTime(first);
+        if (Duration.between(first, last).getSeconds() >= REPEAT_PUNCH_SECONDS) {
+            long minutes = Duration.between(first, last).toMinutes();
+            merged.setCheckoutTime(last);
+            merged.setWorkMinutes((int) minutes);
+            merged.setWorkHours(AttendanceRules.workHours(minutes));
+        }
+        merged.setStatus(AttendanceRules.dayStatus(first, merged.getCheckoutTime()));
+        return merged;
+    }
+
+    /**
+     * 事务提交后同步签到位图与今日看板
+     */
+    private void refreshLiveViews(ChunkResult chunk) {
+        for (Attendance attendance : chunk.rows) {
+            checkinBitmap.markCheckedIn(attendance.getEmployeeId(), attendance.getDate());
+            attendanceBoard.onAttendanceChanged(attendance);
+        }
+    }
+
+    private Path logDirectory() {
+        return Paths.get(punchLogDir).toAbsolutePath().normalize();
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return b != null && b.isBefore(a) ? b : a;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private static long perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1_000_000_000L / nanos : count;
+    }
+
+    /**
+     * 单个事务段的写入结果
+     */
+    private static class ChunkResult {
+        private final List<Attendance> rows = new ArrayList<>();
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int unknownEmployees;
+    }
+}
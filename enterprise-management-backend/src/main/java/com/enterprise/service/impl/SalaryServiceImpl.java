@@ -1,20 +1,34 @@
 package com.enterprise.service.impl;
 
+import com.enterprise.component.SalaryCalculator;
 import com.enterprise.dao.AttendanceMapper;
 import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryDirtyMapper;
 import com.enterprise.dao.SalaryMapper;
 import com.enterprise.dto.PageRequest;
 import com.enterprise.entity.Employee;
 import com.enterprise.entity.Salary;
+import com.enterprise.service.EmployeeService;
 import com.enterprise.service.SalaryService;
+import com.enterprise.util.CursorCodec;
+import com.enterprise.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 薪资 Service 实现类
@@ -22,18 +36,35 @@ import java.util.Map;
 @Service
 public class SalaryServiceImpl implements SalaryService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SalaryServiceImpl.class);
+
+    // 每个事务重算的员工月份数
+    private static final int RECALCULATE_BATCH_SIZE = 500;
+
     @Autowired
     private SalaryMapper salaryMapper;
 
     @Autowired
     private EmployeeMapper employeeMapper;
 
+    @Autowired
+    private EmployeeService employeeService;
+
     @Autowired
     private AttendanceMapper attendanceMapper;
 
+    @Autowired
+    private SalaryCalculator salaryCalculator;
+
+    @Autowired
+    private SalaryDirtyMapper salaryDirtyMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public void calculateSalary(Long employeeId, String month) {
-        Employee employee = employeeMapper.findById(employeeId);
+        Employee employee = employeeService.findById(employeeId);
         if (employee == null) {
             throw new RuntimeException("员工不存在");
         }
@@ -43,53 +74,33 @@ public class SalaryServiceImpl implements SalaryService {
             throw new RuntimeException("该月薪资已生成");
         }
 
-        // 基本工资
-        BigDecimal baseSalary = employee.getSalary() != null ? employee.getSalary() : new BigDecimal("5000");
-
-        // 绩效工资（固定 2000）
-        BigDecimal performanceSalary = new BigDecimal("2000");
-
-        // 奖金（固定 1000）
-        BigDecimal bonus = new BigDecimal("1000");
-
         // 根据考勤计算扣款
         Map<String, Object> statistics = attendanceMapper.getStatistics(employeeId, month);
-        Integer lateCount = ((Number) statistics.getOrDefault("lateCount", 0)).intValue();
-        Integer absenceCount = ((Number) statistics.getOrDefault("absenceCount", 0)).intValue();
-
-        // 迟到一次扣 50，缺勤一次扣 200
-        BigDecimal deduction = new BigDecimal(lateCount * 50 + absenceCount * 200);
-
-        // 计算实发工资
-        BigDecimal totalSalary = baseSalary.add(performanceSalary).add(bonus).subtract(deduction);
-
-        Salary salary = new Salary();
-        salary.setEmployeeId(employeeId);
-        salary.setEmployeeName(employee.getName());
-        salary.setMonth(month);
-        salary.setBaseSalary(baseSalary);
-        salary.setPerformanceSalary(performanceSalary);
-        salary.setBonus(bonus);
-        salary.setDeduction(deduction);
-        salary.setTotalSalary(totalSalary);
-        salary.setStatus("PENDING");
-        salary.setCreateTime(LocalDateTime.now());
-        salary.setUpdateTime(LocalDateTime.now());
+        int lateCount = ((Number) statistics.getOrDefault("lateCount", 0)).intValue();
+        int absenceCount = ((Number) statistics.getOrDefault("absenceCount", 0)).intValue();
 
+        Salary salary = salaryCalculator.calculate(employee, month, lateCount, absenceCount);
         salaryMapper.insert(salary);
     }
 
     @Override
     public Map<String, Object> findByPage(PageRequest pageRequest) {
-        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
-        pageRequest.setPageNum(offset);
-
+        pageRequest.decodeCursor();
         List<Salary> list = salaryMapper.findByPage(pageRequest);
-        int total = salaryMapper.countTotal(pageRequest);
 
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("total", total);
+        if (pageRequest.isCursorMode()) {
+            // 游标模式不统计总数，取满一页时返回下一页游标
+            String nextCursor = null;
+            if (!list.isEmpty() && list.size() == pageRequest.getPageSize()) {
+                Salary last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(last.getMonth(), null, last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        } else {
+            result.put("total", salaryMapper.countTotal(pageRequest));
+        }
         return result;
     }
 
@@ -97,4 +108,147 @@ public class SalaryServiceImpl implements SalaryService {
     public Salary findByEmployeeAndMonth(Long employeeId, String month) {
         return salaryMapper.findByEmployeeAndMonth(employeeId, month);
     }
+
+    @Override
+    public Map<String, Object> recalculateDirty(String month) {
+        String filterMonth = month != null && !month.isEmpty() ? month : null;
+        if (filterMonth != null) {
+            try {
+                YearMonth.parse(filterMonth);
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("月份格式应为 yyyy-MM");
+            }
+        }
+
+        long beginTime = System.currentTimeMillis();
+        RecalculateReport report = new RecalculateReport();
+        // 每批一个事务：加锁取标记 → 重算 → 批量写回 → 清除标记
+        while (true) {
+            Integer pairs = transactionTemplate.execute(status -> recalculateBatch(filterMonth, report));
+            if (pairs == null || pairs == 0) {
+                break;
+            }
+            report.pairs += pairs;
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("month", filterMonth);
+        result.put("pairs", report.pairs);
+        result.put("updated", report.changes.size());
+        result.put("unchanged", report.unchanged);
+        result.put("paidSkipped", report.paidRows.size());
+        result.put("totalDelta", Money.toDecimal(report.totalDeltaFen));
+        result.put("changes", report.changes);
+        result.put("paidRows", report.paidRows);
+        result.put("elapsedMs", System.currentTimeMillis() - beginTime);
+        logger.info("薪资重算完成: month={}, pairs={}, updated={}, paidSkipped={}",
+                filterMonth, report.pairs, report.changes.size(), report.paidRows.size());
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getDirtySummary() {
+        return salaryDirtyMapper.countByMonth();
+    }
+
+    /**
+     * 重算一批待重算的员工月份，返回本批处理的数量
+     */
+    private int recalculateBatch(String month, RecalculateReport report) {
+        List<Map<String, Object>> pairs = salaryDirtyMapper.lockBatch(month, RECALCULATE_BATCH_SIZE);
+        if (pairs.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Set<Long>> idsByMonth = new LinkedHashMap<>();
+        for (Map<String, Object> pair : pairs) {
+            idsByMonth.computeIfAbsent((String) pair.get("month"), k -> new HashSet<>())
+                    .add(((Number) pair.get("employeeId")).longValue());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, Set<Long>> entry : idsByMonth.entrySet()) {
+            String salaryMonth = entry.getKey();
+            Set<Long> employeeIds = entry.getValue();
+
+            Map<Long, Employee> employees = new HashMap<>();
+            for (Employee employee : employeeMapper.findByIds(employeeIds)) {
+                employees.put(employee.getId(), employee);
+            }
+            Map<Long, int[]> statistics = new HashMap<>();
+            for (Map<String, Object> row : attendanceMapper.getStatisticsBatch(employeeIds, null, salaryMonth, salaryMonth)) {
+                statistics.put(((Number) row.get("employeeId")).longValue(), new int[]{
+                        ((Number) row.get("lateCount")).intValue(),
+                        ((Number) row.get("absenceCount")).intValue()
+                });
+            }
+
+            List<Salary> updates = new ArrayList<>();
+            for (Salary old : salaryMapper.findByEmployeeIdsAndMonth(employeeIds, salaryMonth)) {
+                // 已发放的薪资不再改动，只在结果中列出
+                if (!"PENDING".equals(old.getStatus())) {
+                    Map<String, Object> paidRow = new LinkedHashMap<>();
+                    paidRow.put("employeeId", old.getEmployeeId());
+                    paidRow.put("employeeName", old.getEmployeeName());
+                    paidRow.put("month", salaryMonth);
+                    paidRow.put("totalSalary", old.getTotalSalary());
+                    report.paidRows.add(paidRow);
+                    continue;
+                }
+                Employee employee = employees.get(old.getEmployeeId());
+                if (employee == null) {
+                    report.unchanged++;
+                    continue;
+                }
+
+                int[] counts = statistics.getOrDefault(old.getEmployeeId(), new int[2]);
+                Salary fresh = salaryCalculator.calculate(employee, salaryMonth, counts[0], counts[1]);
+                if (sameAmount(old.getBaseSalary(), fresh.getBaseSalary())
+                        && sameAmount(old.getPerformanceSalary(), fresh.getPerformanceSalary())
+                        && sameAmount(old.getBonus(), fresh.getBonus())
+                        && sameAmount(old.getDeduction(), fresh.getDeduction())
+                        && sameAmount(old.getTotalSalary(), fresh.getTotalSalary())) {
+                    report.unchanged++;
+                    continue;
+                }
+                fresh.setId(old.getId());
+                updates.add(fresh);
+
+                long deltaFen = Money.fromDecimal(fresh.getTotalSalary())
+                        - (old.getTotalSalary() != null ? Money.fromDecimal(old.getTotalSalary()) : 0L);
+                report.totalDeltaFen += deltaFen;
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("employeeId", old.getEmployeeId());
+                change.put("employeeName", old.getEmployeeName());
+                change.put("month", salaryMonth);
+                change.put("oldDeduction", old.getDeduction());
+                change.put("newDeduction", fresh.getDeduction());
+                change.put("oldTotal", old.getTotalSalary());
+                change.put("newTotal", fresh.getTotalSalary());
+                change.put("delta", Money.toDecimal(deltaFen));
+                report.changes.add(change);
+            }
+
+            if (!updates.isEmpty()) {
+                salaryMapper.updateRecalculated(updates, now);
+            }
+            salaryDirtyMapper.deleteByEmployeeIds(salaryMonth, employeeIds);
+        }
+        return pairs.size();
+    }
+
+    private boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && Money.fromDecimal(a) == Money.fromDecimal(b);
+    }
+
+    /**
+     * 重算结果累计
+     */
+    private static class RecalculateReport {
+        private int pairs;
+        private int unchanged;
+        private long totalDeltaFen;
+        private final List<Map<String, Object>> changes = new ArrayList<>();
+        private final List<Map<String, Object>> paidRows = new ArrayList<>();
+    }
 }
@@ -4,6 +4,7 @@ import com.enterprise.dto.PageRequest;
 import com.enterprise.dao.UserMapper;
 import com.enterprise.entity.User;
 import com.enterprise.service.UserService;
+import com.enterprise.util.CursorCodec;
 import com.enterprise.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -69,16 +70,22 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Map<String, Object> findByPage(PageRequest pageRequest) {
-        // 计算偏移量
-        int offset = (pageRequest.getPageNum() - 1) * pageRequest.getPageSize();
-        pageRequest.setPageNum(offset);
-
+        pageRequest.decodeCursor();
         List<User> list = userMapper.findByPage(pageRequest);
-        int total = userMapper.countTotal(pageRequest);
 
         Map<String, Object> result = new HashMap<>();
         result.put("list", list);
-        result.put("total", total);
+        if (pageRequest.isCursorMode()) {
+            // 游标模式不统计总数，取满一页时返回下一页游标
+            String nextCursor = null;
+            if (!list.isEmpty() && list.size() == pageRequest.getPageSize()) {
+                User last = list.get(list.size() - 1);
+                nextCursor = CursorCodec.encode(last.getUsername(), null, last.getCreateTime(), last.getId());
+            }
+            result.put("nextCursor", nextCursor);
+        } else {
+            result.put("total", userMapper.countTotal(pageRequest));
+        }
         return result;
     }
 
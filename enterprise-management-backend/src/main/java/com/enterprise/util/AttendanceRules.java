@@ -0,0 +1,44 @@
+package com.enterprise.util;
+
+import java.time.LocalDateTime;
+
+/**
+ * 考勤规则工具类
+ * 统一签到迟到、签退早退的判定，单条签到与批量签到共用
+ */
+public final class AttendanceRules {
+
+    private AttendanceRules() {
+    }
+
+    /**
+     * 根据签到时间判断考勤状态（9:00后算迟到）
+     */
+    public static String checkinStatus(LocalDateTime checkinTime) {
+        return checkinTime.getHour() >= 9 && checkinTime.getMinute() > 0 ? "LATE" : "NORMAL";
+    }
+
+    /**
+     * 根据签退时间判断是否早退（18:00前算早退）
+     */
+    public static boolean isEarlyLeave(LocalDateTime checkoutTime) {
+        return checkoutTime.getHour() < 18;
+    }
+
+    /**
+     * 根据签到、签退时间判断当天考勤状态（早退优先于迟到，与签退时的判定一致）
+     */
+    public static String dayStatus(LocalDateTime checkinTime, LocalDateTime checkoutTime) {
+        if (checkoutTime != null && isEarlyLeave(checkoutTime)) {
+            return "EARLY_LEAVE";
+        }
+        return checkinStatus(checkinTime);
+    }
+
+    /**
+     * 工作时长展示文本
+     */
+    public static String workHours(long minutes) {
+        return minutes / 60 + "小时" + minutes % 60 + "分钟";
+    }
+}
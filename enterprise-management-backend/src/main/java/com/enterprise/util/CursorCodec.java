@@ -0,0 +1,51 @@
+package com.enterprise.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码工具类
+ * 游标由排序键（文本、日期、时间、ID 四个位置，按需使用）拼接后做 Base64 编码，对前端不透明
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "\n";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * 根据最后一行的排序键生成游标
+     */
+    public static String encode(String text, LocalDate date, LocalDateTime time, Long id) {
+        String payload = valueOf(text) + SEPARATOR + valueOf(date) + SEPARATOR + valueOf(time) + SEPARATOR + valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，返回 [文本, 日期, 时间, ID]
+     */
+    public static Object[] decode(String cursor) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = payload.split(SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException();
+            }
+            return new Object[]{
+                    parts[0].isEmpty() ? null : parts[0],
+                    parts[1].isEmpty() ? null : LocalDate.parse(parts[1]),
+                    parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]),
+                    parts[3].isEmpty() ? null : Long.valueOf(parts[3])
+            };
+        } catch (RuntimeException e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+    }
+
+    private static String valueOf(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
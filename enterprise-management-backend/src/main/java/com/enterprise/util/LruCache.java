@@ -0,0 +1,153 @@
+package com.enterprise.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 带过期时间的 LRU 缓存
+ * 容量满时淘汰最久未访问的条目，条目写入超过 ttl 后视为未命中；
+ * 记录命中、未命中、淘汰、过期次数。所有操作在同一把锁内完成，适合读多写少、条目较小的场景。
+ * 读穿透时先取 stamp 再查库，用 putIfUnchanged 写回：查库期间该键被 remove（或被 removeIf、clear 清掉）时放弃写回，
+ * 避免把失效前读到的旧值放回缓存。版本号按键的哈希分段记录，不同键偶尔共用一段，只会多放弃一次写回。
+ */
+public class LruCache<K, V> {
+
+    // 失效版本号分段数（2 的幂）
+    private static final int STAMP_STRIPES = 64;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    // 按键分段的失效版本号，remove 时递增对应分段；removeIf、clear 递增全局版本号
+    private final long[] stripeVersions = new long[STAMP_STRIPES];
+    private long globalVersion;
+
+    /**
+     * @param maxSize    最大条目数
+     * @param ttlSeconds 过期秒数，0 表示不过期
+     */
+    public LruCache(int maxSize, long ttlSeconds) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("缓存容量必须大于 0");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds > 0 ? ttlSeconds * 1_000_000_000L : 0;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 读取，未命中或已过期返回 null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (ttlNanos > 0 && System.nanoTime() - entry.writeTime > ttlNanos) {
+            map.remove(key);
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /**
+     * 读穿透开始前取得的版本戳，查库后交给 putIfUnchanged
+     */
+    public synchronized long stamp(K key) {
+        return globalVersion + stripeVersions[stripe(key)];
+    }
+
+    /**
+     * 取得版本戳之后该键没有被失效才写入，返回是否写入
+     */
+    public synchronized boolean putIfUnchanged(K key, V value, long stamp) {
+        if (stamp(key) != stamp) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized void remove(K key) {
+        map.remove(key);
+        stripeVersions[stripe(key)]++;
+    }
+
+    /**
+     * 移除满足条件的条目，返回移除数量
+     */
+    public synchronized int removeIf(Predicate<V> predicate) {
+        int removed = 0;
+        Iterator<Entry<V>> it = map.values().iterator();
+        while (it.hasNext()) {
+            if (predicate.test(it.next().value)) {
+                it.remove();
+                removed++;
+            }
+        }
+        globalVersion++;
+        return removed;
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        globalVersion++;
+    }
+
+    /**
+     * 统计信息：容量、条目数、命中、未命中、淘汰、过期与命中率
+     */
+    public synchronized Map<String, Object> stats() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        stats.put("size", map.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("hitRate", requests > 0 ? Math.round(hits * 10000.0 / requests) / 100.0 : 0.0);
+        return stats;
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long writeTime;
+
+        private Entry(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.enterprise.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 金额工具类
+ * 薪资计算热路径上金额一律用 long 表示“分”，只在写入实体（入库、序列化）时转换为 BigDecimal；
+ * 舍入规则与数据库 DECIMAL(10,2) 一致：保留两位小数，四舍五入（HALF_UP）。
+ */
+public final class Money {
+
+    // DECIMAL(10,2) 可表示的最大金额（分）
+    public static final long MAX_FEN = 99_999_999_99L;
+
+    private Money() {
+    }
+
+    /**
+     * BigDecimal 金额转换为分（超过两位小数的部分四舍五入）
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    /**
+     * 分转换为两位小数的 BigDecimal
+     */
+    public static BigDecimal toDecimal(long fen) {
+        return BigDecimal.valueOf(fen, 2);
+    }
+
+    /**
+     * 单价乘以次数
+     */
+    public static long times(long fen, int count) {
+        return Math.multiplyExact(fen, (long) count);
+    }
+
+    /**
+     * 校验金额在 DECIMAL(10,2) 范围内
+     */
+    public static long checkRange(long fen) {
+        if (fen > MAX_FEN || fen < -MAX_FEN) {
+            throw new RuntimeException("金额超出范围");
+        }
+        return fen;
+    }
+}
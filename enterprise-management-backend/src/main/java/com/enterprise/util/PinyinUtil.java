@@ -0,0 +1,68 @@
+package com.enterprise.util;
+
+import java.nio.charset.Charset;
+
+/**
+ * 拼音首字母工具类
+ * 按 GB2312 一级汉字（按拼音排序）的编码区间取首字母，覆盖常用汉字；
+ * 字母、数字原样转小写保留，其余字符忽略。
+ */
+public final class PinyinUtil {
+
+    private static final Charset GB2312 = Charset.forName("GB2312");
+
+    // 各首字母在 GB2312 一级汉字中的起始编码
+    private static final int[] BOUNDARIES = {
+            0xB0A1, 0xB0C5, 0xB2C1, 0xB4EE, 0xB6EA, 0xB7A2, 0xB8C1, 0xB9FE, 0xBBF7, 0xBFA6, 0xC0AC, 0xC2E8,
+            0xC4C3, 0xC5B6, 0xC5BE, 0xC6DA, 0xC8BB, 0xC8F6, 0xCBFA, 0xCDDA, 0xCEF4, 0xD1B9, 0xD4D1
+    };
+    private static final char[] LETTERS = "abcdefghjklmnopqrstwxyz".toCharArray();
+    private static final int LEVEL1_END = 0xD7F9;
+
+    private PinyinUtil() {
+    }
+
+    /**
+     * 取字符串的拼音首字母，如“张三”返回 zs
+     */
+    public static String initials(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (Character.isLetterOrDigit(c)) {
+                    sb.append(Character.toLowerCase(c));
+                }
+                continue;
+            }
+            char initial = initialOf(c);
+            if (initial != 0) {
+                sb.append(initial);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 单个汉字的拼音首字母，不在 GB2312 一级汉字内时返回 0
+     */
+    private static char initialOf(char c) {
+        byte[] bytes = String.valueOf(c).getBytes(GB2312);
+        if (bytes.length != 2) {
+            return 0;
+        }
+        int code = (bytes[0] & 0xFF) << 8 | (bytes[1] & 0xFF);
+        if (code < BOUNDARIES[0] || code > LEVEL1_END) {
+            return 0;
+        }
+        for (int i = BOUNDARIES.length - 1; i >= 0; i--) {
+            if (code >= BOUNDARIES[i]) {
+                return LETTERS[i];
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,209 @@
+package com.enterprise.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 考勤机打卡日志解析器
+ * 日志为 CSV，每行“员工ID,打卡时间[,其他字段]”，打卡时间形如 2024-01-15 08:57:03（秒可省略，分隔符不限）。
+ * 文件按块读入一个堆外缓冲区（FileChannel + 直接缓冲区），直接在字节上解析数字，不为字段创建 String；
+ * 每次解析只占用一个固定大小的缓冲区，块末尾被截断的行移到缓冲区开头与下一块拼接。
+ * 这里有意不用内存映射（MappedByteBuffer）：逐字节顺序扫描时两者速度相当，而映射区要等 GC 回收才释放，
+ * 期间一直占着地址空间和文件句柄，Windows 上文件也无法删除或改名；固定缓冲区则让文件大小不受堆和映射限制。
+ * 非数字开头的行（表头、注释）跳过。
+ */
+public final class PunchLogParser {
+
+    // 读缓冲区大小（也是单行的最大长度）
+    private static final int BUFFER_SIZE = 8 << 20;
+
+    private PunchLogParser() {
+    }
+
+    /**
+     * 打卡回调：epochDay 为 1970-01-01 起的天数，secondOfDay 为当天秒数
+     */
+    @FunctionalInterface
+    public interface PunchSink {
+        void accept(long employeeId, int epochDay, int secondOfDay);
+    }
+
+    /**
+     * 解析统计
+     */
+    public static final class Stats {
+        public long bytes;
+        public long lines;
+        public long punches;
+        public long skipped;
+        public long malformed;
+    }
+
+    /**
+     * 解析整个文件，每条有效打卡回调一次
+     */
+    public static Stats parse(Path file, PunchSink sink) throws IOException {
+        Stats stats = new Stats();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            stats.bytes = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            long position = 0;  // 缓冲区开头在文件中的位置
+            int[] parts = new int[6];
+            boolean eof = false;
+            while (!eof) {
+                eof = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int end = eof ? limit : lastNewline(buffer, limit) + 1;
+                if (end == 0) {
+                    if (!eof && !buffer.hasRemaining()) {
+                        throw new IOException("日志行过长，位置：" + position);
+                    }
+                    continue;
+                }
+                int start = position == 0 ? skipBom(buffer, end) : 0;
+                parseWindow(buffer, start, end, parts, sink, stats);
+                // 末尾被截断的行移到缓冲区开头，下一次读取接在其后
+                buffer.limit(limit).position(end);
+                buffer.compact();
+                position += end;
+            }
+        }
+        return stats;
+    }
+
+    private static int lastNewline(ByteBuffer window, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipBom(ByteBuffer window, int end) {
+        if (end >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB && window.get(2) == (byte) 0xBF) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static void parseWindow(ByteBuffer window, int start, int end, int[] parts, PunchSink sink, Stats stats) {
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            if (window.get(i) == '\n') {
+                parseLine(window, lineStart, i, parts, sink, stats);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            parseLine(window, lineStart, end, parts, sink, stats);
+        }
+    }
+
+    /**
+     * 解析 [from, to) 一行，parts 为复用的时间字段缓冲
+     */
+    private static void parseLine(ByteBuffer buf, int from, int to, int[] parts, PunchSink sink, Stats stats) {
+        if (to > from && buf.get(to - 1) == '\r') {
+            to--;
+        }
+        int i = skipSpaces(buf, from, to);
+        if (i == to) {
+            return;
+        }
+        stats.lines++;
+        if (!isDigit(buf.get(i))) {
+            stats.skipped++;
+            return;
+        }
+
+        // 员工ID
+        long employeeId = 0;
+        int digits = 0;
+        while (i < to && isDigit(buf.get(i))) {
+            if (++digits > 12) {
+                stats.malformed++;
+                return;
+            }
+            employeeId = employeeId * 10 + (buf.get(i++) - '0');
+        }
+        i = skipSpaces(buf, i, to);
+        if (i == to || buf.get(i) != ',' || employeeId <= 0) {
+            stats.malformed++;
+            return;
+        }
+
+        // 打卡时间：依次读出年、月、日、时、分、秒六个数字，遇到逗号结束
+        int count = 0;
+        i++;
+        while (i < to && buf.get(i) != ',' && count < 6) {
+            byte b = buf.get(i);
+            if (isDigit(b)) {
+                int value = 0;
+                int length = 0;
+                while (i < to && isDigit(buf.get(i))) {
+                    value = value * 10 + (buf.get(i++) - '0');
+                    if (++length > 4) {
+                        stats.malformed++;
+                        return;
+                    }
+                }
+                parts[count++] = value;
+            } else {
+                i++;
+            }
+        }
+        if (count < 5) {
+            stats.malformed++;
+            return;
+        }
+        int year = parts[0];
+        int month = parts[1];
+        int day = parts[2];
+        int hour = parts[3];
+        int minute = parts[4];
+        int second = count == 6 ? parts[5] : 0;
+        if (year < 1970 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            stats.malformed++;
+            return;
+        }
+
+        stats.punches++;
+        sink.accept(employeeId, epochDay(year, month, day), hour * 3600 + minute * 60 + second);
+    }
+
+    private static int skipSpaces(ByteBuffer buf, int i, int to) {
+        while (i < to && (buf.get(i) == ' ' || buf.get(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * 公历日期转 1970-01-01 起的天数（与 LocalDate.toEpochDay 一致）
+     */
+    static int epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
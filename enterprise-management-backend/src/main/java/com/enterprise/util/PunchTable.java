@@ -0,0 +1,129 @@
+package com.enterprise.util;
+
+import java.util.Arrays;
+
+/**
+ * 打卡聚合表：按（员工, 日期）记录当天最早与最晚打卡的秒数
+ * 开放寻址的原始类型哈希表，键为 员工ID &lt;&lt; 20 | epochDay，不为每条打卡创建对象。
+ * 非线程安全，由单个解析线程使用。
+ */
+public class PunchTable {
+
+    private static final int DAY_BITS = 20;
+    private static final long DAY_MASK = (1L << DAY_BITS) - 1;
+    private static final long MAX_EMPLOYEE_ID = (1L << (63 - DAY_BITS)) - 1;
+
+    private long[] keys;
+    private int[] firsts;
+    private int[] lasts;
+    private int size;
+
+    public PunchTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        firsts = new int[capacity];
+        lasts = new int[capacity];
+    }
+
+    public static long key(long employeeId, int epochDay) {
+        return employeeId << DAY_BITS | epochDay;
+    }
+
+    public static long employeeId(long key) {
+        return key >>> DAY_BITS;
+    }
+
+    public static int epochDay(long key) {
+        return (int) (key & DAY_MASK);
+    }
+
+    /**
+     * 记录一次打卡
+     */
+    public void add(long employeeId, int epochDay, int secondOfDay) {
+        if (employeeId > MAX_EMPLOYEE_ID || epochDay < 0 || epochDay > DAY_MASK) {
+            throw new IllegalArgumentException("打卡记录超出范围：" + employeeId + "," + epochDay);
+        }
+        long key = key(employeeId, epochDay);
+        int slot = slotOf(key);
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            firsts[slot] = secondOfDay;
+            lasts[slot] = secondOfDay;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return;
+        }
+        if (secondOfDay < firsts[slot]) {
+            firsts[slot] = secondOfDay;
+        }
+        if (secondOfDay > lasts[slot]) {
+            lasts[slot] = secondOfDay;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 全部键，按员工、日期升序
+     */
+    public long[] sortedKeys() {
+        long[] result = new long[size];
+        int n = 0;
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * 当天最早打卡秒数，不存在时返回 -1
+     */
+    public int first(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? firsts[slot] : -1;
+    }
+
+    /**
+     * 当天最晚打卡秒数，不存在时返回 -1
+     */
+    public int last(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == key ? lasts[slot] : -1;
+    }
+
+    /**
+     * 线性探测：返回键所在槽位，或应插入的空槽位
+     */
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldFirsts = firsts;
+        int[] oldLasts = lasts;
+        keys = new long[oldKeys.length * 2];
+        firsts = new int[keys.length];
+        lasts = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                firsts[slot] = oldFirsts[i];
+                lasts[slot] = oldLasts[i];
+            }
+        }
+    }
+}
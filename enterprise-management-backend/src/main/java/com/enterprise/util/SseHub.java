@@ -0,0 +1,75 @@
+package com.enterprise.util;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * SSE 推送工具类
+ * 维护订阅连接，按订阅条件广播事件，发送失败的连接自动移除
+ *
+ * @param <T> 订阅条件类型（如部门 ID），可为 null 表示订阅全部
+ */
+public class SseHub<T> {
+
+    private final long timeoutMs;
+
+    private final Map<SseEmitter, Subscription<T>> subscriptions = new ConcurrentHashMap<>();
+
+    public SseHub(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 新建订阅连接
+     */
+    public SseEmitter subscribe(T filter) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        subscriptions.put(emitter, new Subscription<>(filter));
+        emitter.onCompletion(() -> subscriptions.remove(emitter));
+        emitter.onTimeout(() -> subscriptions.remove(emitter));
+        emitter.onError(e -> subscriptions.remove(emitter));
+        return emitter;
+    }
+
+    /**
+     * 向单个连接发送事件
+     */
+    public void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data));
+        } catch (IOException | IllegalStateException e) {
+            subscriptions.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * 向订阅条件满足 predicate 的连接广播事件
+     */
+    public void broadcast(String event, Object data, Predicate<T> predicate) {
+        for (Map.Entry<SseEmitter, Subscription<T>> entry : subscriptions.entrySet()) {
+            if (predicate == null || predicate.test(entry.getValue().filter)) {
+                send(entry.getKey(), event, data);
+            }
+        }
+    }
+
+    /**
+     * 当前连接数
+     */
+    public int size() {
+        return subscriptions.size();
+    }
+
+    private static class Subscription<T> {
+        private final T filter;
+
+        private Subscription(T filter) {
+            this.filter = filter;
+        }
+    }
+}
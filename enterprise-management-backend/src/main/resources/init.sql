@@ -17,8 +17,9 @@ CREATE TABLE t_user (
     password VARCHAR(100) NOT NULL COMMENT '密码',
     email VARCHAR(100) COMMENT '邮箱',
     role VARCHAR(20) NOT NULL DEFAULT 'USER' COMMENT '角色：ADMIN, USER',
-    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    KEY idx_create_time (create_time)
 ) COMMENT '用户表';
 
 -- 插入默认管理员账号（用户名：admin，密码：admin123）
@@ -47,6 +48,29 @@ INSERT INTO t_department (name, parent_id, description) VALUES
 ('研发组', 1, '负责核心研发'),
 ('测试组', 1, '负责产品测试');
 
+-- ===============================================
+-- 2.1 部门闭包表（每对祖先、后代一行，含自身，用于子树查询）
+-- ===============================================
+DROP TABLE IF EXISTS t_department_closure;
+CREATE TABLE t_department_closure (
+    ancestor_id BIGINT NOT NULL COMMENT '祖先部门ID',
+    descendant_id BIGINT NOT NULL COMMENT '后代部门ID',
+    depth INT NOT NULL COMMENT '层级距离（自身为 0）',
+    PRIMARY KEY (ancestor_id, descendant_id),
+    KEY idx_descendant (descendant_id)
+) COMMENT '部门闭包表';
+
+-- 由部门树生成闭包
+INSERT INTO t_department_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth FROM t_department
+    UNION ALL
+    SELECT t.ancestor_id, d.id, t.depth + 1
+    FROM tree t
+    JOIN t_department d ON d.parent_id = t.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM tree;
+
 -- ===============================================
 -- 3. 员工表
 -- ===============================================
@@ -63,9 +87,10 @@ CREATE TABLE t_employee (
     hire_date DATE COMMENT '入职日期',
     status VARCHAR(20) DEFAULT 'ACTIVE' COMMENT '状态：ACTIVE, RESIGNED',
     salary DECIMAL(10, 2) DEFAULT 5000.00 COMMENT '基本工资',
-    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
-    FOREIGN KEY (department_id) REFERENCES t_department(id)
+    FOREIGN KEY (department_id) REFERENCES t_department(id),
+    KEY idx_create_time (create_time)
 ) COMMENT '员工表';
 
 -- 插入测试数据
@@ -88,17 +113,61 @@ CREATE TABLE t_attendance (
     checkin_time DATETIME COMMENT '签到时间',
     checkout_time DATETIME COMMENT '签退时间',
     status VARCHAR(20) DEFAULT 'NORMAL' COMMENT '状态：NORMAL, LATE, EARLY_LEAVE, ABSENCE',
-    work_hours VARCHAR(20) COMMENT '工作时长',
-    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    work_hours VARCHAR(20) COMMENT '工作时长（展示用）',
+    work_minutes INT COMMENT '工作分钟数',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     FOREIGN KEY (employee_id) REFERENCES t_employee(id),
-    UNIQUE KEY uk_employee_date (employee_id, date)
+    UNIQUE KEY uk_employee_date (employee_id, date),
+    KEY idx_date_ctime (date, create_time)
 ) COMMENT '考勤表';
 
 -- 插入测试数据
-INSERT INTO t_attendance (employee_id, employee_name, date, checkin_time, checkout_time, status, work_hours) VALUES
-(1, '张三', CURDATE(), DATE_ADD(NOW(), INTERVAL -3 HOUR), DATE_ADD(NOW(), INTERVAL -1 HOUR), 'NORMAL', '8小时0分钟'),
-(2, '李四', CURDATE(), DATE_ADD(NOW(), INTERVAL -2 HOUR), NULL, 'LATE', NULL),
-(3, '王五', CURDATE(), DATE_ADD(NOW(), INTERVAL -4 HOUR), DATE_ADD(NOW(), INTERVAL -30 MINUTE), 'NORMAL', '8小时30分钟');
+INSERT INTO t_attendance (employee_id, employee_name, date, checkin_time, checkout_time, status, work_hours, work_minutes) VALUES
+(1, '张三', CURDATE(), DATE_ADD(NOW(), INTERVAL -3 HOUR), DATE_ADD(NOW(), INTERVAL -1 HOUR), 'NORMAL', '8小时0分钟', 480),
+(2, '李四', CURDATE(), DATE_ADD(NOW(), INTERVAL -2 HOUR), NULL, 'LATE', NULL, NULL),
+(3, '王五', CURDATE(), DATE_ADD(NOW(), INTERVAL -4 HOUR), DATE_ADD(NOW(), INTERVAL -30 MINUTE), 'NORMAL', '8小时30分钟', 510);
+
+-- ===============================================
+-- 4.1 考勤月度汇总表（签到、签退时增量维护）
+-- ===============================================
+DROP TABLE IF EXISTS t_attendance_monthly_summary;
+CREATE TABLE t_attendance_monthly_summary (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    month VARCHAR(10) NOT NULL COMMENT '统计月份（格式：2024-01）',
+    total_days INT NOT NULL DEFAULT 0 COMMENT '考勤天数',
+    late_count INT NOT NULL DEFAULT 0 COMMENT '迟到次数',
+    early_count INT NOT NULL DEFAULT 0 COMMENT '早退次数',
+    absence_count INT NOT NULL DEFAULT 0 COMMENT '缺勤次数',
+    normal_count INT NOT NULL DEFAULT 0 COMMENT '正常次数',
+    total_work_minutes BIGINT NOT NULL DEFAULT 0 COMMENT '累计工作分钟数',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (employee_id, month),
+    KEY idx_month (month)
+) COMMENT '考勤月度汇总表';
+
+-- 由测试考勤数据生成汇总
+INSERT INTO t_attendance_monthly_summary (employee_id, month, total_days, late_count, early_count, absence_count, normal_count, total_work_minutes)
+SELECT employee_id, DATE_FORMAT(date, '%Y-%m'), COUNT(*),
+       SUM(CASE WHEN status = 'LATE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'EARLY_LEAVE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'ABSENCE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'NORMAL' THEN 1 ELSE 0 END),
+       IFNULL(SUM(work_minutes), 0)
+FROM t_attendance
+GROUP BY employee_id, DATE_FORMAT(date, '%Y-%m');
+
+-- ===============================================
+-- 4.2 缺勤生成任务分片表（每晚按部门分片生成缺勤记录，支持断点续跑）
+-- ===============================================
+DROP TABLE IF EXISTS t_absence_job_chunk;
+CREATE TABLE t_absence_job_chunk (
+    biz_date DATE NOT NULL COMMENT '考勤日期',
+    department_id BIGINT NOT NULL COMMENT '部门ID（0 表示未分配部门）',
+    inserted_rows INT NOT NULL DEFAULT 0 COMMENT '写入缺勤记录数',
+    elapsed_ms BIGINT NOT NULL DEFAULT 0 COMMENT '耗时（毫秒）',
+    finish_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '完成时间',
+    PRIMARY KEY (biz_date, department_id)
+) COMMENT '缺勤生成任务分片表';
 
 -- ===============================================
 -- 5. 薪资表
@@ -115,10 +184,11 @@ CREATE TABLE t_salary (
     deduction DECIMAL(10, 2) COMMENT '扣款',
     total_salary DECIMAL(10, 2) COMMENT '实发工资',
     status VARCHAR(20) DEFAULT 'PENDING' COMMENT '状态：PENDING, PAID',
-    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (employee_id) REFERENCES t_employee(id),
-    UNIQUE KEY uk_employee_month (employee_id, month)
+    UNIQUE KEY uk_employee_month (employee_id, month),
+    KEY idx_month_ctime (month, create_time)
 ) COMMENT '薪资表';
 
 -- 插入测试数据
@@ -127,6 +197,40 @@ INSERT INTO t_salary (employee_id, employee_name, month, base_salary, performanc
 (2, '李四', '2024-12', 7500.00, 2000.00, 1000.00, 100.00, 10400.00, 'PAID'),
 (3, '王五', '2024-12', 10000.00, 2000.00, 1000.00, 0.00, 13000.00, 'PAID');
 
+-- ===============================================
+-- 5.1 薪资待重算标记表（薪资生成后考勤被修改的员工月份）
+-- ===============================================
+DROP TABLE IF EXISTS t_salary_dirty;
+CREATE TABLE t_salary_dirty (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    month VARCHAR(10) NOT NULL COMMENT '薪资月份（格式：2024-01）',
+    mark_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '标记时间',
+    PRIMARY KEY (employee_id, month),
+    KEY idx_month (month)
+) COMMENT '薪资待重算标记表';
+
+-- ===============================================
+-- 5.2 薪资规则表（按部门、职位配置薪资项，优先级：部门+职位 → 部门 → 职位 → 全局默认）
+-- ===============================================
+DROP TABLE IF EXISTS t_payroll_rule;
+CREATE TABLE t_payroll_rule (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '规则ID',
+    department_id BIGINT NOT NULL DEFAULT 0 COMMENT '部门ID（0 表示所有部门）',
+    position VARCHAR(50) NOT NULL DEFAULT '' COMMENT '职位（空字符串表示所有职位）',
+    performance_salary DECIMAL(10, 2) COMMENT '绩效工资（为空沿用上一级规则）',
+    bonus DECIMAL(10, 2) COMMENT '奖金（为空沿用上一级规则）',
+    late_deduction DECIMAL(10, 2) COMMENT '每次迟到扣款（为空沿用上一级规则）',
+    absence_deduction DECIMAL(10, 2) COMMENT '每次缺勤扣款（为空沿用上一级规则）',
+    remark VARCHAR(200) COMMENT '备注',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    UNIQUE KEY uk_scope (department_id, position)
+) COMMENT '薪资规则表';
+
+-- 全局默认规则（与原固定金额一致）
+INSERT INTO t_payroll_rule (department_id, position, performance_salary, bonus, late_deduction, absence_deduction, remark) VALUES
+(0, '', 2000.00, 1000.00, 50.00, 200.00, '全局默认规则');
+
 -- ===============================================
 -- 6. 请假申请表
 -- ===============================================
@@ -140,12 +244,13 @@ CREATE TABLE t_leave_application (
     end_time DATETIME COMMENT '结束时间',
     days DECIMAL(5, 1) COMMENT '请假天数',
     reason VARCHAR(500) COMMENT '请假原因',
-    status VARCHAR(20) DEFAULT 'PENDING' COMMENT '状态：PENDING, APPROVED, REJECTED',
+    status VARCHAR(20) DEFAULT 'PENDING' COMMENT '状态：PENDING, APPROVED, REJECTED, CANCELLED',
     approver VARCHAR(50) COMMENT '审批人',
     approval_comment VARCHAR(200) COMMENT '审批意见',
     approval_time DATETIME COMMENT '审批时间',
-    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
-    FOREIGN KEY (employee_id) REFERENCES t_employee(id)
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    FOREIGN KEY (employee_id) REFERENCES t_employee(id),
+    KEY idx_create_time (create_time)
 ) COMMENT '请假申请表';
 
 -- 插入测试数据
@@ -154,6 +259,71 @@ INSERT INTO t_leave_application (employee_id, employee_name, leave_type, start_t
 (2, '李四', 'SICK', '2025-01-10 09:00:00', '2025-01-10 18:00:00', 1.0, '身体不适需要就医', 'APPROVED'),
 (4, '赵六', 'PERSONAL', '2025-01-20 09:00:00', '2025-01-20 18:00:00', 1.0, '个人事务', 'PENDING');
 
+-- ===============================================
+-- 6.1 节假日表（只记录与周一至周五上班不同的日期，工作日历启动时加载）
+-- ===============================================
+DROP TABLE IF EXISTS t_holiday;
+CREATE TABLE t_holiday (
+    holiday_date DATE PRIMARY KEY COMMENT '日期',
+    day_type VARCHAR(20) NOT NULL COMMENT '类型：HOLIDAY 放假, WORKDAY 调休上班',
+    name VARCHAR(50) COMMENT '名称',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
+) COMMENT '节假日表';
+
+-- 2025 年元旦、春节安排
+INSERT INTO t_holiday (holiday_date, day_type, name) VALUES
+('2025-01-01', 'HOLIDAY', '元旦'),
+('2025-01-26', 'WORKDAY', '春节调休'),
+('2025-01-28', 'HOLIDAY', '春节'),
+('2025-01-29', 'HOLIDAY', '春节'),
+('2025-01-30', 'HOLIDAY', '春节'),
+('2025-01-31', 'HOLIDAY', '春节'),
+('2025-02-01', 'HOLIDAY', '春节'),
+('2025-02-02', 'HOLIDAY', '春节'),
+('2025-02-03', 'HOLIDAY', '春节'),
+('2025-02-04', 'HOLIDAY', '春节'),
+('2025-02-08', 'WORKDAY', '春节调休');
+
+-- ===============================================
+-- 6.2 假期余额表、假期台账表（台账只追加，余额与台账在同一事务中更新）
+-- ===============================================
+DROP TABLE IF EXISTS t_leave_balance;
+CREATE TABLE t_leave_balance (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    leave_type VARCHAR(20) NOT NULL COMMENT '假期类型：ANNUAL, SICK',
+    balance DECIMAL(6, 1) NOT NULL DEFAULT 0 COMMENT '剩余天数',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (employee_id, leave_type)
+) COMMENT '假期余额表';
+
+DROP TABLE IF EXISTS t_leave_ledger;
+CREATE TABLE t_leave_ledger (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '台账ID',
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    leave_type VARCHAR(20) NOT NULL COMMENT '假期类型：ANNUAL, SICK',
+    entry_type VARCHAR(20) NOT NULL COMMENT '类型：ACCRUAL 发放, CONSUME 请假扣减, REVERSAL 撤销返还',
+    days DECIMAL(6, 1) NOT NULL COMMENT '变动天数（扣减为负数）',
+    leave_id BIGINT COMMENT '关联的请假申请ID',
+    ref_key VARCHAR(32) NOT NULL COMMENT '去重键，如：ACCRUAL:2025、CONSUME:12',
+    remark VARCHAR(100) COMMENT '备注',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_ref (employee_id, leave_type, ref_key),
+    KEY idx_employee_id (employee_id, id)
+) COMMENT '假期台账表';
+
+-- 2025 年度发放（年假 5 天、病假 10 天），并扣减测试数据中已通过的申请
+INSERT INTO t_leave_ledger (employee_id, leave_type, entry_type, days, ref_key, remark)
+SELECT id, 'ANNUAL', 'ACCRUAL', 5.0, 'ACCRUAL:2025', '2025年度假期发放' FROM t_employee WHERE status = 'ACTIVE'
+UNION ALL
+SELECT id, 'SICK', 'ACCRUAL', 10.0, 'ACCRUAL:2025', '2025年度假期发放' FROM t_employee WHERE status = 'ACTIVE';
+
+INSERT INTO t_leave_ledger (employee_id, leave_type, entry_type, days, leave_id, ref_key, remark)
+SELECT employee_id, leave_type, 'CONSUME', -days, id, CONCAT('CONSUME:', id), '请假审批通过'
+FROM t_leave_application WHERE status = 'APPROVED' AND leave_type IN ('ANNUAL', 'SICK');
+
+INSERT INTO t_leave_balance (employee_id, leave_type, balance)
+SELECT employee_id, leave_type, SUM(days) FROM t_leave_ledger GROUP BY employee_id, leave_type;
+
 -- ===============================================
 -- 7. 操作日志表（AOP 日志记录使用）
 -- ===============================================
@@ -169,6 +339,18 @@ CREATE TABLE t_operation_log (
     create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
 ) COMMENT '操作日志表';
 
+-- ===============================================
+-- 8. 缓存变更记录表（多实例部署时各节点轮询，失效本地缓存中被修改的条目）
+-- ===============================================
+DROP TABLE IF EXISTS t_change_log;
+CREATE TABLE t_change_log (
+    version BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '变更版本号（全局递增）',
+    entity VARCHAR(32) NOT NULL COMMENT '实体类型：EMPLOYEE, DEPARTMENT, PAYROLL_RULE, HOLIDAY, LEAVE_APPLICATION',
+    entity_id BIGINT NOT NULL COMMENT '实体ID',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '写入时间（按保留时间清理）',
+    KEY idx_create_time (create_time)
+) COMMENT '缓存变更记录表（只追加）';
+
 -- ===============================================
 -- 查看数据
 -- ===============================================
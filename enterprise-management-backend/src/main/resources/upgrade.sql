@@ -0,0 +1,199 @@
+-- ===============================================
+-- 智能企业管理系统 - 已有数据库升级脚本
+-- 新部署直接执行 init.sql 即可；已有数据的库按顺序执行以下语句
+-- ===============================================
+
+USE enterprise_management;
+
+-- ===============================================
+-- 考勤表：按日期查询当天签到记录（签到位图启动重建）
+-- ===============================================
+ALTER TABLE t_attendance ADD KEY idx_date (date);
+
+-- ===============================================
+-- 考勤月度汇总表（创建后调用 POST /api/attendance/summary/rebuild 回填历史数据）
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_attendance_monthly_summary (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    month VARCHAR(10) NOT NULL COMMENT '统计月份（格式：2024-01）',
+    total_days INT NOT NULL DEFAULT 0 COMMENT '考勤天数',
+    late_count INT NOT NULL DEFAULT 0 COMMENT '迟到次数',
+    early_count INT NOT NULL DEFAULT 0 COMMENT '早退次数',
+    absence_count INT NOT NULL DEFAULT 0 COMMENT '缺勤次数',
+    normal_count INT NOT NULL DEFAULT 0 COMMENT '正常次数',
+    total_work_minutes BIGINT NOT NULL DEFAULT 0 COMMENT '累计工作分钟数',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (employee_id, month),
+    KEY idx_month (month)
+) COMMENT '考勤月度汇总表';
+
+-- ===============================================
+-- 缺勤生成任务分片表
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_absence_job_chunk (
+    biz_date DATE NOT NULL COMMENT '考勤日期',
+    department_id BIGINT NOT NULL COMMENT '部门ID（0 表示未分配部门）',
+    inserted_rows INT NOT NULL DEFAULT 0 COMMENT '写入缺勤记录数',
+    elapsed_ms BIGINT NOT NULL DEFAULT 0 COMMENT '耗时（毫秒）',
+    finish_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '完成时间',
+    PRIMARY KEY (biz_date, department_id)
+) COMMENT '缺勤生成任务分片表';
+
+-- ===============================================
+-- 考勤表：数值型工作分钟数
+-- 加列后调用 POST /api/attendance/work-minutes/backfill 分批回填历史数据，
+-- 再调用 POST /api/attendance/summary/rebuild 刷新月度汇总中的累计工作时长
+-- ===============================================
+ALTER TABLE t_attendance ADD COLUMN work_minutes INT COMMENT '工作分钟数' AFTER work_hours;
+
+-- ===============================================
+-- 列表游标分页：排序键索引（考勤表的 idx_date 由 (date, create_time) 取代）
+-- ===============================================
+ALTER TABLE t_attendance DROP KEY idx_date, ADD KEY idx_date_ctime (date, create_time);
+ALTER TABLE t_salary ADD KEY idx_month_ctime (month, create_time);
+ALTER TABLE t_leave_application ADD KEY idx_create_time (create_time);
+ALTER TABLE t_employee ADD KEY idx_create_time (create_time);
+ALTER TABLE t_user ADD KEY idx_create_time (create_time);
+
+-- 游标谓词对 NULL 的 create_time 既不满足 < 也不满足 =，翻页会跳过这些行：先回填再改为 NOT NULL
+UPDATE t_attendance SET create_time = COALESCE(checkin_time, TIMESTAMP(date)) WHERE create_time IS NULL;
+UPDATE t_salary SET create_time = COALESCE(update_time, NOW()) WHERE create_time IS NULL;
+UPDATE t_leave_application SET create_time = COALESCE(approval_time, start_time, NOW()) WHERE create_time IS NULL;
+UPDATE t_employee SET create_time = COALESCE(update_time, TIMESTAMP(hire_date), NOW()) WHERE create_time IS NULL;
+UPDATE t_user SET create_time = COALESCE(update_time, NOW()) WHERE create_time IS NULL;
+ALTER TABLE t_attendance MODIFY create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+ALTER TABLE t_salary MODIFY create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+ALTER TABLE t_leave_application MODIFY create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+ALTER TABLE t_employee MODIFY create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+ALTER TABLE t_user MODIFY create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间';
+
+-- ===============================================
+-- 薪资待重算标记表
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_salary_dirty (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    month VARCHAR(10) NOT NULL COMMENT '薪资月份（格式：2024-01）',
+    mark_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '标记时间',
+    PRIMARY KEY (employee_id, month),
+    KEY idx_month (month)
+) COMMENT '薪资待重算标记表';
+
+-- ===============================================
+-- 薪资规则表（全局默认规则与原固定金额一致）
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_payroll_rule (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '规则ID',
+    department_id BIGINT NOT NULL DEFAULT 0 COMMENT '部门ID（0 表示所有部门）',
+    position VARCHAR(50) NOT NULL DEFAULT '' COMMENT '职位（空字符串表示所有职位）',
+    performance_salary DECIMAL(10, 2) COMMENT '绩效工资（为空沿用上一级规则）',
+    bonus DECIMAL(10, 2) COMMENT '奖金（为空沿用上一级规则）',
+    late_deduction DECIMAL(10, 2) COMMENT '每次迟到扣款（为空沿用上一级规则）',
+    absence_deduction DECIMAL(10, 2) COMMENT '每次缺勤扣款（为空沿用上一级规则）',
+    remark VARCHAR(200) COMMENT '备注',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    UNIQUE KEY uk_scope (department_id, position)
+) COMMENT '薪资规则表';
+
+INSERT IGNORE INTO t_payroll_rule (department_id, position, performance_salary, bonus, late_deduction, absence_deduction, remark) VALUES
+(0, '', 2000.00, 1000.00, 50.00, 200.00, '全局默认规则');
+
+-- ===============================================
+-- 缓存变更记录表
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_change_log (
+    version BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '变更版本号（全局递增）',
+    entity VARCHAR(32) NOT NULL COMMENT '实体类型：EMPLOYEE, DEPARTMENT, PAYROLL_RULE, HOLIDAY, LEAVE_APPLICATION',
+    entity_id BIGINT NOT NULL COMMENT '实体ID',
+    create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '写入时间（按保留时间清理）',
+    KEY idx_create_time (create_time)
+) COMMENT '缓存变更记录表（只追加）';
+
+-- 由 t_change_log 取代的旧表
+DROP TABLE IF EXISTS t_change_version;
+DROP TABLE IF EXISTS t_change_sequence;
+
+-- ===============================================
+-- 部门闭包表（由现有部门树生成）
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_department_closure (
+    ancestor_id BIGINT NOT NULL COMMENT '祖先部门ID',
+    descendant_id BIGINT NOT NULL COMMENT '后代部门ID',
+    depth INT NOT NULL COMMENT '层级距离（自身为 0）',
+    PRIMARY KEY (ancestor_id, descendant_id),
+    KEY idx_descendant (descendant_id)
+) COMMENT '部门闭包表';
+
+INSERT IGNORE INTO t_department_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth FROM t_department
+    UNION ALL
+    SELECT t.ancestor_id, d.id, t.depth + 1
+    FROM tree t
+    JOIN t_department d ON d.parent_id = t.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM tree;
+
+-- ===============================================
+-- 节假日表（工作日历使用）
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_holiday (
+    holiday_date DATE PRIMARY KEY COMMENT '日期',
+    day_type VARCHAR(20) NOT NULL COMMENT '类型：HOLIDAY 放假, WORKDAY 调休上班',
+    name VARCHAR(50) COMMENT '名称',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
+) COMMENT '节假日表';
+
+INSERT IGNORE INTO t_holiday (holiday_date, day_type, name) VALUES
+('2025-01-01', 'HOLIDAY', '元旦'),
+('2025-01-26', 'WORKDAY', '春节调休'),
+('2025-01-28', 'HOLIDAY', '春节'),
+('2025-01-29', 'HOLIDAY', '春节'),
+('2025-01-30', 'HOLIDAY', '春节'),
+('2025-01-31', 'HOLIDAY', '春节'),
+('2025-02-01', 'HOLIDAY', '春节'),
+('2025-02-02', 'HOLIDAY', '春节'),
+('2025-02-03', 'HOLIDAY', '春节'),
+('2025-02-04', 'HOLIDAY', '春节'),
+('2025-02-08', 'WORKDAY', '春节调休');
+
+-- ===============================================
+-- 假期余额表、假期台账表（与 init.sql 一致回填：当年发放、已通过申请的扣减，再由台账汇总余额）
+-- ===============================================
+CREATE TABLE IF NOT EXISTS t_leave_balance (
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    leave_type VARCHAR(20) NOT NULL COMMENT '假期类型：ANNUAL, SICK',
+    balance DECIMAL(6, 1) NOT NULL DEFAULT 0 COMMENT '剩余天数',
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (employee_id, leave_type)
+) COMMENT '假期余额表';
+
+CREATE TABLE IF NOT EXISTS t_leave_ledger (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT COMMENT '台账ID',
+    employee_id BIGINT NOT NULL COMMENT '员工ID',
+    leave_type VARCHAR(20) NOT NULL COMMENT '假期类型：ANNUAL, SICK',
+    entry_type VARCHAR(20) NOT NULL COMMENT '类型：ACCRUAL 发放, CONSUME 请假扣减, REVERSAL 撤销返还',
+    days DECIMAL(6, 1) NOT NULL COMMENT '变动天数（扣减为负数）',
+    leave_id BIGINT COMMENT '关联的请假申请ID',
+    ref_key VARCHAR(32) NOT NULL COMMENT '去重键，如：ACCRUAL:2025、CONSUME:12',
+    remark VARCHAR(100) COMMENT '备注',
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    UNIQUE KEY uk_ref (employee_id, leave_type, ref_key),
+    KEY idx_employee_id (employee_id, id)
+) COMMENT '假期台账表';
+
+-- 当年发放（年假 5 天、病假 10 天，与 leave.accrual 默认配置一致）；去重键与年度发放任务相同，之后再调用发放接口不会重复
+INSERT IGNORE INTO t_leave_ledger (employee_id, leave_type, entry_type, days, ref_key, remark)
+SELECT id, 'ANNUAL', 'ACCRUAL', 5.0, CONCAT('ACCRUAL:', YEAR(CURDATE())), CONCAT(YEAR(CURDATE()), '年度假期发放') FROM t_employee WHERE status = 'ACTIVE'
+UNION ALL
+SELECT id, 'SICK', 'ACCRUAL', 10.0, CONCAT('ACCRUAL:', YEAR(CURDATE())), CONCAT(YEAR(CURDATE()), '年度假期发放') FROM t_employee WHERE status = 'ACTIVE';
+
+-- 已通过的申请记扣减，撤销时按这些台账返还
+INSERT IGNORE INTO t_leave_ledger (employee_id, leave_type, entry_type, days, leave_id, ref_key, remark)
+SELECT employee_id, leave_type, 'CONSUME', -days, id, CONCAT('CONSUME:', id), '请假审批通过'
+FROM t_leave_application WHERE status = 'APPROVED' AND leave_type IN ('ANNUAL', 'SICK');
+
+-- 余额按台账重新汇总（重复执行结果不变）
+INSERT INTO t_leave_balance (employee_id, leave_type, balance)
+SELECT employee_id, leave_type, SUM(days) FROM t_leave_ledger GROUP BY employee_id, leave_type
+ON DUPLICATE KEY UPDATE balance = VALUES(balance);
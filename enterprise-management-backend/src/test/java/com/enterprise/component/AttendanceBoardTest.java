@@ -0,0 +1,133 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Attendance;
+import com.enterprise.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 考勤看板测试：其他节点写入的今日考勤经变更记录计入本节点看板，重复通知不重复计数
+ */
+@ExtendWith(MockitoExtension.class)
+class AttendanceBoardTest {
+
+    @Mock
+    private AttendanceMapper attendanceMapper;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private DepartmentMapper departmentMapper;
+
+    @Mock
+    private CheckinBitmap checkinBitmap;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private AttendanceBoard attendanceBoard;
+
+    private Consumer<Set<Long>> remoteListener;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(employeeMapper.findAll()).thenReturn(List.of(employee(1L), employee(2L)));
+        attendanceBoard.init();
+        ArgumentCaptor<Consumer<Set<Long>>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(changeVersionTracker).addListener(eq(ChangeVersionTracker.ATTENDANCE), captor.capture());
+        remoteListener = captor.getValue();
+    }
+
+    @Test
+    void remoteCheckinIsCountedOnce() {
+        when(attendanceMapper.findByEmployeeIdsAndDateRange(Set.of(1L), today, today))
+                .thenReturn(List.of(attendance(1L, "LATE", false)));
+
+        remoteListener.accept(Set.of(1L));
+        // 本节点写入后收到自己的通知，或变更被重复分发
+        remoteListener.accept(Set.of(1L));
+        attendanceBoard.onAttendanceChanged(attendance(1L, "LATE", false));
+
+        Map<String, Object> row = row();
+        assertEquals(1L, row.get("checkedIn"));
+        assertEquals(1L, row.get("late"));
+        assertEquals(1L, row.get("notArrived"));
+        verify(checkinBitmap, times(2)).markCheckedIn(1L, today);
+    }
+
+    @Test
+    void remoteCheckoutReplacesLocalState() {
+        attendanceBoard.onAttendanceChanged(attendance(2L, "LATE", false));
+        // 另一节点处理了签退，状态改为早退
+        when(attendanceMapper.findByEmployeeIdsAndDateRange(Set.of(2L), today, today))
+                .thenReturn(List.of(attendance(2L, "EARLY_LEAVE", true)));
+        remoteListener.accept(Set.of(2L));
+
+        Map<String, Object> row = row();
+        assertEquals(1L, row.get("checkedIn"));
+        assertEquals(0L, row.get("late"));
+        assertEquals(1L, row.get("checkedOut"));
+    }
+
+    @Test
+    void otherDaysAreIgnored() {
+        Attendance yesterday = attendance(1L, "NORMAL", false);
+        yesterday.setDate(today.minusDays(1));
+        attendanceBoard.onAttendanceChanged(yesterday);
+
+        assertEquals(0L, row().get("checkedIn"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> row() {
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) attendanceBoard.snapshot().get("departments");
+        assertEquals(1, rows.size());
+        return rows.get(0);
+    }
+
+    private Attendance attendance(Long employeeId, String status, boolean checkedOut) {
+        Attendance attendance = new Attendance();
+        attendance.setEmployeeId(employeeId);
+        attendance.setDate(today);
+        attendance.setCheckinTime(today.atTime(9, 30));
+        if (checkedOut) {
+            attendance.setCheckoutTime(today.atTime(17, 0));
+        }
+        attendance.setStatus(status);
+        return attendance;
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("员工" + id);
+        employee.setDepartmentId(10L);
+        employee.setStatus("ACTIVE");
+        return employee;
+    }
+}
@@ -0,0 +1,251 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.ChangeVersionMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 变更版本跟踪测试：三个应用上下文（三个节点）共享同一个库。
+ * 本节点的变更跳过、其他节点的变更分发；乱序提交不丢失；同一实体多次变更不留空洞；
+ * 每个节点的连接池只有一个连接，写操作在调用方事务内记录变更，不需要第二个连接。
+ */
+class ChangeVersionTrackerTest {
+
+    private static final String URL = "jdbc:h2:mem:coherence;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private final List<AnnotationConfigApplicationContext> nodes = new ArrayList<>();
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        HikariDataSource admin = new HikariDataSource();
+        admin.setJdbcUrl(URL);
+        jdbc = new JdbcTemplate(admin);
+        jdbc.execute("DROP TABLE IF EXISTS t_change_log");
+        jdbc.execute("CREATE TABLE t_change_log ("
+                + "version BIGINT PRIMARY KEY AUTO_INCREMENT, "
+                + "entity VARCHAR(32) NOT NULL, "
+                + "entity_id BIGINT NOT NULL, "
+                + "create_time DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(AnnotationConfigApplicationContext::close);
+        ((HikariDataSource) jdbc.getDataSource()).close();
+    }
+
+    @Test
+    void localChangesAreSkippedAndRemoteChangesDispatched() {
+        AnnotationConfigApplicationContext nodeA = node();
+        AnnotationConfigApplicationContext nodeB = node();
+        List<Set<Long>> receivedA = listen(nodeA);
+        List<Set<Long>> receivedB = listen(nodeB);
+
+        tracker(nodeA).bump(ChangeVersionTracker.EMPLOYEE, List.of(1L, 2L, 2L));
+        tracker(nodeB).bump(ChangeVersionTracker.EMPLOYEE, 3L);
+        tracker(nodeA).poll();
+        tracker(nodeB).poll();
+
+        assertEquals(List.of(Set.of(3L)), receivedA);
+        assertEquals(List.of(Set.of(1L, 2L)), receivedB);
+        assertEquals(maxVersion(), tracker(nodeA).lastVersion());
+        assertEquals(maxVersion(), tracker(nodeB).lastVersion());
+
+        // 再次轮询不会重复分发
+        tracker(nodeA).poll();
+        tracker(nodeB).poll();
+        assertEquals(1, receivedA.size());
+        assertEquals(1, receivedB.size());
+    }
+
+    @Test
+    void repeatedChangesOfOneEntityLeaveNoGap() {
+        AnnotationConfigApplicationContext nodeA = node();
+        AnnotationConfigApplicationContext nodeB = node();
+        List<Set<Long>> receivedB = listen(nodeB);
+
+        for (int i = 0; i < 5; i++) {
+            tracker(nodeA).bump(ChangeVersionTracker.EMPLOYEE, 1L);
+        }
+        tracker(nodeB).poll();
+
+        assertEquals(List.of(Set.of(1L)), receivedB);
+        // 每次变更都留有记录，水位直接越过全部版本号，不需要等待空洞超时
+        assertEquals(maxVersion(), tracker(nodeB).lastVersion());
+    }
+
+    @Test
+    void bumpJoinsCallerTransactionAndLaterCommitOfSmallerVersionIsNotMissed() throws Exception {
+        AnnotationConfigApplicationContext writer = node();
+        AnnotationConfigApplicationContext nodeA = node();
+        AnnotationConfigApplicationContext nodeB = node();
+        List<Set<Long>> receivedB = listen(nodeB);
+
+        CountDownLatch bumped = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 长事务先分配到较小的版本号，但暂不提交；连接池只有一个连接，bump 必须复用事务的连接
+            Future<?> longTransaction = executor.submit(() -> writer.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+                tracker(writer).bump(ChangeVersionTracker.EMPLOYEE, 10L);
+                bumped.countDown();
+                await(release);
+            }));
+            assertTrue(bumped.await(5, TimeUnit.SECONDS));
+
+            tracker(nodeA).bump(ChangeVersionTracker.EMPLOYEE, 20L);
+            tracker(nodeB).poll();
+            assertEquals(List.of(Set.of(20L)), receivedB);
+            assertTrue(tracker(nodeB).lastVersion() < maxVersion());
+
+            release.countDown();
+            longTransaction.get(5, TimeUnit.SECONDS);
+            tracker(nodeB).poll();
+            assertEquals(List.of(Set.of(20L), Set.of(10L)), receivedB);
+            assertEquals(maxVersion(), tracker(nodeB).lastVersion());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rolledBackVersionIsSkippedAfterGapTimeout() {
+        AnnotationConfigApplicationContext nodeA = node();
+        AnnotationConfigApplicationContext nodeB = node();
+        List<Set<Long>> receivedB = listen(nodeB);
+
+        nodeA.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            tracker(nodeA).bump(ChangeVersionTracker.DEPARTMENT, 5L);
+            status.setRollbackOnly();
+        });
+        tracker(nodeA).bump(ChangeVersionTracker.DEPARTMENT, 6L);
+        tracker(nodeB).poll();
+        assertEquals(List.of(Set.of(6L)), receivedB);
+        assertTrue(tracker(nodeB).lastVersion() < maxVersion());
+
+        ReflectionTestUtils.setField(tracker(nodeB), "gapTimeoutMs", 0L);
+        tracker(nodeB).poll();
+        assertEquals(maxVersion(), tracker(nodeB).lastVersion());
+        assertEquals(1, receivedB.size());
+    }
+
+    @Test
+    void pruneRemovesExpiredRows() {
+        AnnotationConfigApplicationContext nodeA = node();
+        tracker(nodeA).bump(ChangeVersionTracker.HOLIDAY, List.of(1L, 2L, 3L));
+        jdbc.update("UPDATE t_change_log SET create_time = DATEADD('DAY', -2, NOW()) WHERE entity_id < 3");
+
+        tracker(nodeA).prune();
+
+        assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM t_change_log", Integer.class));
+    }
+
+    private AnnotationConfigApplicationContext node() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "cache.coherence.enabled", "true",
+                "cache.coherence.gap-timeout-ms", "60000",
+                "cache.coherence.retention-hours", "24")));
+        context.register(NodeConfig.class, ChangeVersionTracker.class);
+        context.refresh();
+        nodes.add(context);
+        return context;
+    }
+
+    private static ChangeVersionTracker tracker(AnnotationConfigApplicationContext context) {
+        return context.getBean(ChangeVersionTracker.class);
+    }
+
+    private static List<Set<Long>> listen(AnnotationConfigApplicationContext context) {
+        List<Set<Long>> received = new ArrayList<>();
+        for (String entity : List.of(ChangeVersionTracker.EMPLOYEE, ChangeVersionTracker.DEPARTMENT, ChangeVersionTracker.HOLIDAY)) {
+            tracker(context).addListener(entity, received::add);
+        }
+        return received;
+    }
+
+    private long maxVersion() {
+        return jdbc.queryForObject("SELECT MAX(version) FROM t_change_log", Long.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 单个节点：只有一个连接的连接池、事务管理器与变更表 Mapper
+     */
+    @Configuration
+    static class NodeConfig {
+
+        @Bean(destroyMethod = "close")
+        HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(URL);
+            dataSource.setMaximumPoolSize(1);
+            dataSource.setConnectionTimeout(250);
+            return dataSource;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager) {
+            return new TransactionTemplate(transactionManager);
+        }
+
+        @Bean
+        SqlSessionFactoryBean sqlSessionFactory(DataSource dataSource) {
+            SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setMapperLocations(new ClassPathResource("mapper/ChangeVersionMapper.xml"));
+            return factory;
+        }
+
+        @Bean
+        MapperFactoryBean<ChangeVersionMapper> changeVersionMapper(SqlSessionFactory sqlSessionFactory) {
+            MapperFactoryBean<ChangeVersionMapper> mapper = new MapperFactoryBean<>(ChangeVersionMapper.class);
+            mapper.setSqlSessionFactory(sqlSessionFactory);
+            return mapper;
+        }
+    }
+}
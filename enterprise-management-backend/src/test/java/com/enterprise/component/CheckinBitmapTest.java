@@ -0,0 +1,59 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.AttendanceMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * 签到位图测试：只按本机日期切换，其他日期的签到不影响当天位图
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckinBitmapTest {
+
+    @Mock
+    private AttendanceMapper attendanceMapper;
+
+    @InjectMocks
+    private CheckinBitmap checkinBitmap;
+
+    @Test
+    void futureDateDoesNotResetToday() {
+        LocalDate today = LocalDate.now();
+        when(attendanceMapper.findEmployeeIdsByDate(today)).thenReturn(List.of(1L, 2L));
+        checkinBitmap.init();
+
+        // 设备时钟超前一天的签到
+        checkinBitmap.markCheckedIn(3L, today.plusDays(1));
+        assertFalse(checkinBitmap.isCheckedIn(3L, today.plusDays(1)));
+
+        assertTrue(checkinBitmap.isCheckedIn(1L, today));
+        assertTrue(checkinBitmap.isCheckedIn(2L, today));
+        assertEquals(2, checkinBitmap.count());
+    }
+
+    @Test
+    void pastDateIsIgnored() {
+        LocalDate today = LocalDate.now();
+        when(attendanceMapper.findEmployeeIdsByDate(today)).thenReturn(List.of());
+        checkinBitmap.init();
+
+        checkinBitmap.markCheckedIn(5L, today.minusDays(1));
+        assertFalse(checkinBitmap.isCheckedIn(5L, today.minusDays(1)));
+        assertFalse(checkinBitmap.isCheckedIn(5L, today));
+
+        checkinBitmap.markCheckedIn(5L, today);
+        assertTrue(checkinBitmap.isCheckedIn(5L, today));
+        assertEquals(1, checkinBitmap.count());
+    }
+}
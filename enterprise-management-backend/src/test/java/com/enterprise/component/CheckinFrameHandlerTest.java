@@ -0,0 +1,174 @@
+package com.enterprise.component;
+
+import com.enterprise.dto.CheckinEvent;
+import com.enterprise.service.AttendanceService;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 闸机签到帧编解码与应答顺序测试（业务线程池用调用线程代替）
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckinFrameHandlerTest {
+
+    @Mock
+    private AttendanceService attendanceService;
+
+    @Test
+    void consecutiveCheckinsAreBatchedAndAckedInOrder() {
+        when(attendanceService.batchCheckin(anyList())).thenReturn(List.of(
+                result("SUCCESS", "NORMAL"), result("DUPLICATE", null), result("NOT_FOUND", null)));
+        EmbeddedChannel channel = channel(Runnable::run);
+
+        long epochSecond = 1718240400L;
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKIN, 11, 1001L, epochSecond),
+                frame(CheckinFrameHandler.TYPE_CHECKIN, 12, 1002L, 0),
+                frame(CheckinFrameHandler.TYPE_CHECKIN, 13, 9999L, 0));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CheckinEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(attendanceService).batchCheckin(events.capture());
+        assertEquals(3, events.getValue().size());
+        assertEquals(1001L, events.getValue().get(0).getEmployeeId());
+        assertEquals(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()),
+                events.getValue().get(0).getCheckinTime());
+        assertNull(events.getValue().get(1).getCheckinTime());
+
+        assertAck(channel, 11, CheckinFrameHandler.CODE_OK, 1);
+        assertAck(channel, 12, CheckinFrameHandler.CODE_DUPLICATE, 0);
+        assertAck(channel, 13, CheckinFrameHandler.CODE_NOT_FOUND, 0);
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void checkoutAndHeartbeatKeepRequestOrder() {
+        doThrow(new RuntimeException("请先签到")).when(attendanceService).checkout(2001L);
+        doThrow(new QueryTimeoutException("timeout")).when(attendanceService).checkout(2002L);
+        EmbeddedChannel channel = channel(Runnable::run);
+
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKOUT, 1, 2000L, 0),
+                heartbeat(2),
+                frame(CheckinFrameHandler.TYPE_CHECKOUT, 3, 2001L, 0),
+                frame(CheckinFrameHandler.TYPE_CHECKOUT, 4, 2002L, 0));
+
+        assertAck(channel, 1, CheckinFrameHandler.CODE_OK, 0);
+        assertAck(channel, 2, CheckinFrameHandler.CODE_OK, 0);
+        assertAck(channel, 3, CheckinFrameHandler.CODE_REJECTED, 0);
+        assertAck(channel, 4, CheckinFrameHandler.CODE_ERROR, 0);
+    }
+
+    @Test
+    void malformedFrameClosesConnection() {
+        EmbeddedChannel channel = channel(Runnable::run);
+
+        ByteBuf truncated = Unpooled.buffer();
+        truncated.writeShort(5);
+        truncated.writeByte(CheckinFrameHandler.TYPE_CHECKIN);
+        truncated.writeInt(1);
+        channel.writeInbound(truncated);
+
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    void failedBatchIsAckedAndLaterBatchesStillRun() {
+        when(attendanceService.batchCheckin(anyList()))
+                .thenThrow(new OutOfMemoryError("模拟处理失败"))
+                .thenReturn(List.of(result("SUCCESS", "LATE")));
+        EmbeddedChannel channel = channel(Runnable::run);
+
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKIN, 1, 3001L, 0));
+        assertAck(channel, 1, CheckinFrameHandler.CODE_ERROR, 0);
+
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKIN, 2, 3002L, 0));
+        assertAck(channel, 2, CheckinFrameHandler.CODE_OK, 2);
+        verify(attendanceService, times(2)).batchCheckin(anyList());
+    }
+
+    @Test
+    void rejectedBatchIsAckedAndLaterBatchesStillRun() {
+        AtomicInteger calls = new AtomicInteger();
+        Executor rejectFirst = task -> {
+            if (calls.getAndIncrement() == 0) {
+                throw new RejectedExecutionException("队列已满");
+            }
+            task.run();
+        };
+        when(attendanceService.batchCheckin(anyList())).thenReturn(List.of(result("SUCCESS", "NORMAL")));
+        EmbeddedChannel channel = channel(rejectFirst);
+
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKIN, 1, 4001L, 0));
+        assertAck(channel, 1, CheckinFrameHandler.CODE_ERROR, 0);
+
+        channel.writeInbound(frame(CheckinFrameHandler.TYPE_CHECKIN, 2, 4002L, 0));
+        assertAck(channel, 2, CheckinFrameHandler.CODE_OK, 1);
+    }
+
+    private EmbeddedChannel channel(Executor workers) {
+        return new EmbeddedChannel(
+                new LengthFieldBasedFrameDecoder(64, 0, 2, 0, 2),
+                new CheckinFrameHandler(attendanceService, workers));
+    }
+
+    private static ByteBuf frame(byte type, int seq, long employeeId, long epochSecond) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(21);
+        buf.writeByte(type);
+        buf.writeInt(seq);
+        buf.writeLong(employeeId);
+        buf.writeLong(epochSecond);
+        return buf;
+    }
+
+    private static ByteBuf heartbeat(int seq) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(5);
+        buf.writeByte(CheckinFrameHandler.TYPE_HEARTBEAT);
+        buf.writeInt(seq);
+        return buf;
+    }
+
+    private static Map<String, Object> result(String status, String attendanceStatus) {
+        return attendanceStatus != null ? Map.of("status", status, "attendanceStatus", attendanceStatus) : Map.of("status", status);
+    }
+
+    private static void assertAck(EmbeddedChannel channel, int seq, byte code, int attendanceStatus) {
+        ByteBuf ack = channel.readOutbound();
+        try {
+            assertEquals(9, ack.readableBytes());
+            assertEquals(7, ack.readShort());
+            assertEquals(CheckinFrameHandler.TYPE_ACK, ack.readByte());
+            assertEquals(seq, ack.readInt());
+            assertEquals(code, ack.readByte());
+            assertEquals(attendanceStatus, ack.readByte());
+        } finally {
+            ack.release();
+        }
+    }
+}
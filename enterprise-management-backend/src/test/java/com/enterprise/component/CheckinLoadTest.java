@@ -0,0 +1,249 @@
+package com.enterprise.component;
+
+import com.enterprise.controller.AttendanceController;
+import com.enterprise.dto.CheckinEvent;
+import com.enterprise.service.AbsenceJobService;
+import com.enterprise.service.AttendanceService;
+import com.enterprise.service.PunchLogImportService;
+import io.netty.channel.Channel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 闸机签到压测，默认跳过，手动运行：
+ * mvn test -Dbenchmark=true -Dtest=CheckinLoadTest
+ * 同一个桩 AttendanceService（不访问数据库，直接返回成功）分别挂在 TCP 服务和 HTTP 批量签到接口后面，
+ * 多个客户端连接持续发送签到，比较两种接入方式每秒处理的签到数，即协议与框架本身的开销。
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CheckinLoadTest {
+
+    // 并发连接数（闸机数）与每轮发送的签到总数
+    private static final int CONNECTIONS = 8;
+    private static final int EVENTS = 200_000;
+
+    // TCP 每个连接连续发送、再统一等待应答的帧数
+    private static final int TCP_WINDOW = 100;
+
+    // HTTP 每个请求携带的签到条数：1 对应闸机逐条上报，50 对应攒批上报
+    private static final int[] REST_BATCH_SIZES = {1, 50};
+
+    private final AttendanceService attendanceService = mock(AttendanceService.class, withSettings().stubOnly());
+
+    private CheckinTcpServer tcpServer;
+    private ConfigurableApplicationContext restContext;
+
+    private int tcpPort;
+    private int restPort;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(attendanceService.batchCheckin(anyList())).thenAnswer(invocation -> {
+            List<CheckinEvent> events = invocation.getArgument(0);
+            List<Map<String, Object>> results = new ArrayList<>(events.size());
+            for (int i = 0; i < events.size(); i++) {
+                results.add(Map.of("index", i, "status", "SUCCESS", "attendanceStatus", "NORMAL"));
+            }
+            return results;
+        });
+
+        tcpServer = new CheckinTcpServer();
+        ReflectionTestUtils.setField(tcpServer, "attendanceService", attendanceService);
+        ReflectionTestUtils.setField(tcpServer, "bindAddress", "127.0.0.1");
+        ReflectionTestUtils.setField(tcpServer, "port", 0);
+        ReflectionTestUtils.setField(tcpServer, "workerThreads", 4);
+        tcpServer.start();
+        Channel serverChannel = (Channel) ReflectionTestUtils.getField(tcpServer, "serverChannel");
+        tcpPort = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+
+        // 命令行参数优先于 application.yml 中的 server.port
+        restContext = new SpringApplicationBuilder(RestConfig.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("attendanceService", attendanceService))
+                .run("--server.port=0", "--server.address=127.0.0.1", "--spring.main.banner-mode=off");
+        restPort = ((ServletWebServerApplicationContext) restContext).getWebServer().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tcpServer != null) {
+            tcpServer.stop();
+        }
+        if (restContext != null) {
+            restContext.close();
+        }
+    }
+
+    @Test
+    void tcpVersusRest() throws Exception {
+        // 预热一轮，不计入结果
+        run(this::tcpClient);
+        double tcp = run(this::tcpClient);
+        System.out.printf("TCP（窗口 %d）               %10.0f 条/秒%n", TCP_WINDOW, tcp);
+
+        for (int batchSize : REST_BATCH_SIZES) {
+            run(connection -> restClient(batchSize));
+            double rest = run(connection -> restClient(batchSize));
+            System.out.printf("HTTP（每请求 %2d 条）          %10.0f 条/秒，TCP 为其 %.1f 倍%n", batchSize, rest, tcp / rest);
+        }
+    }
+
+    /**
+     * 每个连接一个线程，发完各自的份额后返回已确认的签到数；返回全部连接的总吞吐（条/秒）
+     */
+    private double run(ClientFactory factory) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONNECTIONS);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int c = 0; c < CONNECTIONS; c++) {
+                futures.add(clients.submit(factory.create(c)));
+            }
+            int acked = 0;
+            for (Future<Integer> future : futures) {
+                acked += future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            assertEquals(EVENTS / CONNECTIONS * CONNECTIONS, acked);
+            return acked * 1_000_000_000.0 / elapsed;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * TCP 客户端：每次连续写出一个窗口的签到帧，再按顺序读回同样数量的应答
+     */
+    private Callable<Integer> tcpClient(int connection) {
+        return () -> {
+            int acked = 0;
+            try (Socket socket = new Socket("127.0.0.1", tcpPort)) {
+                socket.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                int seq = 0;
+                for (int sent = 0; sent < EVENTS / CONNECTIONS; sent += TCP_WINDOW) {
+                    int window = Math.min(TCP_WINDOW, EVENTS / CONNECTIONS - sent);
+                    for (int i = 0; i < window; i++) {
+                        out.writeShort(21);
+                        out.writeByte(CheckinFrameHandler.TYPE_CHECKIN);
+                        out.writeInt(seq++);
+                        out.writeLong(connection * 1_000_000L + sent + i);
+                        out.writeLong(0);
+                    }
+                    out.flush();
+                    for (int i = 0; i < window; i++) {
+                        assertEquals(7, in.readShort());
+                        assertEquals(CheckinFrameHandler.TYPE_ACK, in.readByte());
+                        in.readInt();
+                        assertEquals(CheckinFrameHandler.CODE_OK, in.readByte());
+                        in.readByte();
+                        acked++;
+                    }
+                }
+            }
+            return acked;
+        };
+    }
+
+    /**
+     * HTTP 客户端：长连接上逐个发送批量签到请求，等到响应后再发下一个
+     */
+    private Callable<Integer> restClient(int batchSize) {
+        return () -> {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            URI uri = URI.create("http://127.0.0.1:" + restPort + "/api/attendance/checkin/batch");
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < batchSize; i++) {
+                json.append(i > 0 ? "," : "").append("{\"employeeId\":").append(1000 + i).append('}');
+            }
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json.append(']').toString()))
+                    .build();
+
+            int acked = 0;
+            for (int sent = 0; sent < EVENTS / CONNECTIONS; sent += batchSize) {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                assertEquals(200, response.statusCode());
+                assertTrue(response.body().contains("\"code\":200"), response.body());
+                acked += batchSize;
+            }
+            return Math.min(acked, EVENTS / CONNECTIONS);
+        };
+    }
+
+    @FunctionalInterface
+    private interface ClientFactory {
+        Callable<Integer> create(int connection);
+    }
+
+    /**
+     * 只包含内嵌 Tomcat、Spring MVC、Jackson 与考勤 Controller 的最小 Web 应用
+     */
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import(AttendanceController.class)
+    static class RestConfig {
+
+        @Bean
+        AbsenceJobService absenceJobService() {
+            return mock(AbsenceJobService.class);
+        }
+
+        @Bean
+        AttendanceBoard attendanceBoard() {
+            return mock(AttendanceBoard.class);
+        }
+
+        @Bean
+        PunchLogImportService punchLogImportService() {
+            return mock(PunchLogImportService.class);
+        }
+    }
+}
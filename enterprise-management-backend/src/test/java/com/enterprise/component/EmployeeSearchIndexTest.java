@@ -0,0 +1,109 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+/**
+ * 员工搜索索引测试：页码分页、游标分页与导出命中同一批员工、顺序一致
+ */
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @InjectMocks
+    private EmployeeSearchIndex index;
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (long id = 1; id <= 300; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName(id % 3 == 0 ? "张三" + id : "李四" + id);
+            employee.setPhone("138" + String.format("%08d", id));
+            employee.setEmail("user" + id + "@example.com");
+            // 每 4 人同一创建时间，按 ID 区分先后
+            employee.setCreateTime(base.plusMinutes(id / 4));
+            employees.add(employee);
+        }
+        when(employeeMapper.findAllForIndex()).thenReturn(employees);
+        index.rebuild();
+    }
+
+    @Test
+    void pageAndTotalComeFromOneMatch() {
+        EmployeeSearchIndex.Page page = index.search("张三", 0, 10);
+        assertEquals(100, page.getTotal());
+        assertEquals(10, page.getIds().size());
+        assertEquals(300L, page.getIds().get(0));
+
+        // 拼音首字母
+        assertEquals(100, index.search("zs", 0, 10).getTotal());
+        assertEquals(0, index.search("zs", 200, 10).getIds().size());
+    }
+
+    @Test
+    void offsetPagesAndCursorPagesMatchExportOrder() {
+        List<Long> all = index.searchAll("zs");
+        assertEquals(100, all.size());
+
+        List<Long> byOffset = new ArrayList<>();
+        for (int offset = 0; offset < all.size(); offset += 7) {
+            byOffset.addAll(index.search("zs", offset, 7).getIds());
+        }
+        assertEquals(all, byOffset);
+
+        List<Long> byCursor = new ArrayList<>();
+        LocalDateTime cursorTime = null;
+        Long cursorId = null;
+        while (true) {
+            List<Long> page = index.searchAfter("zs", cursorTime, cursorId, 7);
+            byCursor.addAll(page);
+            if (page.size() < 7) {
+                break;
+            }
+            cursorId = page.get(page.size() - 1);
+            cursorTime = employees.get((int) (cursorId - 1)).getCreateTime();
+        }
+        assertEquals(all, byCursor);
+    }
+
+    @Test
+    void resultsAreNewestFirst() {
+        List<Long> all = index.searchAll("138");
+        assertEquals(300, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            Employee previous = employees.get((int) (all.get(i - 1) - 1));
+            Employee current = employees.get((int) (all.get(i) - 1));
+            int byTime = previous.getCreateTime().compareTo(current.getCreateTime());
+            assertTrue(byTime > 0 || (byTime == 0 && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void removedEmployeeDisappearsFromAllModes() {
+        index.remove(300L);
+
+        assertEquals(99, index.search("张三", 0, 10).getTotal());
+        assertEquals(99, index.searchAll("张三").size());
+        assertEquals(297L, index.searchAfter("张三", null, null, 1).get(0));
+    }
+}
@@ -0,0 +1,164 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.PayrollRuleMapper;
+import com.enterprise.entity.PayrollRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 薪资规则引擎测试：编译后的执行计划与逐条查找规则的结果一致
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollRuleEngineTest {
+
+    private static final Long[] DEPARTMENTS = {0L, 1L, 2L, 3L};
+    private static final String[] POSITIONS = {"", "工程师", "经理", "销售"};
+
+    @Mock
+    private PayrollRuleMapper payrollRuleMapper;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private PayrollRuleEngine engine;
+
+    private final List<PayrollRule> rules = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(payrollRuleMapper.findAll()).thenReturn(rules);
+    }
+
+    @Test
+    void noRulesUsesDefaults() {
+        engine.init();
+        verify(changeVersionTracker).addListener(eq(ChangeVersionTracker.PAYROLL_RULE), any());
+
+        PayrollRuleEngine.RuleSet ruleSet = engine.currentPlan().resolve(5L, "工程师");
+        assertEquals(200000, ruleSet.getPerformanceFen());
+        assertEquals(100000, ruleSet.getBonusFen());
+        assertEquals(5000, ruleSet.getLateFen());
+        assertEquals(20000, ruleSet.getAbsenceFen());
+        assertEquals(new BigDecimal("2000.00"), ruleSet.getPerformanceSalary());
+    }
+
+    @Test
+    void resolvePrecedence() {
+        rules.add(rule(0L, "", "1000", "500", "10", "100"));
+        rules.add(rule(0L, "经理", "3000", null, null, null));
+        rules.add(rule(1L, "", null, "800", null, null));
+        rules.add(rule(1L, "经理", null, null, "30", null));
+        engine.reload();
+        PayrollRuleEngine.Plan plan = engine.currentPlan();
+
+        // 部门+职位 → 部门 → 职位 → 全局，逐项取第一个非空金额
+        PayrollRuleEngine.RuleSet manager = plan.resolve(1L, "经理");
+        assertEquals(300000, manager.getPerformanceFen());
+        assertEquals(80000, manager.getBonusFen());
+        assertEquals(3000, manager.getLateFen());
+        assertEquals(10000, manager.getAbsenceFen());
+
+        PayrollRuleEngine.RuleSet engineer = plan.resolve(1L, "工程师");
+        assertEquals(100000, engineer.getPerformanceFen());
+        assertEquals(80000, engineer.getBonusFen());
+        assertEquals(1000, engineer.getLateFen());
+
+        // 没有专门规则的部门回落到全局规则
+        assertEquals(300000, plan.resolve(9L, "经理").getPerformanceFen());
+        assertEquals(50000, plan.resolve(9L, "经理").getBonusFen());
+        assertEquals(100000, plan.resolve(null, null).getPerformanceFen());
+        assertEquals(80000, plan.resolve(1L, null).getBonusFen());
+    }
+
+    @Test
+    void deductionMultipliesPerCount() {
+        rules.add(rule(0L, "", null, null, "12.5", "99.99"));
+        engine.reload();
+
+        assertEquals(3 * 1250 + 2 * 9999, engine.currentPlan().resolve(1L, "销售").deductionFen(3, 2));
+    }
+
+    @Test
+    void compiledPlanMatchesRuleByRuleLookup() {
+        Random random = new Random(20240601L);
+        for (int round = 0; round < 200; round++) {
+            Map<String, PayrollRule> unique = new LinkedHashMap<>();
+            int count = random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                Long departmentId = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)];
+                String position = POSITIONS[random.nextInt(POSITIONS.length)];
+                unique.put(departmentId + "/" + position, rule(departmentId, position,
+                        randomAmount(random), randomAmount(random), randomAmount(random), randomAmount(random)));
+            }
+            rules.clear();
+            rules.addAll(unique.values());
+            engine.reload();
+            PayrollRuleEngine.Plan plan = engine.currentPlan();
+
+            for (Long departmentId : Arrays.asList(0L, 1L, 2L, 3L, 4L, null)) {
+                for (String position : Arrays.asList("", "工程师", "经理", "销售", "实习生", null)) {
+                    PayrollRuleEngine.RuleSet ruleSet = plan.resolve(departmentId, position);
+                    String at = "round " + round + " department " + departmentId + " position " + position;
+                    assertEquals(lookup(departmentId, position, PayrollRule::getPerformanceSalary, 200000), ruleSet.getPerformanceFen(), at);
+                    assertEquals(lookup(departmentId, position, PayrollRule::getBonus, 100000), ruleSet.getBonusFen(), at);
+                    assertEquals(lookup(departmentId, position, PayrollRule::getLateDeduction, 5000), ruleSet.getLateFen(), at);
+                    assertEquals(lookup(departmentId, position, PayrollRule::getAbsenceDeduction, 20000), ruleSet.getAbsenceFen(), at);
+                }
+            }
+        }
+    }
+
+    /**
+     * 不经编译、直接按优先级在规则列表中查找
+     */
+    private long lookup(Long departmentId, String position, Function<PayrollRule, BigDecimal> getter, long defaultFen) {
+        Long department = departmentId != null ? departmentId : 0L;
+        String pos = position != null ? position : "";
+        Object[][] chain = {{department, pos}, {department, ""}, {0L, pos}, {0L, ""}};
+        for (Object[] key : chain) {
+            for (PayrollRule rule : rules) {
+                if (rule.getDepartmentId().equals(key[0]) && rule.getPosition().equals(key[1]) && getter.apply(rule) != null) {
+                    return getter.apply(rule).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+                }
+            }
+        }
+        return defaultFen;
+    }
+
+    private String randomAmount(Random random) {
+        // 一半为空（沿用上一级），其余带三位小数以覆盖舍入
+        return random.nextBoolean() ? null : BigDecimal.valueOf(random.nextInt(1_000_000), 3).toPlainString();
+    }
+
+    private PayrollRule rule(Long departmentId, String position, String performance, String bonus, String late, String absence) {
+        PayrollRule rule = new PayrollRule();
+        rule.setDepartmentId(departmentId);
+        rule.setPosition(position);
+        rule.setPerformanceSalary(performance != null ? new BigDecimal(performance) : null);
+        rule.setBonus(bonus != null ? new BigDecimal(bonus) : null);
+        rule.setLateDeduction(late != null ? new BigDecimal(late) : null);
+        rule.setAbsenceDeduction(absence != null ? new BigDecimal(absence) : null);
+        return rule;
+    }
+}
@@ -0,0 +1,280 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.PayrollRuleMapper;
+import com.enterprise.entity.Employee;
+import com.enterprise.entity.PayrollRule;
+import com.enterprise.entity.Salary;
+import com.enterprise.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * 薪资计算基准测试，默认跳过，手动运行：
+ * mvn test -Dbenchmark=true -Dtest=SalaryCalculatorBenchmarkTest
+ * 同一批员工分别用规则引擎之前的硬编码实现、按分计算之前的 BigDecimal 实现和当前实现计算，
+ * 每种实现先预热再取多轮中位数，并统计每人分配的字节数；结果只用于比较量级，不做断言。
+ */
+@ExtendWith(MockitoExtension.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SalaryCalculatorBenchmarkTest {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURE_ROUNDS = 31;
+    private static final String[] POSITIONS = {"工程师", "经理", "销售", "实习生", "主管"};
+
+    // 规则引擎之前写死的金额
+    private static final BigDecimal DEFAULT_BASE_SALARY = new BigDecimal("5000");
+    private static final BigDecimal PERFORMANCE_SALARY = new BigDecimal("2000");
+    private static final BigDecimal BONUS = new BigDecimal("1000");
+    private static final int LATE_DEDUCTION = 50;
+    private static final int ABSENCE_DEDUCTION = 200;
+
+    @Mock
+    private PayrollRuleMapper payrollRuleMapper;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private PayrollRuleEngine payrollRuleEngine;
+
+    private final SalaryCalculator salaryCalculator = new SalaryCalculator();
+
+    private final List<Employee> employees = new ArrayList<>();
+    private int[] lateCounts;
+    private int[] absenceCounts;
+
+    @BeforeEach
+    void setUp() {
+        when(payrollRuleMapper.findAll()).thenReturn(rules());
+        payrollRuleEngine.reload();
+
+        Random random = new Random(20240601L);
+        lateCounts = new int[EMPLOYEES];
+        absenceCounts = new int[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setName("员工" + i);
+            employee.setDepartmentId((long) (1 + random.nextInt(20)));
+            employee.setPosition(POSITIONS[random.nextInt(POSITIONS.length)]);
+            employee.setSalary(BigDecimal.valueOf(300_000 + random.nextInt(2_000_000), 2));
+            employees.add(employee);
+            lateCounts[i] = random.nextInt(5);
+            absenceCounts[i] = random.nextInt(3);
+        }
+    }
+
+    @Test
+    void ruleEngineVersusHardCoded() {
+        PayrollRuleEngine.Plan plan = payrollRuleEngine.currentPlan();
+        Map<String, IntToLongFunction> variants = new LinkedHashMap<>();
+        variants.put("硬编码 BigDecimal", i -> {
+            Salary salary = hardCoded(employees.get(i), lateCounts[i], absenceCounts[i]);
+            return salary.getTotalSalary().unscaledValue().longValue();
+        });
+        variants.put("规则引擎 SalaryCalculator", i -> {
+            Salary salary = salaryCalculator.calculate(plan, employees.get(i), "2024-06", lateCounts[i], absenceCounts[i]);
+            return salary.getTotalSalary().unscaledValue().longValue();
+        });
+        variants.put("其中规则查找 resolve", i -> {
+            Employee employee = employees.get(i);
+            return plan.resolve(employee.getDepartmentId(), employee.getPosition()).getBonusFen();
+        });
+
+        Map<String, Double> nanos = nanosPerEmployee(variants);
+        System.out.printf("规则引擎 / 硬编码 = %.2f%n", nanos.get("规则引擎 SalaryCalculator") / nanos.get("硬编码 BigDecimal"));
+    }
+
+    @Test
+    void longFenVersusBigDecimal() {
+        PayrollRuleEngine.Plan plan = payrollRuleEngine.currentPlan();
+        Map<String, IntToLongFunction> variants = new LinkedHashMap<>();
+        variants.put("规则 + BigDecimal 运算", i -> {
+            Salary salary = ruleDecimal(plan, employees.get(i), lateCounts[i], absenceCounts[i]);
+            return salary.getTotalSalary().unscaledValue().longValue();
+        });
+        variants.put("规则 + 分运算（当前实现）", i -> {
+            Salary salary = salaryCalculator.calculate(plan, employees.get(i), "2024-06", lateCounts[i], absenceCounts[i]);
+            return salary.getTotalSalary().unscaledValue().longValue();
+        });
+        // 只算实发金额、不生成实体，单独看金额运算本身
+        variants.put("仅金额 BigDecimal", i -> {
+            Employee employee = employees.get(i);
+            PayrollRuleEngine.RuleSet rules = plan.resolve(employee.getDepartmentId(), employee.getPosition());
+            BigDecimal deduction = BigDecimal.valueOf(rules.deductionFen(lateCounts[i], absenceCounts[i]), 2);
+            return employee.getSalary().add(rules.getPerformanceSalary()).add(rules.getBonus()).subtract(deduction)
+                    .unscaledValue().longValue();
+        });
+        variants.put("仅金额 分", i -> {
+            Employee employee = employees.get(i);
+            PayrollRuleEngine.RuleSet rules = plan.resolve(employee.getDepartmentId(), employee.getPosition());
+            return Money.checkRange(Money.fromDecimal(employee.getSalary()) + rules.getPerformanceFen() + rules.getBonusFen()
+                    - rules.deductionFen(lateCounts[i], absenceCounts[i]));
+        });
+
+        nanosPerEmployee(variants);
+        bytesPerEmployee(variants);
+    }
+
+    /**
+     * 预热后统计当前线程分配的字节数（HotSpot 的 ThreadMXBean 扩展），返回每人平均分配字节数
+     */
+    private Map<String, Double> bytesPerEmployee(Map<String, IntToLongFunction> variants) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (IntToLongFunction body : variants.values()) {
+                sink += pass(body);
+            }
+        }
+        Map<String, Double> bytes = new LinkedHashMap<>();
+        for (Map.Entry<String, IntToLongFunction> variant : variants.entrySet()) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int round = 0; round < MEASURE_ROUNDS; round++) {
+                sink += pass(variant.getValue());
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            bytes.put(variant.getKey(), (double) allocated / MEASURE_ROUNDS / EMPLOYEES);
+            System.out.printf("%-28s %8.1f B/人%n", variant.getKey(), bytes.get(variant.getKey()));
+        }
+        assertNotEquals(0L, sink);
+        return bytes;
+    }
+
+    /**
+     * 各实现轮流对全部员工计算一遍（轮流执行使各实现的 JIT 状态一致），返回测量轮次的中位数（纳秒/人）
+     */
+    private Map<String, Double> nanosPerEmployee(Map<String, IntToLongFunction> variants) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (IntToLongFunction body : variants.values()) {
+                sink += pass(body);
+            }
+        }
+        Map<String, long[]> elapsed = new LinkedHashMap<>();
+        variants.keySet().forEach(name -> elapsed.put(name, new long[MEASURE_ROUNDS]));
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            for (Map.Entry<String, IntToLongFunction> variant : variants.entrySet()) {
+                long start = System.nanoTime();
+                sink += pass(variant.getValue());
+                elapsed.get(variant.getKey())[round] = System.nanoTime() - start;
+            }
+        }
+        // 使用计算结果，防止循环被优化掉
+        assertNotEquals(0L, sink);
+
+        Map<String, Double> medians = new LinkedHashMap<>();
+        elapsed.forEach((name, times) -> {
+            Arrays.sort(times);
+            medians.put(name, (double) times[MEASURE_ROUNDS / 2] / EMPLOYEES);
+            System.out.printf("%-28s %8.1f ns/人%n", name, medians.get(name));
+        });
+        return medians;
+    }
+
+    private long pass(IntToLongFunction body) {
+        long sum = 0;
+        for (int i = 0; i < EMPLOYEES; i++) {
+            sum += body.applyAsLong(i);
+        }
+        return sum;
+    }
+
+    /**
+     * 规则引擎之前的计算方式：金额写死，全程 BigDecimal
+     */
+    private static Salary hardCoded(Employee employee, int lateCount, int absenceCount) {
+        BigDecimal baseSalary = employee.getSalary() != null ? employee.getSalary() : DEFAULT_BASE_SALARY;
+        BigDecimal deduction = new BigDecimal(lateCount * LATE_DEDUCTION + absenceCount * ABSENCE_DEDUCTION);
+        BigDecimal totalSalary = baseSalary.add(PERFORMANCE_SALARY).add(BONUS).subtract(deduction);
+
+        LocalDateTime now = LocalDateTime.now();
+        Salary salary = new Salary();
+        salary.setEmployeeId(employee.getId());
+        salary.setEmployeeName(employee.getName());
+        salary.setMonth("2024-06");
+        salary.setBaseSalary(baseSalary);
+        salary.setPerformanceSalary(PERFORMANCE_SALARY);
+        salary.setBonus(BONUS);
+        salary.setDeduction(deduction);
+        salary.setTotalSalary(totalSalary);
+        salary.setStatus("PENDING");
+        salary.setCreateTime(now);
+        salary.setUpdateTime(now);
+        return salary;
+    }
+
+    /**
+     * 改为按分计算之前的规则引擎实现：金额取自规则，运算用 BigDecimal
+     */
+    private static Salary ruleDecimal(PayrollRuleEngine.Plan plan, Employee employee, int lateCount, int absenceCount) {
+        PayrollRuleEngine.RuleSet rules = plan.resolve(employee.getDepartmentId(), employee.getPosition());
+
+        BigDecimal baseSalary = employee.getSalary() != null ? employee.getSalary() : DEFAULT_BASE_SALARY;
+        BigDecimal deduction = BigDecimal.valueOf(rules.deductionFen(lateCount, absenceCount), 2);
+        BigDecimal totalSalary = baseSalary.add(rules.getPerformanceSalary()).add(rules.getBonus()).subtract(deduction);
+
+        LocalDateTime now = LocalDateTime.now();
+        Salary salary = new Salary();
+        salary.setEmployeeId(employee.getId());
+        salary.setEmployeeName(employee.getName());
+        salary.setMonth("2024-06");
+        salary.setBaseSalary(baseSalary);
+        salary.setPerformanceSalary(rules.getPerformanceSalary());
+        salary.setBonus(rules.getBonus());
+        salary.setDeduction(deduction);
+        salary.setTotalSalary(totalSalary);
+        salary.setStatus("PENDING");
+        salary.setCreateTime(now);
+        salary.setUpdateTime(now);
+        return salary;
+    }
+
+    /**
+     * 全局默认 + 每个部门一条 + 部分部门 × 职位组合，共 41 条规则
+     */
+    private static List<PayrollRule> rules() {
+        List<PayrollRule> rules = new ArrayList<>();
+        rules.add(rule(0L, "", "2000", "1000", "50", "200"));
+        for (long department = 1; department <= 20; department++) {
+            rules.add(rule(department, "", null, String.valueOf(800 + department * 10), null, null));
+            rules.add(rule(department, POSITIONS[(int) (department % POSITIONS.length)], "3000", null, "30", null));
+        }
+        assertEquals(41, rules.size());
+        return rules;
+    }
+
+    private static PayrollRule rule(Long departmentId, String position, String performance, String bonus, String late, String absence) {
+        PayrollRule rule = new PayrollRule();
+        rule.setDepartmentId(departmentId);
+        rule.setPosition(position);
+        rule.setPerformanceSalary(performance != null ? new BigDecimal(performance) : null);
+        rule.setBonus(bonus != null ? new BigDecimal(bonus) : null);
+        rule.setLateDeduction(late != null ? new BigDecimal(late) : null);
+        rule.setAbsenceDeduction(absence != null ? new BigDecimal(absence) : null);
+        return rule;
+    }
+}
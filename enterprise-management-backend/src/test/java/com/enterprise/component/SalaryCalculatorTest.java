@@ -0,0 +1,94 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.PayrollRuleMapper;
+import com.enterprise.entity.Employee;
+import com.enterprise.entity.PayrollRule;
+import com.enterprise.entity.Salary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * 薪资计算器测试：按分计算的结果与直接用 BigDecimal 计算一致
+ */
+@ExtendWith(MockitoExtension.class)
+class SalaryCalculatorTest {
+
+    @Mock
+    private PayrollRuleMapper payrollRuleMapper;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private PayrollRuleEngine payrollRuleEngine;
+
+    private final SalaryCalculator salaryCalculator = new SalaryCalculator();
+
+    @Test
+    void longFenMatchesBigDecimal() {
+        PayrollRule global = new PayrollRule();
+        global.setDepartmentId(0L);
+        global.setPosition("");
+        global.setPerformanceSalary(new BigDecimal("1888.885"));
+        global.setBonus(new BigDecimal("666.66"));
+        global.setLateDeduction(new BigDecimal("33.335"));
+        global.setAbsenceDeduction(new BigDecimal("150.5"));
+        when(payrollRuleMapper.findAll()).thenReturn(List.of(global));
+        payrollRuleEngine.reload();
+        PayrollRuleEngine.Plan plan = payrollRuleEngine.currentPlan();
+
+        BigDecimal performance = scale(global.getPerformanceSalary());
+        BigDecimal bonus = scale(global.getBonus());
+        BigDecimal late = scale(global.getLateDeduction());
+        BigDecimal absence = scale(global.getAbsenceDeduction());
+
+        Random random = new Random(42L);
+        for (int i = 0; i < 10_000; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i);
+            employee.setName("员工" + i);
+            employee.setDepartmentId((long) random.nextInt(5));
+            employee.setSalary(random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(5_000_000), 3));
+            int lateCount = random.nextInt(25);
+            int absenceCount = random.nextInt(25);
+
+            Salary salary = salaryCalculator.calculate(plan, employee, "2024-06", lateCount, absenceCount);
+
+            BigDecimal base = employee.getSalary() != null ? scale(employee.getSalary()) : new BigDecimal("5000.00");
+            BigDecimal deduction = late.multiply(BigDecimal.valueOf(lateCount)).add(absence.multiply(BigDecimal.valueOf(absenceCount)));
+            BigDecimal total = base.add(performance).add(bonus).subtract(deduction);
+            assertEquals(base, salary.getBaseSalary());
+            assertEquals(deduction, salary.getDeduction());
+            assertEquals(total, salary.getTotalSalary());
+            assertEquals(performance, salary.getPerformanceSalary());
+            assertEquals(bonus, salary.getBonus());
+        }
+    }
+
+    @Test
+    void totalOutOfDecimalRangeIsRejected() {
+        when(payrollRuleMapper.findAll()).thenReturn(List.of());
+        payrollRuleEngine.reload();
+
+        Employee employee = new Employee();
+        employee.setSalary(new BigDecimal("99999999.99"));
+        assertThrows(RuntimeException.class,
+                () -> salaryCalculator.calculate(payrollRuleEngine.currentPlan(), employee, "2024-06", 0, 0));
+    }
+
+    private BigDecimal scale(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,184 @@
+package com.enterprise.component;
+
+import com.enterprise.dao.LeaveApplicationMapper;
+import com.enterprise.entity.LeaveApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * 团队出勤索引测试：区间树查询与逐条比较的结果一致，在岗人数只扣减部门当前的在职员工
+ */
+@ExtendWith(MockitoExtension.class)
+class TeamAvailabilityTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 3);
+
+    @Mock
+    private LeaveApplicationMapper leaveApplicationMapper;
+
+    @Mock
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Mock
+    private DepartmentHierarchy.Snapshot snapshot;
+
+    @Mock
+    private WorkCalendar workCalendar;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private TeamAvailability teamAvailability;
+
+    private long nextId = 1;
+
+    @Test
+    void intervalTreeMatchesBruteForce() {
+        Random random = new Random(20240603L);
+        LocalDateTime base = MONDAY.atStartOfDay();
+        for (int size : new int[]{0, 1, 2, 7, 100, 2000}) {
+            List<TeamAvailability.Entry> entries = new ArrayList<>();
+            List<LeaveApplication> applications = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                // 按小时取整，制造相同的开始时间和首尾相接的区间
+                LocalDateTime start = base.plusHours(random.nextInt(24 * 120));
+                LeaveApplication application = leave(random.nextInt(50), 1L, "APPROVED", true,
+                        start, start.plusHours(1 + random.nextInt(24 * 10)));
+                applications.add(application);
+                entries.add(new TeamAvailability.Entry(application));
+            }
+            TeamAvailability.IntervalTree tree = new TeamAvailability.IntervalTree(entries);
+
+            for (int q = 0; q < 300; q++) {
+                LocalDateTime from = base.plusHours(random.nextInt(24 * 130) - 24 * 5);
+                LocalDateTime to = from.plusHours(1 + random.nextInt(24 * 30));
+                List<TeamAvailability.Entry> found = new ArrayList<>();
+                tree.query(key(from), key(to), found);
+
+                Set<Object> actual = new HashSet<>();
+                for (TeamAvailability.Entry entry : found) {
+                    actual.add(entry.toRow().get("leaveId"));
+                }
+                Set<Object> expected = new HashSet<>();
+                for (LeaveApplication application : applications) {
+                    if (application.getStartTime().isBefore(to) && application.getEndTime().isAfter(from)) {
+                        expected.add(application.getId());
+                    }
+                }
+                assertEquals(expected.size(), found.size(), "size " + size + " query " + q);
+                assertEquals(expected, actual, "size " + size + " query " + q);
+            }
+        }
+    }
+
+    @Test
+    void onDutyExcludesTransferredEmployees() {
+        stubDepartments(Map.of(1L, 10, 2L, 4));
+        LeaveApplication application = leave(7L, 1L, "APPROVED", true, MONDAY.atTime(9, 0), MONDAY.atTime(18, 0));
+        teamAvailability.put(application);
+        assertEquals(9, day(teamAvailability.query(1L, MONDAY, MONDAY)).get("onDuty"));
+
+        // 申请人调到部门 2：按员工变更重新读取后从部门 1 移走
+        LeaveApplication moved = leave(7L, 2L, "APPROVED", true, application.getStartTime(), application.getEndTime());
+        moved.setId(application.getId());
+        when(leaveApplicationMapper.findWithDepartment(Set.of(application.getId()), null)).thenReturn(List.of(moved));
+        teamAvailability.onEmployeesChanged(Set.of(7L));
+
+        Map<String, Object> oldDepartment = day(teamAvailability.query(1L, MONDAY, MONDAY));
+        assertEquals(0, oldDepartment.get("onLeave"));
+        assertEquals(10, oldDepartment.get("onDuty"));
+        Map<String, Object> newDepartment = day(teamAvailability.query(2L, MONDAY, MONDAY));
+        assertEquals(1, newDepartment.get("onLeave"));
+        assertEquals(3, newDepartment.get("onDuty"));
+    }
+
+    @Test
+    void onDutyExcludesInactiveEmployees() {
+        stubDepartments(Map.of(1L, 3));
+        teamAvailability.put(leave(8L, 1L, "APPROVED", false, MONDAY.atTime(9, 0), MONDAY.atTime(18, 0)));
+        teamAvailability.put(leave(9L, 1L, "APPROVED", true, MONDAY.atTime(9, 0), MONDAY.atTime(12, 0)));
+
+        Map<String, Object> result = teamAvailability.query(1L, MONDAY, MONDAY);
+        assertEquals(2, ((List<?>) result.get("conflicts")).size());
+        assertEquals(1, day(result).get("onLeave"));
+        assertEquals(2, day(result).get("onDuty"));
+    }
+
+    @Test
+    void largeDepartmentQueryIsFast() {
+        stubDepartments(Map.of(1L, 500));
+        Random random = new Random(42L);
+        for (long employeeId = 1; employeeId <= 500; employeeId++) {
+            for (int i = 0; i < 20; i++) {
+                LocalDateTime start = MONDAY.atTime(9, 0).plusDays(random.nextInt(365) - 180);
+                teamAvailability.put(leave(employeeId, 1L, random.nextBoolean() ? "APPROVED" : "PENDING", true,
+                        start, start.plusHours(9 + 24L * random.nextInt(3))));
+            }
+        }
+
+        // 宽松上限，只用于发现退化为逐条扫描以上的性能问题
+        assertTimeout(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 50; i++) {
+                Map<String, Object> result = teamAvailability.query(1L, MONDAY, MONDAY.plusDays(92));
+                for (Object row : (List<?>) result.get("daily")) {
+                    int onDuty = (Integer) ((Map<?, ?>) row).get("onDuty");
+                    assertTrue(onDuty >= 0 && onDuty <= 500);
+                }
+            }
+        });
+    }
+
+    private void stubDepartments(Map<Long, Integer> headcounts) {
+        when(departmentHierarchy.snapshot()).thenReturn(snapshot);
+        when(workCalendar.isWorkingDay(any())).thenReturn(true);
+        headcounts.forEach((departmentId, headcount) -> {
+            when(snapshot.exists(departmentId)).thenReturn(true);
+            when(snapshot.directHeadcount(departmentId)).thenReturn(headcount);
+        });
+    }
+
+    private LeaveApplication leave(long employeeId, Long departmentId, String status, boolean active,
+                                   LocalDateTime start, LocalDateTime end) {
+        LeaveApplication application = new LeaveApplication();
+        application.setId(nextId++);
+        application.setEmployeeId(employeeId);
+        application.setEmployeeName("员工" + employeeId);
+        application.setLeaveType("ANNUAL");
+        application.setStatus(status);
+        application.setStartTime(start);
+        application.setEndTime(end);
+        application.setDepartmentId(departmentId);
+        application.setEmployeeActive(active);
+        return application;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> day(Map<String, Object> result) {
+        return ((List<Map<String, Object>>) result.get("daily")).get(0);
+    }
+
+    private static long key(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,126 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.CheckinBitmap;
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.AttendanceSummaryMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryDirtyMapper;
+import com.enterprise.dto.CheckinEvent;
+import com.enterprise.entity.Attendance;
+import com.enterprise.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 批量签到测试：与并发写入撞键的行报告为重复，汇总与看板只记录真正写入的行
+ */
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceImplTest {
+
+    @Mock
+    private AttendanceMapper attendanceMapper;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private AttendanceSummaryMapper attendanceSummaryMapper;
+
+    @Mock
+    private SalaryDirtyMapper salaryDirtyMapper;
+
+    @Mock
+    private CheckinBitmap checkinBitmap;
+
+    @Mock
+    private AttendanceBoard attendanceBoard;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @InjectMocks
+    private AttendanceServiceImpl attendanceService;
+
+    @Test
+    void rowsTakenByConcurrentWriterAreReportedAsDuplicate() {
+        when(employeeMapper.findByIds(any())).thenReturn(List.of(employee(1L), employee(2L), employee(3L)));
+        List<Integer> statementSizes = new ArrayList<>();
+        // 员工 2 的记录已被另一个请求写入：多行语句整体失败，逐行插入时只有员工 2 撞键
+        doAnswer(invocation -> {
+            List<Attendance> rows = invocation.getArgument(0);
+            statementSizes.add(rows.size());
+            for (Attendance row : rows) {
+                if (row.getEmployeeId() == 2L) {
+                    throw new DuplicateKeyException("uk_employee_date");
+                }
+            }
+            return rows.size();
+        }).when(attendanceMapper).insertBatch(anyList());
+
+        List<Map<String, Object>> results = attendanceService.batchCheckin(List.of(event(1L), event(2L), event(3L)));
+
+        assertEquals(List.of(3, 1, 1, 1), statementSizes);
+        assertEquals("SUCCESS", results.get(0).get("status"));
+        assertEquals("DUPLICATE", results.get(1).get("status"));
+        assertEquals("SUCCESS", results.get(2).get("status"));
+
+        LocalDate today = LocalDate.now();
+        verify(attendanceSummaryMapper).rebuild(any(), any(), eq(Set.of(1L, 3L)), any());
+        verify(checkinBitmap).markCheckedIn(1L, today);
+        verify(checkinBitmap).markCheckedIn(3L, today);
+        verify(checkinBitmap, never()).markCheckedIn(eq(2L), any());
+        verify(attendanceBoard).onAttendanceChanged(argThat(attendance -> attendance.getEmployeeId() == 1L));
+        verify(attendanceBoard).onAttendanceChanged(argThat(attendance -> attendance.getEmployeeId() == 3L));
+        verify(attendanceBoard, never()).onAttendanceChanged(argThat(attendance -> attendance.getEmployeeId() == 2L));
+        // 其他节点的看板同样只收到真正写入的员工
+        verify(changeVersionTracker).bump(ChangeVersionTracker.ATTENDANCE, List.of(1L, 3L));
+    }
+
+    @Test
+    void otherDatabaseErrorsAreNotSwallowed() {
+        when(employeeMapper.findByIds(any())).thenReturn(List.of(employee(1L)));
+        when(attendanceMapper.insertBatch(anyList())).thenThrow(new DataIntegrityViolationException("Data too long"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> attendanceService.batchCheckin(List.of(event(1L))));
+        verify(checkinBitmap, never()).markCheckedIn(anyLong(), any());
+        verify(attendanceBoard, never()).onAttendanceChanged(any());
+    }
+
+    private static CheckinEvent event(Long employeeId) {
+        CheckinEvent event = new CheckinEvent();
+        event.setEmployeeId(employeeId);
+        return event;
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("员工" + id);
+        return employee;
+    }
+}
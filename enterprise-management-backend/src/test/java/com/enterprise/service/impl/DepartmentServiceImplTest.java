@@ -0,0 +1,105 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.AttendanceBoard;
+import com.enterprise.component.ChangeVersionTracker;
+import com.enterprise.component.DepartmentHierarchy;
+import com.enterprise.dao.DepartmentMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.entity.Department;
+import com.enterprise.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 部门移动测试：内存快照已过期时，按闭包表加锁读取的结果拒绝环路
+ */
+@ExtendWith(MockitoExtension.class)
+class DepartmentServiceImplTest {
+
+    @Mock
+    private DepartmentMapper departmentMapper;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private AttendanceBoard attendanceBoard;
+
+    @Mock
+    private ChangeVersionTracker changeVersionTracker;
+
+    @Mock
+    private DepartmentHierarchy departmentHierarchy;
+
+    @Mock
+    private DepartmentHierarchy.Snapshot snapshot;
+
+    @InjectMocks
+    private DepartmentServiceImpl departmentService;
+
+    @BeforeEach
+    void setUp() {
+        when(departmentMapper.findById(2L)).thenReturn(department(2L, 1L));
+        when(departmentHierarchy.snapshot()).thenReturn(snapshot);
+        when(snapshot.exists(3L)).thenReturn(true);
+        // 快照里部门 3 还不在部门 2 的子树内
+        when(snapshot.contains(2L, 3L)).thenReturn(false);
+    }
+
+    @Test
+    void concurrentMoveThatClosesCycleIsRejected() {
+        // 另一个事务已把部门 3 挂到部门 2 下面并提交：加锁读到的祖先包含部门 2
+        when(departmentMapper.lockAncestorIds(3L)).thenReturn(List.of(1L, 2L, 3L));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> departmentService.update(department(2L, 3L)));
+        assertEquals("上级部门不能是自身或下级部门", e.getMessage());
+        verify(departmentMapper, never()).update(any());
+        verify(departmentMapper, never()).detachSubtree(anyLong());
+        verify(departmentMapper, never()).attachSubtree(anyLong(), anyLong());
+    }
+
+    @Test
+    void moveLocksPathsBeforeRewritingClosure() {
+        when(departmentMapper.lockAncestorIds(3L)).thenReturn(List.of(1L, 3L));
+
+        departmentService.update(department(2L, 3L));
+
+        verify(departmentMapper).lockSubtreeIds(2L);
+        verify(departmentMapper).detachSubtree(2L);
+        verify(departmentMapper).attachSubtree(2L, 3L);
+    }
+
+    @Test
+    void parentDeletedConcurrentlyIsRejected() {
+        when(departmentMapper.lockAncestorIds(3L)).thenReturn(List.of());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> departmentService.update(department(2L, 3L)));
+        assertEquals("上级部门不存在", e.getMessage());
+        verify(departmentMapper, never()).detachSubtree(anyLong());
+    }
+
+    private static Department department(Long id, Long parentId) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName("部门" + id);
+        department.setParentId(parentId);
+        return department;
+    }
+}
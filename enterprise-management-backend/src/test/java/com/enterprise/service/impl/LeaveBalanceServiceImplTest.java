@@ -0,0 +1,74 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.dao.LeaveBalanceMapper;
+import com.enterprise.entity.LeaveBalance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 假期余额扣减测试：锁定余额行后复核，余额不足时不扣减
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveBalanceServiceImplTest {
+
+    @Mock
+    private LeaveBalanceMapper leaveBalanceMapper;
+
+    @InjectMocks
+    private LeaveBalanceServiceImpl leaveBalanceService;
+
+    @Test
+    void consumeWithinBalance() {
+        when(leaveBalanceMapper.lockBalancesForLeaves(List.of(1L, 2L), List.of("ANNUAL", "SICK")))
+                .thenReturn(List.of(new LeaveBalance(7L, "ANNUAL", 5.0, null)));
+        when(leaveBalanceMapper.sumConsumeDays(List.of(1L, 2L), List.of("ANNUAL", "SICK")))
+                .thenReturn(List.of(demand(7L, "ANNUAL", "5.0")));
+
+        leaveBalanceService.consume(List.of(1L, 2L));
+
+        verify(leaveBalanceMapper).addConsumeBalance(anyCollection(), anyCollection(), any());
+        verify(leaveBalanceMapper).insertConsumeLedger(anyCollection(), anyCollection(), anyString(), any());
+    }
+
+    @Test
+    void overdrawIsRejectedBeforeAnyWrite() {
+        // 提交申请时余额够用，但另一笔申请已先通过，锁定后只剩 2 天
+        when(leaveBalanceMapper.lockBalancesForLeaves(List.of(3L), List.of("ANNUAL", "SICK")))
+                .thenReturn(List.of(new LeaveBalance(7L, "ANNUAL", 2.0, null)));
+        when(leaveBalanceMapper.sumConsumeDays(List.of(3L), List.of("ANNUAL", "SICK")))
+                .thenReturn(List.of(demand(7L, "ANNUAL", "3.0")));
+
+        assertThrows(RuntimeException.class, () -> leaveBalanceService.consume(List.of(3L)));
+        verify(leaveBalanceMapper, never()).addConsumeBalance(anyCollection(), anyCollection(), any());
+        verify(leaveBalanceMapper, never()).insertConsumeLedger(anyCollection(), anyCollection(), anyString(), any());
+    }
+
+    @Test
+    void missingBalanceRowCountsAsZero() {
+        when(leaveBalanceMapper.lockBalancesForLeaves(List.of(4L), List.of("ANNUAL", "SICK"))).thenReturn(List.of());
+        when(leaveBalanceMapper.sumConsumeDays(List.of(4L), List.of("ANNUAL", "SICK")))
+                .thenReturn(List.of(demand(8L, "SICK", "0.5")));
+
+        assertThrows(RuntimeException.class, () -> leaveBalanceService.consume(List.of(4L)));
+        verify(leaveBalanceMapper, never()).addConsumeBalance(anyCollection(), anyCollection(), any());
+    }
+
+    private static Map<String, Object> demand(Long employeeId, String leaveType, String days) {
+        return Map.of("employeeId", employeeId, "leaveType", leaveType, "days", new BigDecimal(days));
+    }
+}
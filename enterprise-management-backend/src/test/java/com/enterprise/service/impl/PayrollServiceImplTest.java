@@ -0,0 +1,117 @@
+package com.enterprise.service.impl;
+
+import com.enterprise.component.PayrollRuleEngine;
+import com.enterprise.component.SalaryCalculator;
+import com.enterprise.dao.AttendanceMapper;
+import com.enterprise.dao.EmployeeMapper;
+import com.enterprise.dao.SalaryMapper;
+import com.enterprise.dto.PayrollRun;
+import com.enterprise.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/**
+ * 薪资批量计算测试：查询返回一致的快照，结束状态与结束时间一起可见
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollServiceImplTest {
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private AttendanceMapper attendanceMapper;
+
+    @Mock
+    private SalaryMapper salaryMapper;
+
+    @Mock
+    private SalaryCalculator salaryCalculator;
+
+    @Mock
+    private PayrollRuleEngine payrollRuleEngine;
+
+    private PayrollServiceImpl payrollService;
+
+    @BeforeEach
+    void setUp() {
+        payrollService = new PayrollServiceImpl(2);
+        ReflectionTestUtils.setField(payrollService, "employeeMapper", employeeMapper);
+        ReflectionTestUtils.setField(payrollService, "attendanceMapper", attendanceMapper);
+        ReflectionTestUtils.setField(payrollService, "salaryMapper", salaryMapper);
+        ReflectionTestUtils.setField(payrollService, "salaryCalculator", salaryCalculator);
+        ReflectionTestUtils.setField(payrollService, "payrollRuleEngine", payrollRuleEngine);
+        when(employeeMapper.findAll()).thenReturn(List.of(employee(1L), employee(2L), employee(3L)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        payrollService.shutdown();
+    }
+
+    @Test
+    void finishedRunIsPublishedWithEndTime() throws InterruptedException {
+        // 3 人中 1 人的薪资已存在
+        when(salaryMapper.insertBatch(anyList())).thenReturn(2);
+
+        PayrollRun started = payrollService.startRun("2024-01", null);
+        PayrollRun finished = awaitFinished(started.getRunId());
+
+        assertEquals("SUCCESS", finished.getStatus());
+        assertNotNull(finished.getEndTime());
+        assertNotNull(finished.getElapsedMs());
+        assertEquals(3, finished.getTotalEmployees());
+        assertEquals(3, finished.getProcessed());
+        assertEquals(2, finished.getInserted());
+        assertEquals(1, finished.getSkipped());
+
+        // 已返回的快照不随任务执行而变化
+        assertEquals("RUNNING", started.getStatus());
+        assertEquals(0, started.getProcessed());
+        assertNotSame(finished, payrollService.getRun(started.getRunId()));
+        assertEquals(finished, payrollService.listRuns().get(0));
+    }
+
+    @Test
+    void failedRunKeepsMessage() throws InterruptedException {
+        when(salaryMapper.insertBatch(anyList())).thenThrow(new IllegalStateException("连接已断开"));
+
+        PayrollRun finished = awaitFinished(payrollService.startRun("2024-01", null).getRunId());
+
+        assertEquals("FAILED", finished.getStatus());
+        assertEquals("连接已断开", finished.getMessage());
+        assertNotNull(finished.getEndTime());
+    }
+
+    private PayrollRun awaitFinished(String runId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        PayrollRun run = payrollService.getRun(runId);
+        while ("RUNNING".equals(run.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            run = payrollService.getRun(runId);
+        }
+        assertNotEquals("RUNNING", run.getStatus(), "任务未在 5 秒内结束");
+        return run;
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("员工" + id);
+        return employee;
+    }
+}
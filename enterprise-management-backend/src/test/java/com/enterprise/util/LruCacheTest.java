@@ -0,0 +1,69 @@
+package com.enterprise.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LRU 缓存测试：读穿透期间发生失效时不写回旧值
+ */
+class LruCacheTest {
+
+    @Test
+    void putIfUnchangedStoresWhenNothingWasRemoved() {
+        LruCache<Long, String> cache = new LruCache<>(10, 0);
+        long stamp = cache.stamp(1L);
+        // 其他键的写入不影响
+        cache.put(2L, "b");
+
+        assertTrue(cache.putIfUnchanged(1L, "a", stamp));
+        assertEquals("a", cache.get(1L));
+    }
+
+    @Test
+    void removeDuringLoadDiscardsStaleValue() {
+        LruCache<Long, String> cache = new LruCache<>(10, 0);
+        cache.put(1L, "old");
+        cache.remove(1L);
+
+        // 读线程取得版本戳后从库里读到旧值，此时另一线程提交修改并失效缓存
+        long stamp = cache.stamp(1L);
+        String loaded = "old";
+        cache.remove(1L);
+
+        assertFalse(cache.putIfUnchanged(1L, loaded, stamp));
+        assertNull(cache.get(1L));
+
+        // 失效之后开始的读取可以正常写回
+        assertTrue(cache.putIfUnchanged(1L, "new", cache.stamp(1L)));
+        assertEquals("new", cache.get(1L));
+    }
+
+    @Test
+    void removeIfAndClearDiscardLoadsInFlight() {
+        LruCache<Long, String> cache = new LruCache<>(10, 0);
+        long stamp = cache.stamp(1L);
+        cache.removeIf(value -> false);
+        assertFalse(cache.putIfUnchanged(1L, "a", stamp));
+
+        stamp = cache.stamp(1L);
+        cache.clear();
+        assertFalse(cache.putIfUnchanged(1L, "a", stamp));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruCache<Long, String> cache = new LruCache<>(2, 0);
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L);
+        cache.put(3L, "c");
+
+        assertEquals("a", cache.get(1L));
+        assertNull(cache.get(2L));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+}
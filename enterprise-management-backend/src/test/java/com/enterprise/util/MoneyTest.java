@@ -0,0 +1,62 @@
+package com.enterprise.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 金额工具类测试：舍入与 DECIMAL(10,2) 范围
+ */
+class MoneyTest {
+
+    @Test
+    void fromDecimalRoundsHalfUp() {
+        assertEquals(123, Money.fromDecimal(new BigDecimal("1.23")));
+        assertEquals(123, Money.fromDecimal(new BigDecimal("1.234")));
+        assertEquals(124, Money.fromDecimal(new BigDecimal("1.235")));
+        assertEquals(-124, Money.fromDecimal(new BigDecimal("-1.235")));
+        assertEquals(500000, Money.fromDecimal(new BigDecimal("5000")));
+        assertEquals(0, Money.fromDecimal(new BigDecimal("0.004")));
+        assertEquals(1, Money.fromDecimal(new BigDecimal("0.005")));
+    }
+
+    @Test
+    void toDecimalKeepsTwoDecimals() {
+        assertEquals(new BigDecimal("1.23"), Money.toDecimal(123));
+        assertEquals(new BigDecimal("5000.00"), Money.toDecimal(500000));
+        assertEquals(new BigDecimal("-0.05"), Money.toDecimal(-5));
+        assertEquals(2, Money.toDecimal(0).scale());
+    }
+
+    @Test
+    void roundTrip() {
+        for (long fen = -100_000; fen <= 100_000; fen += 7) {
+            assertEquals(fen, Money.fromDecimal(Money.toDecimal(fen)));
+        }
+        assertEquals(Money.MAX_FEN, Money.fromDecimal(Money.toDecimal(Money.MAX_FEN)));
+    }
+
+    @Test
+    void checkRangeMatchesDecimal10And2() {
+        assertEquals(Money.MAX_FEN, Money.checkRange(Money.MAX_FEN));
+        assertEquals(-Money.MAX_FEN, Money.checkRange(-Money.MAX_FEN));
+        assertEquals(new BigDecimal("99999999.99"), Money.toDecimal(Money.MAX_FEN));
+        assertThrows(RuntimeException.class, () -> Money.checkRange(Money.MAX_FEN + 1));
+        assertThrows(RuntimeException.class, () -> Money.checkRange(-Money.MAX_FEN - 1));
+    }
+
+    @Test
+    void timesDetectsOverflow() {
+        assertEquals(15000, Money.times(5000, 3));
+        assertEquals(0, Money.times(5000, 0));
+        assertThrows(ArithmeticException.class, () -> Money.times(Long.MAX_VALUE / 2, 3));
+    }
+
+    @Test
+    void fromDecimalRejectsOutOfLongRange() {
+        assertThrows(ArithmeticException.class, () -> Money.fromDecimal(new BigDecimal("1e20")));
+    }
+}
@@ -35,3 +35,11 @@ export const getAttendanceStatistics = (params) => {
     params
   })
 }
+
+// 获取今日考勤看板
+export const getAttendanceBoard = () => {
+  return request({
+    url: '/attendance/board',
+    method: 'get'
+  })
+}
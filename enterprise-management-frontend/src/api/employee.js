@@ -50,3 +50,12 @@ export const deleteEmployee = (id) => {
     method: 'delete'
   })
 }
+
+// 员工关键字输入提示
+export const suggestEmployees = (keyword, limit = 10) => {
+  return request({
+    url: '/employees/suggest',
+    method: 'get',
+    params: { keyword, limit }
+  })
+}
@@ -18,6 +18,49 @@ export const approveLeave = (id, params) => {
   })
 }
 
+// 批量审批请假申请
+export const approveLeaveBatch = (data) => {
+  return request({
+    url: '/leave/batch-approve',
+    method: 'put',
+    data
+  })
+}
+
+// 撤销请假申请
+export const cancelLeave = (id) => {
+  return request({
+    url: `/leave/${id}/cancel`,
+    method: 'put'
+  })
+}
+
+// 获取员工假期余额
+export const getLeaveBalances = (employeeId) => {
+  return request({
+    url: `/leave/balances/${employeeId}`,
+    method: 'get'
+  })
+}
+
+// 获取审批收件箱（待审批申请）
+export const getLeaveInbox = (params) => {
+  return request({
+    url: '/leave/inbox',
+    method: 'get',
+    params
+  })
+}
+
+// 获取部门团队出勤（请假冲突与每日在岗人数）
+export const getTeamAvailability = (params) => {
+  return request({
+    url: '/leave/availability',
+    method: 'get',
+    params
+  })
+}
+
 // 获取请假记录
 export const getLeaveRecords = (params) => {
   return request({